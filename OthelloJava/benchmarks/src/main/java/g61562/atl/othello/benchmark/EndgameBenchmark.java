@@ -0,0 +1,61 @@
+package g61562.atl.othello.benchmark;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.strategy.EndgameSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The EndgameBenchmark class measures the time the endgame solver takes to solve a fixed set of 8x8 positions
+ * with 20 empty squares, the depth at which an exact solution starts to take seconds.
+ * Each position is solved once per iteration by a new solver, so that nothing is left in its transposition table:
+ * {@code java -jar target/benchmarks.jar EndgameBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class EndgameBenchmark {
+    @Param({"20"})
+    private int empties;
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8"})
+    private long seed;
+
+    private BitBoard board;
+    private Color color;
+    private EndgameSolver solver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Game game = Positions.endgame(empties, seed);
+        board = game.getBoard().copyBits();
+        color = game.getCurrentPlayer();
+    }
+
+    @Setup(Level.Iteration)
+    public void newSolver() {
+        solver = new EndgameSolver();
+    }
+
+    @Benchmark
+    public int solve() {
+        return solver.solve(board, color);
+    }
+}
@@ -0,0 +1,102 @@
+package g61562.atl.othello.benchmark;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ModelBenchmark class measures the operations of the model used by the views and the strategies,
+ * on a middle-game position of every board size.
+ * Run it with {@code -prof gc} to see the allocation rate next to the throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    @Param({"4", "6", "8", "10", "12", "14"})
+    private int size;
+
+    private Game game;
+    private BitBoard bits;
+    private Color color;
+    private Position move;
+    private int[] moves;
+    private int square;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = Positions.middleGame(size, 2024);
+        bits = game.getBoard().copyBits();
+        color = game.getCurrentPlayer();
+        moves = new int[size * size];
+        int count = game.getPossibleMoves(color, moves);
+        move = game.getBoard().toPosition(moves[count / 2]);
+        square = moves[count / 2];
+    }
+
+    @Benchmark
+    public boolean isValidMove() {
+        return game.isValidMove(move.getRow(), move.getCol(), color);
+    }
+
+    @Benchmark
+    public boolean hasValidMove() {
+        return game.hasValidMove(color.getOpposite());
+    }
+
+    @Benchmark
+    public int getPossibleMoves() {
+        return game.getPossibleMoves(color, moves);
+    }
+
+    @Benchmark
+    public int bitBoardPossibleMoves() {
+        // Sans le cache de la partie : le coût payé à chaque nœud des recherches
+        return bits.getPossibleMoves(color, moves);
+    }
+
+    @Benchmark
+    public void bitBoardPlayAndUndo(Blackhole blackhole) {
+        int flipped = bits.play(square, color, moves);
+        bits.undo(square, color, moves, flipped);
+        blackhole.consume(flipped);
+    }
+
+    @Benchmark
+    public void addPieceAndUndo() {
+        game.addPiece(move.getRow(), move.getCol(), color);
+        game.undo();
+    }
+
+    @Benchmark
+    public void undoRedo() {
+        game.undo();
+        game.redo();
+    }
+
+    @Benchmark
+    public void score(Blackhole blackhole) {
+        blackhole.consume(game.getBlackCount());
+        blackhole.consume(game.getWhiteCount());
+        blackhole.consume(game.getWinner());
+    }
+}
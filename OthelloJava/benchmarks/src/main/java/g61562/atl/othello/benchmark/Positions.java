@@ -0,0 +1,94 @@
+package g61562.atl.othello.benchmark;
+
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Position;
+
+import java.util.SplittableRandom;
+
+/**
+ * The Positions class builds the reproducible game positions measured by the benchmarks.
+ */
+final class Positions {
+    private Positions() {
+    }
+
+    /**
+     * Plays random moves from the start until about half of the board is filled.
+     *
+     * @param size The size of the board.
+     * @param seed The seed of the random moves.
+     * @return A two-player game in the middle of its play, with the moves in its history.
+     */
+    static Game middleGame(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Game game = new Game(size, null, false);
+        int[] moves = new int[size * size];
+        while (game.getBoard().emptyCount() > size * size / 2 && !game.isGameOver()) {
+            Color color = game.getCurrentPlayer();
+            int count = game.getPossibleMoves(color, moves);
+            Position move = game.getBoard().toPosition(moves[random.nextInt(count)]);
+            game.addPiece(move.getRow(), move.getCol(), color);
+        }
+        return game;
+    }
+
+    /**
+     * Builds different middle-game positions, each with more empty squares than an endgame solver accepts,
+     * so that choosing a move runs the heuristic search.
+     *
+     * @param size          The size of the board.
+     * @param solvedEmpties The largest number of empty squares solved exactly instead of searched.
+     * @param count         The number of positions.
+     * @param seed          The seed of the random moves.
+     * @return Two-player games in the middle of their play, each with a move to play.
+     * @throws IllegalArgumentException if the board is always solved exactly.
+     */
+    static Game[] searchedPositions(int size, int solvedEmpties, int count, long seed) {
+        if (size * size - 4 <= solvedEmpties + 1) {
+            throw new IllegalArgumentException("A board of size " + size + " is always solved exactly");
+        }
+        int empties = Math.max(size * size / 2, solvedEmpties + 1);
+        Game[] positions = new Game[count];
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] moves = new int[size * size];
+        for (int i = 0; i < count; ) {
+            Game game = new Game(size, null, false);
+            while (game.getBoard().emptyCount() > empties && !game.isGameOver()) {
+                Color color = game.getCurrentPlayer();
+                int legal = game.getPossibleMoves(color, moves);
+                Position move = game.getBoard().toPosition(moves[random.nextInt(legal)]);
+                game.addPiece(move.getRow(), move.getCol(), color);
+            }
+            // Une partie finie trop tôt ne laisse rien à chercher : elle est remplacée par une autre
+            if (!game.isGameOver()) {
+                positions[i++] = game;
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Plays random moves on the 8x8 board until a given number of empty squares is left with a move to play.
+     *
+     * @param empties The number of empty squares to leave.
+     * @param seed    The seed of the random moves.
+     * @return A two-player game with exactly this number of empty squares and a move to play.
+     */
+    static Game endgame(int empties, long seed) {
+        for (long attempt = seed; ; attempt++) {
+            SplittableRandom random = new SplittableRandom(attempt);
+            Game game = new Game(8, null, false);
+            int[] moves = new int[64];
+            while (game.getBoard().emptyCount() > empties && !game.isGameOver()) {
+                Color color = game.getCurrentPlayer();
+                int count = game.getPossibleMoves(color, moves);
+                Position move = game.getBoard().toPosition(moves[random.nextInt(count)]);
+                game.addPiece(move.getRow(), move.getCol(), color);
+            }
+            if (!game.isGameOver()) {
+                return game;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package g61562.atl.othello.benchmark;
+
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Position;
+import g61562.atl.othello.strategy.AlphaBetaComputerAdversary;
+import g61562.atl.othello.strategy.ComputerAdversary;
+import g61562.atl.othello.strategy.Tournament;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The StrategyBenchmark class measures the time every computer strategy takes to choose a move,
+ * on middle-game positions of every board size that keep more empty squares than the endgame solver accepts.
+ * Every call chooses a move in the next position of a set of different games.
+ * <p>
+ * The strategies that forget everything between moves are measured on average by {@link #chooseMove}.
+ * The alpha-beta strategies keep their transposition table from one move to the next, so a position searched
+ * again would only measure hits in the table: {@link #search} chooses a move once in each of {@value #SEARCHES}
+ * different positions, after emptying the tables of a strategy created once per trial.
+ * The MASTER level plays on a time budget, so its time per move mostly measures that budget.
+ * The 4x4 board is left out, since its positions are all within reach of the endgame solver.
+ */
+@Fork(1)
+public class StrategyBenchmark {
+    private static final int SEARCHES = 32;
+    private static final int POSITIONS = 512;
+    private static final long SEED = 2024;
+
+    /**
+     * The strategies without memory between moves, and the positions they are asked about in turn.
+     */
+    @State(Scope.Thread)
+    public static class Stateless {
+        @Param({"6", "8", "10", "12", "14"})
+        private int size;
+
+        @Param({"easy", "hard", "mcts:1000"})
+        private String strategy;
+
+        private Game[] games;
+        private ComputerAdversary adversary;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            adversary = Tournament.engine(strategy).get();
+            games = Positions.searchedPositions(size, 0, POSITIONS, SEED);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            adversary.close();
+        }
+
+        Game nextGame() {
+            Game game = games[next];
+            next = (next + 1) % games.length;
+            return game;
+        }
+    }
+
+    /**
+     * The alpha-beta strategies, whose tables are emptied before each pass over the positions.
+     */
+    @State(Scope.Thread)
+    public static class Searching {
+        @Param({"6", "8", "10", "12", "14"})
+        private int size;
+
+        @Param({"expert", "master"})
+        private String strategy;
+
+        private Game[] games;
+        private AlphaBetaComputerAdversary adversary;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            adversary = (AlphaBetaComputerAdversary) Tournament.engine(strategy).get();
+            games = Positions.searchedPositions(size, adversary.getEndgameEmpties(), SEARCHES, SEED);
+        }
+
+        @Setup(Level.Iteration)
+        public void clearTables() {
+            adversary.clear();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            adversary.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Position chooseMove(Stateless state) {
+        Game game = state.nextGame();
+        return state.adversary.chooseMove(game, game.getCurrentPlayer());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    @OperationsPerInvocation(SEARCHES)
+    public void search(Searching state, Blackhole blackhole) {
+        for (Game game : state.games) {
+            blackhole.consume(state.adversary.chooseMove(game, game.getCurrentPlayer()));
+        }
+    }
+}
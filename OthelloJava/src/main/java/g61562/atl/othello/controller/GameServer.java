@@ -0,0 +1,276 @@
+package g61562.atl.othello.controller;
+
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Transcript;
+import g61562.atl.othello.strategy.AdversaryPool;
+import g61562.atl.othello.strategy.Level;
+import g61562.atl.othello.strategy.Tournament;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The GameServer class hosts many games in memory, without any user interface, for clients connected
+ * to a socket of the local machine.
+ * Every connection is served by its own virtual thread, which plays the commands of its client on the games
+ * and the replies of the computer; thousands of clients waiting for their next move cost almost nothing.
+ * The computer strategies are shared between the games through an {@link AdversaryPool},
+ * so a game only holds its board and its history.
+ * Games that receive no command for a while are evicted.
+ * <p>
+ * The protocol is made of lines of text. A client sends one command per line and receives one line per command:
+ * <ul>
+ *     <li>{@code NEW [size] [level]} starts a game, against the computer playing white if a level is given;</li>
+ *     <li>{@code STATE <id>} describes a game;</li>
+ *     <li>{@code MOVE <id> <square>} plays a move such as {@code f5} for the player to move,
+ *     followed by the reply of the computer;</li>
+ *     <li>{@code UNDO <id>} and {@code REDO <id>} undo and redo the last move;</li>
+ *     <li>{@code CLOSE <id>} ends a game and {@code QUIT} ends the connection.</li>
+ * </ul>
+ * Games are described by {@code STATE <id> <BLACK|WHITE|OVER> <black count> <white count> <squares>},
+ * the squares being given row by row; errors by {@code ERROR <message>}.
+ */
+public class GameServer implements Closeable {
+    private static final int DEFAULT_SIZE = 8;
+
+    private final Map<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AdversaryPool adversaries;
+    private final long idleTimeoutNanos;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService evictor;
+    private ServerSocket serverSocket;
+
+    /**
+     * Constructs a server. It does not listen before {@link #start(int)}.
+     *
+     * @param idleTimeout The time after which a game without any command is evicted.
+     * @param perLevel    The number of computer strategies of each level shared between the games.
+     */
+    public GameServer(Duration idleTimeout, int perLevel) {
+        this.adversaries = new AdversaryPool(perLevel);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "othello-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeout.toMillis() / 2);
+        evictor.scheduleWithFixedDelay(() -> evictIdle(System.nanoTime()), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts listening on a port of the loopback address.
+     * The connections are accepted by a thread that keeps the virtual machine running until {@link #close()}.
+     *
+     * @param port The port, or 0 for any free port.
+     * @return The port the server listens on.
+     * @throws IOException if the port cannot be opened.
+     */
+    public int start(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptConnections, "othello-server");
+        acceptor.start();
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptConnections() {
+        try {
+            while (!serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                connections.add(socket);
+                clients.execute(() -> serve(socket));
+            }
+        } catch (IOException e) {
+            // Le serveur a été fermé
+        }
+    }
+
+    /**
+     * Reads the commands of a client until it quits or disconnects.
+     */
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                     StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase("QUIT")) {
+                    out.println("BYE");
+                    break;
+                }
+                out.println(execute(line));
+            }
+        } catch (IOException e) {
+            // Le client s'est déconnecté
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    /**
+     * Executes one command of the protocol.
+     *
+     * @param line The command.
+     * @return The reply to send to the client.
+     */
+    String execute(String line) {
+        String[] words = line.trim().split("\\s+");
+        try {
+            return switch (words[0].toUpperCase()) {
+                case "NEW" -> newGame(words);
+                case "STATE", "MOVE", "UNDO", "REDO", "CLOSE" -> onSession(words);
+                default -> "ERROR Unknown command: " + words[0];
+            };
+        } catch (IllegalArgumentException e) {
+            return "ERROR " + e.getMessage();
+        }
+    }
+
+    private String newGame(String[] words) {
+        int size = words.length > 1 ? Integer.parseInt(words[1]) : DEFAULT_SIZE;
+        Level level = null;
+        if (words.length > 2) {
+            level = Tournament.level(words[2]);
+            if (level == null) {
+                throw new IllegalArgumentException("Unknown level: " + words[2]);
+            }
+        }
+        Game game = level == null ? new Game(size, null, false) : new Game(size, level, adversaries.forLevel(level));
+        GameSession session = new GameSession(nextId.getAndIncrement(), game, System.nanoTime());
+        sessions.put(session.getId(), session);
+        session.lock();
+        try {
+            return session.describe();
+        } finally {
+            session.unlock();
+        }
+    }
+
+    private String onSession(String[] words) {
+        if (words.length < 2) {
+            throw new IllegalArgumentException("Missing game identifier");
+        }
+        GameSession session = sessions.get(Long.parseLong(words[1]));
+        if (session == null) {
+            return "ERROR Unknown game: " + words[1];
+        }
+        session.lock();
+        try {
+            // La partie a pu être évincée entre la recherche et le verrouillage
+            if (session.isClosed()) {
+                return "ERROR Unknown game: " + words[1];
+            }
+            session.touch(System.nanoTime());
+            Game game = session.getGame();
+            switch (words[0].toUpperCase()) {
+                case "MOVE" -> {
+                    if (words.length < 3) {
+                        throw new IllegalArgumentException("Missing square");
+                    }
+                    play(game, words[2]);
+                }
+                case "UNDO" -> game.undo();
+                case "REDO" -> game.redo();
+                case "CLOSE" -> {
+                    session.close();
+                    sessions.remove(session.getId());
+                    return "OK";
+                }
+                default -> {
+                    // STATE ne change rien
+                }
+            }
+            return session.describe();
+        } finally {
+            session.unlock();
+        }
+    }
+
+    private static void play(Game game, String square) {
+        int size = game.getBoard().getSize();
+        int[] moves = Transcript.parse(square, size);
+        if (moves.length != 1) {
+            throw new IllegalArgumentException("Invalid square: " + square);
+        }
+        if (game.isGameOver()) {
+            throw new IllegalArgumentException("The game is over");
+        }
+        int row = moves[0] / size;
+        int col = moves[0] % size;
+        if (!game.isValidMove(row, col, game.getCurrentPlayer())) {
+            throw new IllegalArgumentException("Invalid move: " + square);
+        }
+        game.addPiece(row, col, game.getCurrentPlayer());
+    }
+
+    /**
+     * Evicts the games that received no command during the idle timeout.
+     * A game used by a client at that moment is kept.
+     *
+     * @param now The current time, in nanoseconds.
+     * @return The number of evicted games.
+     */
+    int evictIdle(long now) {
+        int evicted = 0;
+        for (GameSession session : sessions.values()) {
+            if (now - session.getLastUsed() < idleTimeoutNanos || !session.tryLock()) {
+                continue;
+            }
+            try {
+                if (now - session.getLastUsed() >= idleTimeoutNanos && !session.isClosed()) {
+                    session.close();
+                    sessions.remove(session.getId());
+                    evicted++;
+                }
+            } finally {
+                session.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Gets the number of games hosted.
+     *
+     * @return The number of live games.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Stops listening, disconnects the clients and drops the games.
+     */
+    @Override
+    public void close() throws IOException {
+        evictor.shutdownNow();
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (Socket socket : connections) {
+            socket.close();
+        }
+        clients.shutdown();
+        sessions.clear();
+        adversaries.close();
+    }
+}
@@ -0,0 +1,118 @@
+package g61562.atl.othello.controller;
+
+import g61562.atl.othello.model.Board;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The GameSession class holds one game hosted by the {@link GameServer}.
+ * A game is not thread-safe: every access goes through {@link #lock()}, so two clients of the same game
+ * play one after the other while the games of other sessions go on.
+ * The lock is a {@link ReentrantLock} rather than a synchronized block, which would pin the virtual thread
+ * of the client to its carrier during a search of the computer.
+ */
+final class GameSession {
+    private final long id;
+    private final Game game;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long lastUsed;
+    private boolean closed;
+
+    /**
+     * Constructs a session.
+     *
+     * @param id   The identifier of the session.
+     * @param game The game of the session.
+     * @param now  The current time, in nanoseconds.
+     */
+    GameSession(long id, Game game, long now) {
+        this.id = id;
+        this.game = game;
+        this.lastUsed = now;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the game. The lock of the session must be held.
+     *
+     * @return The game.
+     */
+    Game getGame() {
+        return game;
+    }
+
+    /**
+     * Takes the lock of the session, waiting for the other clients of the game.
+     */
+    void lock() {
+        lock.lock();
+    }
+
+    /**
+     * Takes the lock of the session if no client holds it.
+     *
+     * @return true if the lock was taken.
+     */
+    boolean tryLock() {
+        return lock.tryLock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    /**
+     * Records a use of the session. The lock of the session must be held.
+     *
+     * @param now The current time, in nanoseconds.
+     */
+    void touch(long now) {
+        lastUsed = now;
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    /**
+     * Checks if the session was closed or evicted. The lock of the session must be held.
+     *
+     * @return true if the game must not be played anymore.
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the session. The lock of the session must be held.
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * Describes the game for the clients: the identifier, the player to move or {@code OVER},
+     * the counts of black and white pieces and the squares row by row ({@code .}, {@code B} or {@code W}).
+     * The lock of the session must be held.
+     *
+     * @return The line describing the game.
+     */
+    String describe() {
+        Board board = game.getBoard();
+        int size = board.getSize();
+        StringBuilder squares = new StringBuilder(size * size);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                Color color = board.getColor(row, col);
+                squares.append(color == null ? '.' : color == Color.BLACK ? 'B' : 'W');
+            }
+        }
+        String toMove = game.isGameOver() ? "OVER" : game.getCurrentPlayer().toString();
+        return "STATE " + id + " " + toMove + " " + game.getBlackCount() + " " + game.getWhiteCount() + " " + squares;
+    }
+}
@@ -0,0 +1,122 @@
+package g61562.atl.othello.controller;
+
+import g61562.atl.othello.model.GameRecord;
+import g61562.atl.othello.model.GameRecordReader;
+import g61562.atl.othello.strategy.ComputerAdversary;
+import g61562.atl.othello.strategy.OpeningBookBuilder;
+import g61562.atl.othello.strategy.PositionDatabase;
+import g61562.atl.othello.strategy.Tournament;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * This class serves as the entry point of the opening book builder.
+ * It plays self-play games of a strategy against itself, from random openings, and writes the book of their first moves.
+ * With {@code --from}, the book is built from the games of a game record file instead,
+ * and with {@code --database}, from the statistics of a position database built by {@code MainPositions}.
+ * The book is then used by the game when the {@code othello.book} system property gives its path.
+ */
+public class MainBook {
+    private static final String USAGE = "Usage: MainBook <output> [--engine name] [--games n] [--size n]"
+            + " [--plies n] [--min-games n] [--random-plies n] [--threads n] [--seed n] [--from records]"
+            + " [--database positions]";
+
+    /**
+     * The main method of the book builder.
+     *
+     * @param args The path of the book followed by the options of the self-play.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println(USAGE);
+            return;
+        }
+        String engine = "alphabeta:4";
+        int games = 1000;
+        int size = 8;
+        int plies = 12;
+        int minGames = 3;
+        int randomPlies = 6;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        Path from = null;
+        Path database = null;
+        try {
+            for (int i = 1; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--engine" -> engine = value;
+                    case "--games" -> games = Integer.parseInt(value);
+                    case "--size" -> size = Integer.parseInt(value);
+                    case "--plies" -> plies = Integer.parseInt(value);
+                    case "--min-games" -> minGames = Integer.parseInt(value);
+                    case "--random-plies" -> randomPlies = Integer.parseInt(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--from" -> from = Path.of(value);
+                    case "--database" -> database = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            OpeningBookBuilder builder = new OpeningBookBuilder(size, plies, minGames);
+            if (database != null) {
+                int moves;
+                try (PositionDatabase positions = PositionDatabase.open(database)) {
+                    moves = builder.addDatabase(positions);
+                }
+                int entries = builder.write(Path.of(args[0]));
+                System.out.printf("%d moves found in the database, %d entries written to %s%n",
+                        moves, entries, args[0]);
+                return;
+            }
+            if (from != null) {
+                int[] counts = addRecords(builder, from, size);
+                int entries = builder.write(Path.of(args[0]));
+                System.out.printf("%d games read, %d skipped, %d entries written to %s%n",
+                        counts[0], counts[1], entries, args[0]);
+                return;
+            }
+            Supplier<ComputerAdversary> player = Tournament.engine(engine);
+            Tournament selfPlay = new Tournament(player, player, size, randomPlies, seed);
+            selfPlay.setGameListener(builder::addGame);
+            Tournament.Result result = selfPlay.play((games + 1) / 2, threads);
+            int entries = builder.write(Path.of(args[0]));
+            System.out.printf("%d games in %.1f s, %d entries written to %s%n",
+                    result.games(), result.seconds(), entries, args[0]);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+        } catch (IOException e) {
+            System.out.println("Cannot write the book: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the finished games of a record file to the book, skipping the other ones.
+     *
+     * @return The number of games added and the number of games skipped.
+     */
+    private static int[] addRecords(OpeningBookBuilder builder, Path from, int size) throws IOException {
+        int[] counts = new int[2];
+        try (GameRecordReader reader = new GameRecordReader(from)) {
+            GameRecord record;
+            while ((record = reader.read()) != null) {
+                try {
+                    if (record.size() != size) {
+                        throw new IllegalArgumentException("Wrong board size");
+                    }
+                    builder.addGame(record.movesWithoutPasses());
+                    counts[0]++;
+                } catch (IllegalArgumentException e) {
+                    counts[1]++;
+                }
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,54 @@
+package g61562.atl.othello.controller;
+
+import g61562.atl.othello.model.Board;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Perft;
+import g61562.atl.othello.model.Position;
+
+import java.util.List;
+
+/**
+ * This class serves as the entry point of the perft tool, which counts the positions reached from the start
+ * of a game after a number of moves and prints the count of every first move.
+ * It never loads JavaFX and can be run from the classpath:
+ * {@code java -cp target/classes g61562.atl.othello.controller.MainPerft 8 10}.
+ */
+public class MainPerft {
+    private static final String USAGE = "Usage: MainPerft <size> <depth> [threads]";
+
+    /**
+     * The main method of the perft tool.
+     *
+     * @param args The size of the board, the depth and optionally the number of threads.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println(USAGE);
+            return;
+        }
+        try {
+            int size = Integer.parseInt(args[0]);
+            int depth = Integer.parseInt(args[1]);
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            Board board = new Game(size, null, false).getBoard();
+            long start = System.nanoTime();
+            List<Perft.Divide> divide = Perft.divide(board.copyBits(), Color.BLACK, depth, threads);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long total = 0;
+            for (Perft.Divide move : divide) {
+                String name = "pass";
+                if (move.square() != -1) {
+                    Position position = board.toPosition(move.square());
+                    name = position.getRow() + " " + position.getCol();
+                }
+                System.out.printf("%-6s %d%n", name, move.nodes());
+                total += move.nodes();
+            }
+            System.out.printf("Perft(%d) = %d in %.3f s, %.0f nodes/s%n", depth, total, seconds, total / seconds);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+        }
+    }
+}
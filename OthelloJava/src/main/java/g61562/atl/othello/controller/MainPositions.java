@@ -0,0 +1,137 @@
+package g61562.atl.othello.controller;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.GameRecord;
+import g61562.atl.othello.model.GameRecordReader;
+import g61562.atl.othello.model.Transcript;
+import g61562.atl.othello.strategy.PositionDatabase;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class serves as the entry point of the position database tool.
+ * It adds the games of game record files, for instance the ones recorded by {@code MainTournament --record},
+ * to a position database, creating it if needed, and with {@code --query} prints how the position reached
+ * by a transcript scored historically, move by move.
+ * The database is then shown by the game when the {@code othello.positions} system property gives its path,
+ * and used by {@code MainBook --database}.
+ */
+public class MainPositions {
+    private static final String USAGE = "Usage: MainPositions <database> [records...] [--size n] [--query moves]";
+
+    /**
+     * The main method of the position database tool.
+     *
+     * @param args The path of the database, the record files and the options.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println(USAGE);
+            return;
+        }
+        int size = 8;
+        String query = null;
+        List<Path> files = new ArrayList<>();
+        try {
+            for (int i = 1; i < args.length; i++) {
+                if (!args[i].startsWith("--")) {
+                    files.add(Path.of(args[i]));
+                    continue;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[++i];
+                switch (args[i - 1]) {
+                    case "--size" -> size = Integer.parseInt(value);
+                    case "--query" -> query = value;
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i - 1]);
+                }
+            }
+            Path path = Path.of(args[0]);
+            if (!files.isEmpty()) {
+                try (PositionDatabase database = PositionDatabase.create(path, size)) {
+                    long start = System.nanoTime();
+                    int[] counts = new int[2];
+                    for (Path file : files) {
+                        addRecords(database, file, counts);
+                    }
+                    System.out.printf("%d games added, %d skipped, %d positions in %s, %.1f s%n",
+                            counts[0], counts[1], database.getPositions(), args[0],
+                            (System.nanoTime() - start) / 1e9);
+                }
+            }
+            if (query != null) {
+                try (PositionDatabase database = PositionDatabase.open(path)) {
+                    printQuery(database, query);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+        } catch (IOException e) {
+            System.out.println("Cannot use the position database: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the finished games of a record file to the database, skipping the other ones.
+     */
+    private static void addRecords(PositionDatabase database, Path file, int[] counts) throws IOException {
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            GameRecord record;
+            while ((record = reader.read()) != null) {
+                try {
+                    database.addGame(record);
+                    counts[0]++;
+                } catch (IllegalArgumentException e) {
+                    counts[1]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Prints the statistics of the position reached by a transcript and of every move from it.
+     */
+    private static void printQuery(PositionDatabase database, String transcript) {
+        int size = database.getSize();
+        BitBoard board = new Game(size, null, false).getBoard().copyBits();
+        Color color = Color.BLACK;
+        for (int move : Transcript.parse(transcript, size)) {
+            if (GameRecord.passesBefore(board, color, move)) {
+                color = color.getOpposite();
+            }
+            board.play(move, color, null);
+            color = color.getOpposite();
+        }
+        if (!board.hasValidMove(color) && board.hasValidMove(color.getOpposite())) {
+            color = color.getOpposite();
+        }
+        PositionDatabase.Stats stats = database.lookup(board, color);
+        if (stats == null) {
+            System.out.println("Unknown position");
+            return;
+        }
+        System.out.printf("%s to move: %s%n", color, describe(stats));
+        int[] moves = new int[size * size];
+        int count = board.getPossibleMoves(color, moves);
+        for (int i = 0; i < count; i++) {
+            PositionDatabase.Stats after = database.lookupMove(board, color, moves[i]);
+            if (after != null) {
+                System.out.printf("  %s%s: %s%n", Transcript.format(new int[]{moves[i]}, size),
+                        moves[i] == stats.bestMove() ? " (best)" : "", describe(after));
+            }
+        }
+    }
+
+    private static String describe(PositionDatabase.Stats stats) {
+        return String.format("%d games, %d won, %d drawn, %d lost, average %+.1f pieces",
+                stats.games(), stats.wins(), stats.draws(), stats.losses(), stats.averageDiscs());
+    }
+}
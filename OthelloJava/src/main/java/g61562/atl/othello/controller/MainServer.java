@@ -0,0 +1,46 @@
+package g61562.atl.othello.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * This class serves as the entry point of the game server, which hosts games for clients of the local machine.
+ * It never loads JavaFX and can be run from the classpath:
+ * {@code java -cp target/classes g61562.atl.othello.controller.MainServer --port 4000}.
+ * A client can be as simple as {@code nc localhost 4000}; the protocol is described by {@link GameServer}.
+ */
+public class MainServer {
+    private static final String USAGE = "Usage: MainServer [--port n] [--idle seconds] [--adversaries n]";
+
+    /**
+     * The main method of the server. The server runs until the virtual machine is stopped.
+     *
+     * @param args The options of the server.
+     */
+    public static void main(String[] args) {
+        int port = 4000;
+        long idleSeconds = 600;
+        int adversaries = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--port" -> port = Integer.parseInt(value);
+                    case "--idle" -> idleSeconds = Long.parseLong(value);
+                    case "--adversaries" -> adversaries = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            GameServer server = new GameServer(Duration.ofSeconds(idleSeconds), adversaries);
+            System.out.println("Listening on port " + server.start(port));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+        } catch (IOException e) {
+            System.out.println("Cannot start the server: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package g61562.atl.othello.controller;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Transcript;
+import g61562.atl.othello.strategy.Tablebase;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * This class serves as the entry point of the tablebase tool, which solves every position of a small board
+ * into a tablebase file, resuming the build if the file already exists, and prints the value of the start position.
+ * The tablebase is then used by the computer strategies when the {@code othello.tablebase} system property
+ * gives its path: {@code java -cp target/classes g61562.atl.othello.controller.MainTablebase tablebase4.bin 4}.
+ */
+public class MainTablebase {
+    private static final String USAGE = "Usage: MainTablebase <tablebase> [size] [threads]";
+
+    /**
+     * The main method of the tablebase tool.
+     *
+     * @param args The path of the tablebase, and optionally the size of the board and the number of threads.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println(USAGE);
+            return;
+        }
+        try {
+            int size = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            long start = System.nanoTime();
+            try (Tablebase tablebase = Tablebase.build(Path.of(args[0]), size, threads)) {
+                BitBoard board = new Game(size, null, false).getBoard().copyBits();
+                String[] values = {"unknown", "lost", "drawn", "won"};
+                int move = tablebase.bestMove(board, Color.BLACK);
+                System.out.printf("%d positions solved in %.1f s%n", tablebase.getPositions(),
+                        (System.nanoTime() - start) / 1e9);
+                System.out.printf("The start position is %s by black, best move %s%n",
+                        values[tablebase.value(board, Color.BLACK)], Transcript.format(new int[]{move}, size));
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+        } catch (IOException e) {
+            System.out.println("Cannot use the tablebase: " + e.getMessage());
+        }
+    }
+}
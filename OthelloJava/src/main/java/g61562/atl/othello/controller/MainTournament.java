@@ -0,0 +1,92 @@
+package g61562.atl.othello.controller;
+
+import g61562.atl.othello.model.GameRecord;
+import g61562.atl.othello.model.GameRecordWriter;
+import g61562.atl.othello.strategy.ComputerAdversary;
+import g61562.atl.othello.strategy.Tournament;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * This class serves as the entry point of a match between two computer strategies, without any user interface.
+ * It never loads JavaFX and can be run from the classpath:
+ * {@code java -cp target/classes g61562.atl.othello.controller.MainTournament expert easy --games 1000}.
+ * With {@code --record}, the games are appended to a game record file,
+ * to replay them or to train the evaluation weights.
+ */
+public class MainTournament {
+    private static final String USAGE = "Usage: MainTournament <first> <second> [--games n] [--size n]"
+            + " [--threads n] [--random-plies n] [--seed n] [--record file]\n"
+            + "Strategies: easy, hard, expert, master or alphabeta:<depth>[:<milliseconds>]"
+            + " or mcts:<playouts>[:<milliseconds>[:<threads>]]";
+
+    /**
+     * The main method of the tournament.
+     * Plays the match and prints the result from the point of view of the first strategy.
+     *
+     * @param args The two strategies followed by the options of the match.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println(USAGE);
+            return;
+        }
+        int games = 100;
+        int size = 8;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int randomPlies = 4;
+        long seed = System.nanoTime();
+        Path record = null;
+        try {
+            Supplier<ComputerAdversary> first = Tournament.engine(args[0]);
+            Supplier<ComputerAdversary> second = Tournament.engine(args[1]);
+            for (int i = 2; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--games" -> games = Integer.parseInt(value);
+                    case "--size" -> size = Integer.parseInt(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--random-plies" -> randomPlies = Integer.parseInt(value);
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--record" -> record = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            Tournament tournament = new Tournament(first, second, size, randomPlies, seed);
+            Tournament.Result result;
+            if (record == null) {
+                result = tournament.play((games + 1) / 2, threads);
+            } else {
+                try (GameRecordWriter out = new GameRecordWriter(record)) {
+                    tournament.setRecordListener(game -> write(out, game),
+                            Tournament.level(args[0]), Tournament.level(args[1]));
+                    result = tournament.play((games + 1) / 2, threads);
+                }
+            }
+            System.out.printf("%s vs %s on %dx%d, seed %d%n", args[0], args[1], size, size, seed);
+            System.out.printf("Games: %d  W: %d  D: %d  L: %d  Score: %.1f%%%n", result.games(), result.wins(),
+                    result.draws(), result.losses(), 100 * result.score());
+            System.out.printf("Elo: %+.1f +/- %.1f (95%%)%n", result.elo(), result.eloError());
+            System.out.printf("%.2f games/s on %d threads%n", result.gamesPerSecond(), threads);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Cannot record the games: " + e.getMessage());
+        }
+    }
+
+    private static void write(GameRecordWriter out, GameRecord game) {
+        try {
+            out.write(game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package g61562.atl.othello.controller;
+
+import g61562.atl.othello.strategy.PatternWeights;
+import g61562.atl.othello.strategy.WeightTrainer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class serves as the entry point of the training of the evaluation weights.
+ * It fits the weights of the pattern evaluator to the games of game record files,
+ * for instance the ones recorded by {@code MainTournament --record}, or of transcript files,
+ * and writes the weight file.
+ * The weights are then used by the game when the {@code othello.weights} system property gives its path.
+ */
+public class MainTrain {
+    private static final String USAGE = "Usage: MainTrain <output> <games...> [--size n] [--phases n]"
+            + " [--epochs n] [--rate x] [--threads n]";
+
+    /**
+     * The main method of the training.
+     * Prints the error of the evaluation after every pass over the games.
+     *
+     * @param args The path of the weight file, the game files and the options of the training.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println(USAGE);
+            return;
+        }
+        int size = 8;
+        int phases = 8;
+        int epochs = 10;
+        double rate = 20;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Path> files = new ArrayList<>();
+        try {
+            for (int i = 1; i < args.length; i++) {
+                if (!args[i].startsWith("--")) {
+                    files.add(Path.of(args[i]));
+                    continue;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[++i];
+                switch (args[i - 1]) {
+                    case "--size" -> size = Integer.parseInt(value);
+                    case "--phases" -> phases = Integer.parseInt(value);
+                    case "--epochs" -> epochs = Integer.parseInt(value);
+                    case "--rate" -> rate = Double.parseDouble(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i - 1]);
+                }
+            }
+            WeightTrainer trainer = new WeightTrainer(size, phases, rate);
+            for (int epoch = 1; epoch <= epochs; epoch++) {
+                long start = System.nanoTime();
+                WeightTrainer.Epoch result = trainer.train(files, threads);
+                System.out.printf("Epoch %d: %d games, %d positions, %d skipped, error %.2f pieces, %.1f s%n",
+                        epoch, result.games(), result.positions(), result.rejected(), result.error(),
+                        (System.nanoTime() - start) / 1e9);
+            }
+            PatternWeights weights = trainer.getWeights();
+            weights.write(Path.of(args[0]));
+            System.out.printf("Weights of %d phases written to %s%n", weights.getPhases(), args[0]);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+        } catch (IOException e) {
+            System.out.println("Cannot train the weights: " + e.getMessage());
+        }
+    }
+}
@@ -5,27 +5,32 @@ import g61562.atl.othello.utils.Command;
 /**
  * The AddCommand class represents a command to add a piece to the game board.
  * It implements the Command interface.
+ * Instead of copying the whole board, the command remembers the square of the piece and the squares it flipped,
+ * so undoing and redoing a move only touches the squares the move changed.
  */
 public class AddCommand implements Command {
+    private static final int[] NO_FLIPS = new int[0];
+
     private final int row;
 
     private final int col;
 
     private final Color color;
+    private final Color captureColor;
     private final Board board;
     private final Game game;
-    private Color[][] saveStateBeforeAdd;
-    private Color[][] saveStateAfterAdd;
+    private Color previousColor;
+    private int[] flipped = NO_FLIPS;
     private Color previousPlayerBeforeAdd;
     private Color previousPlayerAfterAdd;
     private int previousScoreBlackAfter;
     private int previousScoreWhiteAfter;
     private int previousScoreBlackBefore ;
     private int previousScoreWhiteBefore;
-    private static int size;
 
     /**
      * Constructs an AddCommand object with the specified row, column, color, board, and game.
+     * The added piece captures the opponent's pieces for its own color.
      *
      * @param row   The row of the piece to be added.
      * @param col   The column of the piece to be added.
@@ -34,56 +39,59 @@ public class AddCommand implements Command {
      * @param game  The game object.
      */
     public AddCommand(int row, int col, Color color, Board board, Game game) {
+        this(row, col, color, color, board, game);
+    }
+
+    /**
+     * Constructs an AddCommand object whose piece captures the opponent's pieces for the specified color.
+     *
+     * @param row          The row of the piece to be added.
+     * @param col          The column of the piece to be added.
+     * @param color        The color of the piece to be added.
+     * @param captureColor The color of the player capturing the opponent's pieces.
+     * @param board        The game board.
+     * @param game         The game object.
+     */
+    public AddCommand(int row, int col, Color color, Color captureColor, Board board, Game game) {
         this.col = col;
         this.row = row;
         this.color = color;
+        this.captureColor = captureColor;
         this.board = board;
         this.game = game;
-        size = board.getSize();
-        saveStateBeforeAdd = new Color[size][size];
-        saveStateAfterAdd = new Color[size][size];
     }
 
     public Color getColor() {
         return color;
     }
 
-    private void saveStateGameBeforeAdd() {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                saveStateBeforeAdd[i][j] = board.getColor(i, j);
-            }
-        }
-    }
-
-    private void saveStateGameAfterAdd() {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                saveStateAfterAdd[i][j] = board.getColor(i, j);
-            }
-        }
+    /**
+     * Gets the number of opponent's pieces flipped by this command.
+     *
+     * @return The number of flipped pieces.
+     */
+    public int getFlippedCount() {
+        return flipped.length;
     }
 
     @Override
     public void execute() { //do
         previousScoreBlackBefore = game.getBlackCountCummulatif();
         previousScoreWhiteBefore = game.getWhiteCountCummulatif();
-        saveStateGameBeforeAdd();
         previousPlayerBeforeAdd = game.getCurrentPlayer();
+        previousColor = board.getColor(row, col);
         board.addPiece(row, col, color);
+        flipped = board.flip(row, col, captureColor);
     }
 
     @Override
     public void unexecute() { //undo
         previousScoreBlackAfter = game.getBlackCountCummulatif();
         previousScoreWhiteAfter = game.getWhiteCountCummulatif();
-        saveStateGameAfterAdd();
         previousPlayerAfterAdd = game.getCurrentPlayer();
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                board.setColor(i, j, saveStateBeforeAdd[i][j]);
-            }
-        }
+        // Seuls les pions retournés par le coup appartenaient à l'adversaire
+        board.setColors(flipped, captureColor.getOpposite());
+        board.setColor(row, col, previousColor);
         game.setBlackCount(previousScoreBlackBefore);
         game.setWhiteCount(previousScoreWhiteBefore);
         game.setCurrentPlayer(previousPlayerBeforeAdd);
@@ -91,11 +99,8 @@ public class AddCommand implements Command {
 
     @Override
     public void reexecute() {  //redo --> reexecute
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                board.setColor(i, j, saveStateAfterAdd[i][j]);
-            }
-        }
+        board.setColor(row, col, color);
+        board.setColors(flipped, captureColor);
         game.setCurrentPlayer(previousPlayerAfterAdd);
         game.setBlackCount(previousScoreBlackAfter);
         game.setWhiteCount(previousScoreWhiteAfter);
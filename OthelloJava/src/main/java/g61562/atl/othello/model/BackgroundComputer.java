@@ -0,0 +1,95 @@
+package g61562.atl.othello.model;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * The BackgroundComputer class runs the moves of the computer opponent on a background thread.
+ * The computer searches a snapshot of the game, so the game itself is only touched by the executor
+ * the result is applied on, usually the JavaFX application thread.
+ * A request that is cancelled, or replaced by a newer one, never reaches the game.
+ * Every method must be called from the thread the results are applied on.
+ */
+final class BackgroundComputer {
+    private final Executor applyExecutor;
+    private final ExecutorService executor;
+    private Future<?> pending;
+    private long requestId;
+
+    /**
+     * Constructs a BackgroundComputer applying its results with the specified executor.
+     *
+     * @param applyExecutor The executor running the callbacks, such as {@code Platform::runLater}.
+     */
+    BackgroundComputer(Executor applyExecutor) {
+        this.applyExecutor = applyExecutor;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "othello-computer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the search of a move, cancelling the previous request if it is still running.
+     *
+     * @param snapshot The copy of the game to search.
+     * @param color    The color of the computer.
+     * @param onMove   The callback receiving the chosen move, or null if the computer has no move.
+     */
+    void request(Game snapshot, Color color, Consumer<Position> onMove) {
+        cancel();
+        long id = requestId;
+        pending = executor.submit(() -> {
+            Position move = snapshot.chooseOpponentMove(color);
+            if (!Thread.currentThread().isInterrupted()) {
+                applyExecutor.execute(() -> apply(id, move, onMove));
+            }
+        });
+    }
+
+    private void apply(long id, Position move, Consumer<Position> onMove) {
+        // Une demande annulée pendant que le résultat attendait son tour est ignorée
+        if (id == requestId) {
+            pending = null;
+            onMove.accept(move);
+        }
+    }
+
+    /**
+     * Checks if a move is being searched.
+     *
+     * @return True if a request is waiting for its result, otherwise false.
+     */
+    boolean isThinking() {
+        return pending != null;
+    }
+
+    /**
+     * Cancels the running request, if any, and interrupts its search.
+     */
+    void cancel() {
+        requestId++;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    /**
+     * Cancels the running request and stops the background thread.
+     * The interrupted search ends on the background thread, so the strategy is released there, after it.
+     *
+     * @param release The action releasing the strategy once its search has ended, or null.
+     */
+    void shutdown(Runnable release) {
+        cancel();
+        if (release != null) {
+            executor.execute(release);
+        }
+        executor.shutdown();
+    }
+}
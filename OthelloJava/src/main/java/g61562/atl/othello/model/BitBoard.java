@@ -0,0 +1,158 @@
+package g61562.atl.othello.model;
+
+/**
+ * The BitBoard class represents the pieces of an Othello board as bit masks, one set of bits per color.
+ * Squares are identified by a packed index {@code row * size + col}.
+ * Move generation, flipping and counting are done with shift-and-mask operations instead of
+ * walking the board cell by cell.
+ * An 8x8 board is stored in two {@code long} masks, every other size in a multi-word variant.
+ */
+public abstract class BitBoard {
+
+    /**
+     * Creates an empty bitboard of the specified size, using the two-long variant for 8x8 boards.
+     *
+     * @param size The size of the board.
+     * @return A new empty bitboard.
+     */
+    public static BitBoard create(int size) {
+        if (size == BitBoard8.SIZE) {
+            return new BitBoard8();
+        }
+        return new BitBoardN(size);
+    }
+
+    /**
+     * Gets the size of the board.
+     *
+     * @return The number of rows (and columns) of the board.
+     */
+    public abstract int getSize();
+
+    /**
+     * Gets the color of the piece on the specified square.
+     *
+     * @param square The packed square index.
+     * @return The color of the piece, or null if the square is empty.
+     */
+    public abstract Color getColor(int square);
+
+    /**
+     * Sets the color of the specified square.
+     *
+     * @param square The packed square index.
+     * @param color  The color to set, or null to empty the square.
+     */
+    public abstract void setColor(int square, Color color);
+
+    /**
+     * Counts the pieces of the specified color.
+     *
+     * @param color The color to count.
+     * @return The number of pieces of this color on the board.
+     */
+    public abstract int count(Color color);
+
+    /**
+     * Checks if a move is valid: the square is empty and the move captures at least one piece.
+     *
+     * @param square The packed square index.
+     * @param color  The color of the player making the move.
+     * @return True if the move is valid, otherwise false.
+     */
+    public abstract boolean isValidMove(int square, Color color);
+
+    /**
+     * Checks if a piece of the specified color on this square would capture in any direction.
+     * The occupancy of the square itself is not checked.
+     *
+     * @param square The packed square index.
+     * @param color  The color of the player.
+     * @return True if at least one opponent's piece would be captured, otherwise false.
+     */
+    public abstract boolean capturesOpponent(int square, Color color);
+
+    /**
+     * Checks if a piece of the specified color on this square would capture in a specific direction.
+     *
+     * @param square    The packed square index.
+     * @param color     The color of the player.
+     * @param direction The direction to check.
+     * @return True if opponent's pieces would be captured in this direction, otherwise false.
+     */
+    public abstract boolean capturesInDirection(int square, Color color, Direction direction);
+
+    /**
+     * Checks if the player of the specified color has at least one valid move.
+     *
+     * @param color The color of the player.
+     * @return True if the player has a valid move, otherwise false.
+     */
+    public abstract boolean hasValidMove(Color color);
+
+    /**
+     * Fills a caller-supplied buffer with the valid moves of a player, without allocating anything.
+     *
+     * @param color The color of the player.
+     * @param moves The buffer receiving the packed squares of the moves, of length at least {@code size * size}.
+     * @return The number of valid moves written to the buffer.
+     */
+    public abstract int getPossibleMoves(Color color, int[] moves);
+
+    /**
+     * Flips the opponent's pieces captured by a piece of the specified color on this square.
+     * The square itself is left untouched.
+     *
+     * @param square  The packed square index.
+     * @param color   The color of the player.
+     * @param flipped A buffer receiving the flipped squares, or null if they are not needed.
+     * @return The number of flipped pieces.
+     */
+    public abstract int flip(int square, Color color, int[] flipped);
+
+    /**
+     * Plays a move: puts a piece of the specified color on the square and flips the captured pieces.
+     *
+     * @param square  The packed square index.
+     * @param color   The color of the player.
+     * @param flipped A buffer receiving the flipped squares, or null if they are not needed.
+     * @return The number of flipped pieces.
+     */
+    public int play(int square, Color color, int[] flipped) {
+        setColor(square, color);
+        return flip(square, color, flipped);
+    }
+
+    /**
+     * Takes back a move played with {@link #play(int, Color, int[])}.
+     *
+     * @param square  The packed square index of the move.
+     * @param color   The color of the player who made the move.
+     * @param flipped The squares flipped by the move.
+     * @param count   The number of flipped squares.
+     */
+    public void undo(int square, Color color, int[] flipped, int count) {
+        Color opponent = color.getOpposite();
+        for (int i = 0; i < count; i++) {
+            setColor(flipped[i], opponent);
+        }
+        setColor(square, null);
+    }
+
+    /**
+     * Creates an independent copy of this bitboard.
+     *
+     * @return A copy of this bitboard.
+     */
+    public abstract BitBoard copy();
+
+    /**
+     * Counts the empty squares.
+     *
+     * @return The number of empty squares on the board.
+     */
+    public int emptyCount() {
+        int size = getSize();
+        return size * size - count(Color.BLACK) - count(Color.WHITE);
+    }
+}
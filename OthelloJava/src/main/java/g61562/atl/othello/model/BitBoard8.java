@@ -0,0 +1,420 @@
+package g61562.atl.othello.model;
+
+import java.util.Arrays;
+
+/**
+ * The BitBoard8 class is the bitboard of a standard 8x8 Othello board.
+ * Each color is stored in a single {@code long}, bit {@code row * 8 + col} being set when the square holds a piece.
+ * The static methods work on raw masks, from the point of view of the player to move,
+ * so that search code can use them without any object.
+ */
+public final class BitBoard8 extends BitBoard {
+    static final int SIZE = 8;
+    private static final long NOT_FIRST_COLUMN = 0xFEFEFEFEFEFEFEFEL;
+    private static final long NOT_LAST_COLUMN = 0x7F7F7F7F7F7F7F7FL;
+    private static final int[] SHIFTS = new int[Direction.values().length];
+    private static final long[] MASKS = new long[Direction.values().length];
+    private static final long FIRST_AND_LAST_COLUMNS = 0x8181818181818181L;
+    private static final long INNER_COLUMNS = ~FIRST_AND_LAST_COLUMNS;
+    private static final long FIRST_AND_LAST_ROWS = 0xFF000000000000FFL;
+    private static final long BORDER = FIRST_AND_LAST_COLUMNS | FIRST_AND_LAST_ROWS;
+    private static final Direction[] AXES = {Direction.RIGHT, Direction.DOWN, Direction.DOWN_RIGHT, Direction.DOWN_LEFT};
+    private static final long[][] LINES = new long[AXES.length][];
+    private static final long[] BEYOND = new long[AXES.length * 6];
+    private static final long[] SQUARE_LINES = new long[SIZE * SIZE * AXES.length];
+    private static final byte[] LAST_FLIPS = new byte[SIZE << SIZE];
+    private static final int[] SQUARE_OFFSETS = new int[SIZE * SIZE * AXES.length];
+    private static final byte[] OUTFLANKS = new byte[SIZE << SIZE];
+    private static final byte[] CAPTURES = new byte[SIZE << SIZE];
+
+    static {
+        for (Direction direction : Direction.values()) {
+            int i = direction.ordinal();
+            SHIFTS[i] = direction.getDx() * SIZE + direction.getDy();
+            if (direction.getDy() == 1) {
+                MASKS[i] = NOT_FIRST_COLUMN; // Un décalage vers la droite ne peut pas arriver en première colonne
+            } else if (direction.getDy() == -1) {
+                MASKS[i] = NOT_LAST_COLUMN;
+            } else {
+                MASKS[i] = -1L;
+            }
+        }
+        for (int axis = 0; axis < AXES.length; axis++) {
+            Direction direction = AXES[axis];
+            long[] lines = new long[2 * SIZE - 1];
+            int count = 0;
+            for (int square = 0; square < SIZE * SIZE; square++) {
+                int row = square / SIZE;
+                int col = square % SIZE;
+                if (onBoard(row - direction.getDx(), col - direction.getDy())) {
+                    continue; // La ligne commence plus tôt
+                }
+                long line = 0;
+                for (; onBoard(row, col); row += direction.getDx(), col += direction.getDy()) {
+                    line |= 1L << (row * SIZE + col);
+                }
+                lines[count++] = line;
+            }
+            LINES[axis] = Arrays.copyOf(lines, count);
+            // Les cases dont la voisine à 1, 2 ou 4 pas sur la ligne, dans un sens puis dans l'autre, sort du plateau
+            for (int j = 0; j < 3; j++) {
+                int steps = 1 << j;
+                for (int square = 0; square < SIZE * SIZE; square++) {
+                    int row = square / SIZE;
+                    int col = square % SIZE;
+                    if (!onBoard(row + steps * direction.getDx(), col + steps * direction.getDy())) {
+                        BEYOND[axis * 6 + 2 * j] |= 1L << square;
+                    }
+                    if (!onBoard(row - steps * direction.getDx(), col - steps * direction.getDy())) {
+                        BEYOND[axis * 6 + 2 * j + 1] |= 1L << square;
+                    }
+                }
+            }
+            for (long line : LINES[axis]) {
+                for (long squares = line; squares != 0; squares &= squares - 1) {
+                    int square = Long.numberOfTrailingZeros(squares);
+                    SQUARE_LINES[square * AXES.length + axis] = line;
+                    SQUARE_OFFSETS[square * AXES.length + axis] = Long.bitCount(line & ((1L << square) - 1)) << SIZE;
+                }
+            }
+        }
+        // Sur un plateau plein, les pièces prises sur une ligne ne dépendent que de la place du coup et des pièces du joueur
+        for (int offset = 0; offset < SIZE; offset++) {
+            for (int pattern = 0; pattern < 1 << SIZE; pattern++) {
+                int count = 0;
+                int after = Integer.numberOfTrailingZeros(pattern >>> offset + 1 << offset + 1);
+                if (after < SIZE) {
+                    count += after - offset - 1;
+                }
+                int before = 31 - Integer.numberOfLeadingZeros(pattern & (1 << offset) - 1);
+                if (before >= 0) {
+                    count += offset - before - 1;
+                }
+                LAST_FLIPS[offset << SIZE | pattern] = (byte) count;
+                OUTFLANKS[offset << SIZE | pattern] = (byte) outflanks(offset, pattern);
+                CAPTURES[offset << SIZE | pattern] = (byte) captures(offset, pattern);
+            }
+        }
+    }
+
+    /**
+     * Finds, on a line, the first square after each run of opponent's pieces starting next to the move.
+     */
+    private static int outflanks(int offset, int opponents) {
+        int result = 0;
+        int after = offset + 1;
+        while (after < SIZE && (opponents & 1 << after) != 0) {
+            after++;
+        }
+        if (after > offset + 1 && after < SIZE) {
+            result |= 1 << after;
+        }
+        int before = offset - 1;
+        while (before >= 0 && (opponents & 1 << before) != 0) {
+            before--;
+        }
+        if (before < offset - 1 && before >= 0) {
+            result |= 1 << before;
+        }
+        return result;
+    }
+
+    /**
+     * Finds, on a line, the squares between the move and the pieces of the player that outflank.
+     */
+    private static int captures(int offset, int outflanks) {
+        int result = 0;
+        for (int square = 0; square < SIZE; square++) {
+            if ((outflanks & 1 << square) != 0) {
+                int from = Math.min(square, offset);
+                int to = Math.max(square, offset);
+                result |= (1 << to) - (1 << from + 1);
+            }
+        }
+        return result;
+    }
+
+    private static boolean onBoard(int row, int col) {
+        return row >= 0 && row < SIZE && col >= 0 && col < SIZE;
+    }
+
+    private long black;
+    private long white;
+
+    BitBoard8() {
+    }
+
+    BitBoard8(long black, long white) {
+        this.black = black;
+        this.white = white;
+    }
+
+    /**
+     * Shifts a mask by one step in the specified direction, dropping the bits leaving the board.
+     *
+     * @param mask      The mask to shift.
+     * @param direction The ordinal of the direction.
+     * @return The shifted mask.
+     */
+    static long shift(long mask, int direction) {
+        int shift = SHIFTS[direction];
+        return (shift > 0 ? mask << shift : mask >>> -shift) & MASKS[direction];
+    }
+
+    /**
+     * Computes the squares adjacent to at least one square of a mask.
+     *
+     * @param mask The mask of squares.
+     * @return The mask of their neighbours, which may include squares of the mask itself.
+     */
+    public static long neighbours(long mask) {
+        long result = 0;
+        for (int direction = 0; direction < SHIFTS.length; direction++) {
+            result |= shift(mask, direction);
+        }
+        return result;
+    }
+
+    /**
+     * Computes pieces of a player that can never be flipped again, whatever is played.
+     * A piece is stable when, along each of the 4 lines through it, the line is full,
+     * or one of its two neighbours on the line is off the board or another stable piece of the player.
+     * The result is a subset of the really stable pieces, found by growing the stable pieces from the edges.
+     *
+     * @param own The pieces of the player.
+     * @param opp The pieces of the opponent.
+     * @return The mask of the stable pieces of the player.
+     */
+    public static long stable(long own, long opp) {
+        long filled = own | opp;
+        // Une pièce est protégée sur une ligne pleine, ou quand la ligne sort du plateau à côté d'elle
+        long horizontal = fullLines(filled, 0, 1) | FIRST_AND_LAST_COLUMNS;
+        long vertical = fullLines(filled, 1, SIZE) | FIRST_AND_LAST_ROWS;
+        long diagonal = fullLines(filled, 2, SIZE + 1) | BORDER;
+        long antiDiagonal = fullLines(filled, 3, SIZE - 1) | BORDER;
+        long stable = 0;
+        long previous;
+        do {
+            previous = stable;
+            stable = own
+                    & (horizontal | stable >>> 1 & NOT_LAST_COLUMN | stable << 1 & NOT_FIRST_COLUMN)
+                    & (vertical | stable >>> SIZE | stable << SIZE)
+                    & (diagonal | stable >>> SIZE + 1 & NOT_LAST_COLUMN | stable << SIZE + 1 & NOT_FIRST_COLUMN)
+                    & (antiDiagonal | stable >>> SIZE - 1 & NOT_FIRST_COLUMN | stable << SIZE - 1 & NOT_LAST_COLUMN);
+        } while (stable != previous);
+        return stable;
+    }
+
+    /**
+     * Finds the filled lines of an axis without going through them one by one:
+     * each square checks its neighbours at 1, then 2, then 4 steps in both directions of the line,
+     * a neighbour off the board counting as filled.
+     */
+    private static long fullLines(long filled, int axis, int shift) {
+        long forward = filled;
+        long backward = filled;
+        for (int j = 0; j < 3; j++) {
+            int distance = shift << j;
+            forward &= forward >>> distance | BEYOND[axis * 6 + 2 * j];
+            backward &= backward << distance | BEYOND[axis * 6 + 2 * j + 1];
+        }
+        return forward & backward;
+    }
+
+    /**
+     * Computes the mask of the valid moves of a player.
+     *
+     * @param own The pieces of the player to move.
+     * @param opp The pieces of the opponent.
+     * @return The mask of the empty squares where the player can move.
+     */
+    public static long moves(long own, long opp) {
+        // Les pions adverses des colonnes du bord ne peuvent pas être pris horizontalement : sans eux, rien ne déborde
+        long inner = opp & INNER_COLUMNS;
+        long moves = movesAlong(own, opp, 8) | movesAlong(own, opp, -8)
+                | movesAlong(own, inner, 1) | movesAlong(own, inner, -1)
+                | movesAlong(own, inner, 9) | movesAlong(own, inner, -9)
+                | movesAlong(own, inner, 7) | movesAlong(own, inner, -7);
+        return moves & ~(own | opp);
+    }
+
+    /**
+     * Computes the squares from which a run of opponent's pieces leads to a piece of the player, for one shift.
+     * The shifts are constants, so that each call compiles to straight-line code.
+     */
+    private static long movesAlong(long own, long opp, int shift) {
+        long run = step(own, shift) & opp;
+        run |= step(run, shift) & opp;
+        run |= step(run, shift) & opp;
+        run |= step(run, shift) & opp;
+        run |= step(run, shift) & opp;
+        run |= step(run, shift) & opp;
+        return step(run, shift);
+    }
+
+    /**
+     * Counts the pieces a player captures by playing on the last empty square of the board.
+     * With every other square taken, the pieces between the move and the nearest piece of the player on a line
+     * all belong to the opponent, so each line is resolved by a table indexed by the pieces of the player.
+     *
+     * @param own    The pieces of the player; every square but the move belongs to one of the players.
+     * @param square The only empty square.
+     * @return The number of captured pieces, 0 if the move is not valid.
+     */
+    public static int lastFlipCount(long own, int square) {
+        int base = square * AXES.length;
+        return LAST_FLIPS[SQUARE_OFFSETS[base] | (int) Long.compress(own, SQUARE_LINES[base])]
+                + LAST_FLIPS[SQUARE_OFFSETS[base + 1] | (int) Long.compress(own, SQUARE_LINES[base + 1])]
+                + LAST_FLIPS[SQUARE_OFFSETS[base + 2] | (int) Long.compress(own, SQUARE_LINES[base + 2])]
+                + LAST_FLIPS[SQUARE_OFFSETS[base + 3] | (int) Long.compress(own, SQUARE_LINES[base + 3])];
+    }
+
+    /**
+     * Computes the opponent's pieces captured by a piece of the player on the specified square.
+     *
+     * @param own    The pieces of the player to move.
+     * @param opp    The pieces of the opponent.
+     * @param square The square of the move.
+     * @return The mask of the captured pieces.
+     */
+    public static long flips(long own, long opp, int square) {
+        int base = square * AXES.length;
+        return flipsOnLine(own, opp, SQUARE_LINES[base], SQUARE_OFFSETS[base])
+                | flipsOnLine(own, opp, SQUARE_LINES[base + 1], SQUARE_OFFSETS[base + 1])
+                | flipsOnLine(own, opp, SQUARE_LINES[base + 2], SQUARE_OFFSETS[base + 2])
+                | flipsOnLine(own, opp, SQUARE_LINES[base + 3], SQUARE_OFFSETS[base + 3]);
+    }
+
+    /**
+     * Computes the pieces captured on one line through the move: the pieces of the line are packed into a byte,
+     * resolved by the tables of the place of the move, then spread back onto the board.
+     */
+    private static long flipsOnLine(long own, long opp, long line, int offset) {
+        int outflanks = OUTFLANKS[offset | (int) Long.compress(opp, line)] & (int) Long.compress(own, line);
+        return Long.expand(CAPTURES[offset | outflanks] & 0xFF, line);
+    }
+
+    private static long step(long mask, int shift) {
+        return shift > 0 ? mask << shift : mask >>> -shift;
+    }
+
+    private static long flipsInDirection(long own, long opp, long move, int direction) {
+        long captured = 0;
+        long current = shift(move, direction);
+        while ((current & opp) != 0) {
+            captured |= current;
+            current = shift(current, direction);
+        }
+        return (current & own) != 0 ? captured : 0;
+    }
+
+    /**
+     * Gets the mask of the pieces of the specified color.
+     *
+     * @param color The color of the pieces.
+     * @return The mask of the pieces of this color.
+     */
+    public long getBits(Color color) {
+        return color == Color.BLACK ? black : white;
+    }
+
+    @Override
+    public int getSize() {
+        return SIZE;
+    }
+
+    @Override
+    public Color getColor(int square) {
+        long bit = 1L << square;
+        if ((black & bit) != 0) {
+            return Color.BLACK;
+        }
+        if ((white & bit) != 0) {
+            return Color.WHITE;
+        }
+        return null;
+    }
+
+    @Override
+    public void setColor(int square, Color color) {
+        long bit = 1L << square;
+        black &= ~bit;
+        white &= ~bit;
+        if (color == Color.BLACK) {
+            black |= bit;
+        } else if (color == Color.WHITE) {
+            white |= bit;
+        }
+    }
+
+    @Override
+    public int count(Color color) {
+        return Long.bitCount(getBits(color));
+    }
+
+    @Override
+    public boolean isValidMove(int square, Color color) {
+        return ((black | white) & 1L << square) == 0 && capturesOpponent(square, color);
+    }
+
+    @Override
+    public boolean capturesOpponent(int square, Color color) {
+        return flips(getBits(color), getBits(color.getOpposite()), square) != 0;
+    }
+
+    @Override
+    public boolean capturesInDirection(int square, Color color, Direction direction) {
+        return flipsInDirection(getBits(color), getBits(color.getOpposite()), 1L << square, direction.ordinal()) != 0;
+    }
+
+    @Override
+    public boolean hasValidMove(Color color) {
+        return moves(getBits(color), getBits(color.getOpposite())) != 0;
+    }
+
+    /**
+     * Gets the mask of the valid moves of a player.
+     *
+     * @param color The color of the player.
+     * @return The mask of the squares where the player can move.
+     */
+    public long getMoveMask(Color color) {
+        return moves(getBits(color), getBits(color.getOpposite()));
+    }
+
+    @Override
+    public int getPossibleMoves(Color color, int[] moves) {
+        long mask = getMoveMask(color);
+        int count = 0;
+        while (mask != 0) {
+            moves[count++] = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+        }
+        return count;
+    }
+
+    @Override
+    public int flip(int square, Color color, int[] flipped) {
+        long flips = flips(getBits(color), getBits(color.getOpposite()), square);
+        if (color == Color.BLACK) {
+            black |= flips;
+            white &= ~flips;
+        } else {
+            white |= flips;
+            black &= ~flips;
+        }
+        int count = Long.bitCount(flips);
+        if (flipped != null) {
+            for (int i = 0; flips != 0; i++) {
+                flipped[i] = Long.numberOfTrailingZeros(flips);
+                flips &= flips - 1;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public BitBoard copy() {
+        return new BitBoard8(black, white);
+    }
+}
@@ -0,0 +1,264 @@
+package g61562.atl.othello.model;
+
+import java.util.Arrays;
+
+/**
+ * The BitBoardN class is the multi-word bitboard used for the board sizes other than 8x8.
+ * Each row is stored on {@code size + 1} bits: the extra column is always empty, so that a piece shifted
+ * off the side of the board lands on it and is dropped by the mask of the valid squares.
+ * The pieces captured by a move are found by walking the precomputed {@link Rays} of its square.
+ * The scratch arrays make move generation allocation-free, so an instance must not be shared between threads.
+ */
+final class BitBoardN extends BitBoard {
+    private final int size;
+    private final int width;
+    private final int[] steps;
+    private final Rays rays;
+    private final int[] rayBits;
+    private final int[] raySquares;
+    private final long[] valid;
+    private final long[] black;
+    private final long[] white;
+    private final long[] candidates;
+    private final long[] shifted;
+    private final long[] moves;
+
+    BitBoardN(int size) {
+        this.size = size;
+        this.width = size + 1;
+        this.rays = Rays.forSize(size);
+        this.rayBits = rays.bits();
+        this.raySquares = rays.squares();
+        int words = (size * width + Long.SIZE - 1) / Long.SIZE;
+        this.steps = new int[Direction.values().length];
+        for (Direction direction : Direction.values()) {
+            steps[direction.ordinal()] = direction.getDx() * width + direction.getDy();
+        }
+        this.valid = new long[words];
+        for (int square = 0; square < size * size; square++) {
+            int bit = toBit(square);
+            valid[bit >>> 6] |= 1L << bit;
+        }
+        this.black = new long[words];
+        this.white = new long[words];
+        this.candidates = new long[words];
+        this.shifted = new long[words];
+        this.moves = new long[words];
+    }
+
+    /**
+     * Constructs a copy of a board, sharing its tables, which never change.
+     *
+     * @param other The board to copy.
+     */
+    private BitBoardN(BitBoardN other) {
+        this.size = other.size;
+        this.width = other.width;
+        this.steps = other.steps;
+        this.rays = other.rays;
+        this.rayBits = other.rayBits;
+        this.raySquares = other.raySquares;
+        this.valid = other.valid;
+        this.black = other.black.clone();
+        this.white = other.white.clone();
+        this.candidates = new long[valid.length];
+        this.shifted = new long[valid.length];
+        this.moves = new long[valid.length];
+    }
+
+    private int toBit(int square) {
+        return square + square / size;
+    }
+
+    private static boolean testBit(long[] mask, int bit) {
+        return (mask[bit >>> 6] & 1L << bit) != 0;
+    }
+
+    /**
+     * Shifts a mask by the specified number of bits, dropping the bits leaving the board.
+     *
+     * @param source      The mask to shift.
+     * @param shift       The number of bits, positive towards the higher squares.
+     * @param destination The array receiving the shifted mask.
+     */
+    private void shift(long[] source, int shift, long[] destination) {
+        int words = source.length;
+        if (shift > 0) {
+            for (int i = words - 1; i >= 0; i--) {
+                long carry = i > 0 ? source[i - 1] >>> (Long.SIZE - shift) : 0;
+                destination[i] = (source[i] << shift | carry) & valid[i];
+            }
+        } else {
+            int k = -shift;
+            for (int i = 0; i < words; i++) {
+                long carry = i + 1 < words ? source[i + 1] << (Long.SIZE - k) : 0;
+                destination[i] = (source[i] >>> k | carry) & valid[i];
+            }
+        }
+    }
+
+    /**
+     * Computes the valid moves of a player into the moves scratch array.
+     *
+     * @return True if the player has at least one valid move.
+     */
+    private boolean generateMoves(long[] own, long[] opp) {
+        int words = own.length;
+        Arrays.fill(moves, 0);
+        for (int step : steps) {
+            shift(own, step, candidates);
+            for (int i = 0; i < words; i++) {
+                candidates[i] &= opp[i];
+            }
+            for (int run = 0; run < size - 3; run++) {
+                shift(candidates, step, shifted);
+                for (int i = 0; i < words; i++) {
+                    candidates[i] |= shifted[i] & opp[i];
+                }
+            }
+            shift(candidates, step, shifted);
+            for (int i = 0; i < words; i++) {
+                moves[i] |= shifted[i];
+            }
+        }
+        boolean any = false;
+        for (int i = 0; i < words; i++) {
+            moves[i] &= ~(own[i] | opp[i]);
+            any |= moves[i] != 0;
+        }
+        return any;
+    }
+
+    private long[] bits(Color color) {
+        return color == Color.BLACK ? black : white;
+    }
+
+    /**
+     * Counts the opponent's pieces captured along a ray.
+     *
+     * @param ray The index of the ray.
+     * @return The number of captured pieces, 0 if the line is not closed by a piece of the player.
+     */
+    private int capturesAlong(long[] own, long[] opp, int ray) {
+        int start = rays.start(ray);
+        int end = rays.start(ray + 1);
+        int current = start;
+        while (current < end && testBit(opp, rayBits[current])) {
+            current++;
+        }
+        return current > start && current < end && testBit(own, rayBits[current]) ? current - start : 0;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public Color getColor(int square) {
+        int bit = toBit(square);
+        if (testBit(black, bit)) {
+            return Color.BLACK;
+        }
+        if (testBit(white, bit)) {
+            return Color.WHITE;
+        }
+        return null;
+    }
+
+    @Override
+    public void setColor(int square, Color color) {
+        int bit = toBit(square);
+        long mask = 1L << bit;
+        int word = bit >>> 6;
+        black[word] &= ~mask;
+        white[word] &= ~mask;
+        if (color == Color.BLACK) {
+            black[word] |= mask;
+        } else if (color == Color.WHITE) {
+            white[word] |= mask;
+        }
+    }
+
+    @Override
+    public int count(Color color) {
+        int count = 0;
+        for (long word : bits(color)) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isValidMove(int square, Color color) {
+        int bit = toBit(square);
+        return !testBit(black, bit) && !testBit(white, bit) && capturesOpponent(square, color);
+    }
+
+    @Override
+    public boolean capturesOpponent(int square, Color color) {
+        long[] own = bits(color);
+        long[] opp = bits(color.getOpposite());
+        int first = Rays.index(square, 0);
+        for (int direction = 0; direction < steps.length; direction++) {
+            if (capturesAlong(own, opp, first + direction) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean capturesInDirection(int square, Color color, Direction direction) {
+        return capturesAlong(bits(color), bits(color.getOpposite()), Rays.index(square, direction.ordinal())) > 0;
+    }
+
+    @Override
+    public boolean hasValidMove(Color color) {
+        return generateMoves(bits(color), bits(color.getOpposite()));
+    }
+
+    @Override
+    public int getPossibleMoves(Color color, int[] buffer) {
+        if (!generateMoves(bits(color), bits(color.getOpposite()))) {
+            return 0;
+        }
+        int count = 0;
+        for (int word = 0; word < moves.length; word++) {
+            long mask = moves[word];
+            while (mask != 0) {
+                int bit = word * Long.SIZE + Long.numberOfTrailingZeros(mask);
+                buffer[count++] = bit - bit / width;
+                mask &= mask - 1;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int flip(int square, Color color, int[] flipped) {
+        long[] own = bits(color);
+        long[] opp = bits(color.getOpposite());
+        int first = Rays.index(square, 0);
+        int total = 0;
+        for (int direction = 0; direction < steps.length; direction++) {
+            int count = capturesAlong(own, opp, first + direction);
+            int start = rays.start(first + direction);
+            for (int i = start; i < start + count; i++) {
+                long mask = 1L << rayBits[i];
+                own[rayBits[i] >>> 6] |= mask;
+                opp[rayBits[i] >>> 6] &= ~mask;
+                if (flipped != null) {
+                    flipped[total] = raySquares[i];
+                }
+                total++;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public BitBoard copy() {
+        return new BitBoardN(this);
+    }
+}
@@ -1,5 +1,7 @@
 package g61562.atl.othello.model;
 
+import java.util.Arrays;
+
 /**
  * The Board class represents the game board for Othello.
  * It contains methods to manage the board, such as initializing the board, validating size, getting color at a position,
@@ -9,7 +11,15 @@ public class Board {
     private static final int DEFAULT_SIZE = 8;
     private static final int MIN_SIZE = 4;
     private static final int MAX_SIZE = 14;
-    private final Color[][] board;
+    private final int size;
+    private final BitBoard bits;
+    private final int[] flipBuffer;
+    private int blackCount;
+    private int whiteCount;
+    private long version;
+    private final long[] changed;
+    private final int[] changedSquares;
+    private int changedCount;
 
     /**
      * Constructs a board with the default size.
@@ -26,10 +36,29 @@ public class Board {
      */
     Board(int size) {
         validateSize(size);
-        this.board = new Color[size][size];
+        this.size = size;
+        this.bits = BitBoard.create(size);
+        this.flipBuffer = new int[size * size];
+        this.changed = new long[(size * size + 63) / 64];
+        this.changedSquares = new int[size * size];
         initBoard();
     }
 
+    /**
+     * Constructs an independent copy of a board.
+     *
+     * @param other The board to copy.
+     */
+    Board(Board other) {
+        this.size = other.size;
+        this.bits = other.bits.copy();
+        this.flipBuffer = new int[size * size];
+        this.changed = new long[other.changed.length];
+        this.changedSquares = new int[size * size];
+        this.blackCount = other.blackCount;
+        this.whiteCount = other.whiteCount;
+    }
+
     private void validateSize(int size) {
         if (size < MIN_SIZE || size > MAX_SIZE) {
             throw new IllegalArgumentException("The size of board must be between " + MIN_SIZE + " and " + MAX_SIZE + "!");
@@ -37,28 +66,114 @@ public class Board {
     }
 
     private void initBoard() {
-        int size = board.length;
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                board[i][j] = null;
-            }
-        }
         int mid = size / 2;
-        board[mid - 1][mid - 1] = Color.WHITE;
-        board[mid - 1][mid] = Color.BLACK;
-        board[mid][mid - 1] = Color.BLACK;
-        board[mid][mid] = Color.WHITE;
+        setColor(mid - 1, mid - 1, Color.WHITE);
+        setColor(mid - 1, mid, Color.BLACK);
+        setColor(mid, mid - 1, Color.BLACK);
+        setColor(mid, mid, Color.WHITE);
     }
 
     public Color getColor(int row, int col) {
-        if (row < 0 || row >= board.length || col < 0 || col >= board[0].length) {
+        return bits.getColor(toSquare(row, col));
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of pieces of the specified color, kept up to date as pieces are placed and flipped.
+     *
+     * @param color The color of the pieces.
+     * @return The number of pieces of this color on the board.
+     */
+    public int count(Color color) {
+        return color == Color.BLACK ? blackCount : whiteCount;
+    }
+
+    /**
+     * Gets the number of empty squares of the board.
+     *
+     * @return The number of empty squares.
+     */
+    public int emptyCount() {
+        return size * size - blackCount - whiteCount;
+    }
+
+    /**
+     * Converts a position to its packed square index, {@code row * size + col}.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @return The packed square index.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    public int toSquare(int row, int col) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
             throw new IllegalArgumentException("Invalid position!");
         }
-        return board[row][col];
+        return row * size + col;
     }
 
-    public int getSize() {
-        return board.length;
+    /**
+     * Converts a packed square index back to a position.
+     *
+     * @param square The packed square index.
+     * @return The position of the square.
+     */
+    public Position toPosition(int square) {
+        return new Position(square / size, square % size);
+    }
+
+    /**
+     * Creates an independent copy of the bitboard of this board.
+     * Searches play their moves on such a copy, without touching the game.
+     *
+     * @return A copy of the bitboard of this board.
+     */
+    public BitBoard copyBits() {
+        return bits.copy();
+    }
+
+    /**
+     * Gets the version of the board, increased every time a square changes.
+     *
+     * @return The version of the board.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Moves the squares changed since the last call to a buffer and starts a new list of changes.
+     * A square changed several times is reported once.
+     *
+     * @param squares The buffer receiving the packed square indexes, of length at least {@code size * size}.
+     * @return The number of changed squares.
+     */
+    int drainChanges(int[] squares) {
+        int count = changedCount;
+        System.arraycopy(changedSquares, 0, squares, 0, count);
+        Arrays.fill(changed, 0);
+        changedCount = 0;
+        return count;
+    }
+
+    private void markChanged(int square) {
+        long bit = 1L << square;
+        if ((changed[square >>> 6] & bit) == 0) {
+            changed[square >>> 6] |= bit;
+            changedSquares[changedCount++] = square;
+        }
+    }
+
+    /**
+     * Gets the bitboard holding the pieces of this board.
+     *
+     * @return The bitboard of this board.
+     */
+    BitBoard getBits() {
+        return bits;
     }
 
     /**
@@ -69,7 +184,7 @@ public class Board {
      * @param color The color of the piece to be added.
      */
     void addPiece(int row, int col, Color color) {
-        board[row][col] = color;
+        setSquare(toSquare(row, col), color);
     }
 
     /**
@@ -80,9 +195,64 @@ public class Board {
      * @param color The color to be set.
      */
     void setColor(int row, int col, Color color) {
-        board[row][col] = color;
+        setSquare(toSquare(row, col), color);
     }
 
+    /**
+     * Flips the opponent's pieces captured by a piece of the specified color at the specified position.
+     *
+     * @param row   The row index.
+     * @param col   The column index.
+     * @param color The color of the capturing player.
+     * @return The packed square indexes of the flipped pieces.
+     */
+    int[] flip(int row, int col, Color color) {
+        int count = bits.flip(toSquare(row, col), color, flipBuffer);
+        version++;
+        for (int i = 0; i < count; i++) {
+            markChanged(flipBuffer[i]);
+        }
+        if (color == Color.BLACK) {
+            blackCount += count;
+            whiteCount -= count;
+        } else {
+            whiteCount += count;
+            blackCount -= count;
+        }
+        return Arrays.copyOf(flipBuffer, count);
+    }
 
+    /**
+     * Sets the color of several squares at once.
+     *
+     * @param squares The packed square indexes.
+     * @param color   The color to be set.
+     */
+    void setColors(int[] squares, Color color) {
+        for (int square : squares) {
+            setSquare(square, color);
+        }
+    }
+
+    private void setSquare(int square, Color color) {
+        Color previous = bits.getColor(square);
+        if (previous == color) {
+            return;
+        }
+        bits.setColor(square, color);
+        version++;
+        markChanged(square);
+        // Les compteurs suivent chaque changement de case
+        if (previous == Color.BLACK) {
+            blackCount--;
+        } else if (previous == Color.WHITE) {
+            whiteCount--;
+        }
+        if (color == Color.BLACK) {
+            blackCount++;
+        } else if (color == Color.WHITE) {
+            whiteCount++;
+        }
+    }
 }
 
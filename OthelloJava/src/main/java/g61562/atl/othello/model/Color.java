@@ -8,7 +8,7 @@ public enum Color {
     WHITE,
     BLACK;
 
-    Color getOpposite() {
+    public Color getOpposite() {
         return this == WHITE ? BLACK : WHITE;
     }
 }
@@ -1,31 +1,51 @@
 package g61562.atl.othello.model;
 
 import g61562.atl.othello.strategy.*;
-import g61562.atl.othello.utils.Command;
 import g61562.atl.othello.utils.CommandManager;
 import g61562.atl.othello.utils.Observable;
 import g61562.atl.othello.utils.Observer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Represents the game logic for Othello.
  * This class manages the game state, including the board, players, and game rules.
  */
 public class Game implements Observable {
+    private static final int EXPERT_DEPTH = 4;
+    private static final int MASTER_DEPTH = 20;
+    private static final long MASTER_TIME_BUDGET = 2000;
+    private static final int MASTER_TABLE_SIZE_MB = 64;
+    private static final int MASTER_ENDGAME_EMPTIES = 18;
     private final Board board;
+    private final LegalMoveCache legalMoves;
+    private final int[] changedSquares;
+    private int changedCount;
     private Color currentPlayer;
     private ComputerAdversary opponentAdversary;
     private final Level level;
-    private int whiteCount;
-    private int blackCount;
     private int whiteCountCummulatif =2;
     private int blackCountCummulatif =2;
     private final CommandManager commandManager;
     private final List<Observer> observers;
+    private final List<GameListener> listeners;
+    private Executor eventExecutor;
+    private int changeDepth;
+    private boolean burstOpen;
+    private boolean notificationScheduled;
+    private int[] burstMoves;
+    private int burstMoveCount;
+    private int burstUndone;
+    private int burstRedone;
+    private int burstBlackCount;
+    private int burstWhiteCount;
     private final boolean againstComputer;
     private boolean giveUp;
+    private BackgroundComputer backgroundComputer;
+    private final boolean ownsAdversary;
 
     /**
      * Initializes a new instance of the Game class with default settings.
@@ -42,17 +62,123 @@ public class Game implements Observable {
      * @param againstComputer Indicates whether the game is against a computer opponent.
      */
     public Game(int size, Level level, boolean againstComputer) {
+        this(size, level, againstComputer, createAdversary(level), true);
+    }
+
+    /**
+     * Initializes a new game against the specified computer strategy, for instance one shared between games.
+     * The strategy belongs to the caller: closing the game does not close it.
+     *
+     * @param size     The size of the board.
+     * @param level    The level of difficulty of the strategy, or null.
+     * @param opponent The strategy playing the white pieces.
+     */
+    public Game(int size, Level level, ComputerAdversary opponent) {
+        this(size, level, true, opponent, false);
+    }
+
+    private Game(int size, Level level, boolean againstComputer, ComputerAdversary opponent, boolean ownsAdversary) {
         this.board = new Board(size);
+        this.legalMoves = new LegalMoveCache(board);
+        this.changedSquares = new int[size * size];
+        board.drainChanges(changedSquares); // La position initiale n'est pas un changement
         this.currentPlayer = Color.BLACK;
         this.level = level;
         this.againstComputer = againstComputer;
         this.commandManager = new CommandManager();
+        this.opponentAdversary = opponent;
+        this.ownsAdversary = ownsAdversary;
+        this.observers = new ArrayList<>();
+        this.listeners = new ArrayList<>();
+        this.burstMoves = new int[2];
+    }
+
+    /**
+     * Creates the computer strategy of a level of difficulty.
+     *
+     * @param level The level of difficulty, or null.
+     * @return A new strategy for this level, or null if no level is given.
+     */
+    public static ComputerAdversary createAdversary(Level level) {
         if (level == Level.EASY) {
-            opponentAdversary = new RandomComputerAdversary();
+            return new RandomComputerAdversary();
         } else if (level == Level.HARD) {
-            opponentAdversary = new HardComputerAdversary();
+            return new HardComputerAdversary();
+        } else if (level == Level.EXPERT) {
+            AlphaBetaComputerAdversary expert = new AlphaBetaComputerAdversary(EXPERT_DEPTH, 0);
+            expert.setOpeningBook(OpeningBook.configured());
+            expert.setTablebase(Tablebase.configured());
+            return expert;
+        } else if (level == Level.MASTER) {
+            AlphaBetaComputerAdversary master = new AlphaBetaComputerAdversary(MASTER_DEPTH, MASTER_TIME_BUDGET,
+                    MASTER_TABLE_SIZE_MB, Runtime.getRuntime().availableProcessors());
+            master.setEndgameEmpties(MASTER_ENDGAME_EMPTIES);
+            master.setOpeningBook(OpeningBook.configured());
+            master.setTablebase(Tablebase.configured());
+            return master;
         }
+        return null;
+    }
+
+    /**
+     * Constructs a snapshot of a game for the computer to search: it shares the opponent strategy
+     * but has its own board, no history, no observers and never plays by itself.
+     *
+     * @param other The game to copy.
+     */
+    private Game(Game other) {
+        this.board = new Board(other.board);
+        this.legalMoves = new LegalMoveCache(board);
+        this.changedSquares = new int[board.getSize() * board.getSize()];
+        this.currentPlayer = other.currentPlayer;
+        this.level = other.level;
+        this.againstComputer = false;
+        this.commandManager = new CommandManager();
+        this.opponentAdversary = other.opponentAdversary;
+        this.ownsAdversary = false;
+        this.whiteCountCummulatif = other.whiteCountCummulatif;
+        this.blackCountCummulatif = other.blackCountCummulatif;
         this.observers = new ArrayList<>();
+        this.listeners = new ArrayList<>();
+        this.burstMoves = new int[2];
+    }
+
+    /**
+     * Makes the computer opponent search its moves on a background thread instead of inside {@link #addPiece}.
+     * The chosen move is then played through the specified executor, on the thread that owns the game.
+     *
+     * @param applyExecutor The executor playing the moves of the computer, such as {@code Platform::runLater}.
+     */
+    public void playComputerInBackground(Executor applyExecutor) {
+        if (backgroundComputer != null) {
+            backgroundComputer.shutdown(null);
+        }
+        backgroundComputer = new BackgroundComputer(applyExecutor);
+    }
+
+    /**
+     * Checks if the computer opponent is searching its move in the background.
+     * The human player must not play until it is done.
+     *
+     * @return True if the computer is thinking, otherwise false.
+     */
+    public boolean isComputerThinking() {
+        return backgroundComputer != null && backgroundComputer.isThinking();
+    }
+
+    /**
+     * Stops the background search of the computer, if any, and closes the computer strategy created by the game,
+     * releasing its tables. The game must not be played anymore afterwards.
+     */
+    public void close() {
+        // Une stratégie fournie par l'appelant, éventuellement partagée, reste ouverte
+        Runnable release = ownsAdversary && opponentAdversary != null ? opponentAdversary::close : null;
+        if (backgroundComputer != null) {
+            backgroundComputer.shutdown(release);
+            backgroundComputer = null;
+        } else if (release != null) {
+            release.run();
+        }
     }
 
 
@@ -90,7 +216,7 @@ public class Game implements Observable {
      * @return True if the move is valid, otherwise false.
      */
     public boolean isValidMove(int row, int col, Color color) {
-        return !isOccupied(row, col) && capturesOpponent(row, col, color);
+        return legalMoves.isValidMove(board.toSquare(row, col), color);
     }
 
     /**
@@ -102,12 +228,7 @@ public class Game implements Observable {
      * @return True if the current player can capture an opponent's piece in any direction, otherwise false.
      */
     public boolean capturesOpponent(int row, int col, Color currentPlayerColor) { //public for test
-        for (Direction direction : Direction.values()) {
-            if (capturesInDirection(row, col, currentPlayerColor, direction)) {
-                return true;
-            }
-        }
-        return false;
+        return board.getBits().capturesOpponent(board.toSquare(row, col), currentPlayerColor);
     }
 
     /**
@@ -120,80 +241,9 @@ public class Game implements Observable {
      * @return True if the current player can capture an opponent's piece in the specified direction, otherwise false.
      */
     public boolean capturesInDirection(int row, int col, Color currentPlayerColor, Direction direction) {
-        Color opponentColor = currentPlayerColor.getOpposite();
-        return exploreDirection(row, col, currentPlayerColor, direction);
-    }
-
-    /**
-     * Calculates the next position in the specified direction from the current position.
-     *
-     * @param currentPosition The current position.
-     * @param direction       The direction to explore.
-     * @return The next position in the specified direction.
-     */
-    private Position getNextPosition(Position currentPosition, Direction direction) {
-        int size = board.getSize();
-        int x = currentPosition.getRow() + direction.getDx();
-        int y = currentPosition.getCol() + direction.getDy();
-
-        return new Position(x, y);
-    }
-
-    /**
-     * Checks if an opponent's piece is found at the specified position.
-     *
-     * @param currentPosition The position to check.
-     * @param opponentColor   The color of the opponent's pieces.
-     * @return True if an opponent's piece is found, otherwise false.
-     */
-
-    private boolean isOpponentPieceFound(Position currentPosition, Color opponentColor) {
-        return board.getColor(currentPosition.getRow(), currentPosition.getCol()) == opponentColor;
-    }
-
-    /**
-     * Checks if the current player's piece is found at the specified position.
-     *
-     * @param currentPosition    The position to check.
-     * @param currentPlayerColor The color of the current player's pieces.
-     * @return True if the current player's piece is found, otherwise false.
-     */
-    private boolean isCurrentPlayerPieceFound(Position currentPosition, Color currentPlayerColor) {
-        return board.getColor(currentPosition.getRow(), currentPosition.getCol()) == currentPlayerColor;
+        return board.getBits().capturesInDirection(board.toSquare(row, col), currentPlayerColor, direction);
     }
 
-    /**
-     * Explores the specified direction from the given position to determine if opponent's pieces are captured.
-     *
-     * @param row                The row index of the starting position.
-     * @param col                The column index of the starting position.
-     * @param currentPlayerColor The color of the current player's pieces.
-     * @param direction          The direction to explore.
-     * @return True if opponent's pieces are captured in the specified direction, otherwise false.
-     */
-    private boolean exploreDirection(int row, int col, Color currentPlayerColor, Direction direction) {
-        int size = board.getSize();
-        Position currentPosition = new Position(row + direction.getDx(), col + direction.getDy());
-        boolean foundOpponentPiece = false;
-        while (currentPosition.getRow() >= 0 && currentPosition.getRow() < size &&
-                currentPosition.getCol() >= 0 && currentPosition.getCol() < size) {
-            if (board.getColor(currentPosition.getRow(), currentPosition.getCol()) == null) {
-                break; // Case vide
-            } else if (isCurrentPlayerPieceFound(currentPosition, currentPlayerColor)) {
-                if (foundOpponentPiece) {
-                    return true;
-                } else {
-                    break; // Pas de capture dans cette direction
-                }
-            } else if (isOpponentPieceFound(currentPosition, currentPlayerColor.getOpposite())) {
-                foundOpponentPiece = true;
-            }
-            currentPosition = getNextPosition(currentPosition, direction);
-        }
-        return false;
-    }
-
-
     /**
      * Checks if there is a piece occupied at the specified position.
      *
@@ -226,7 +276,7 @@ public class Game implements Observable {
      * @return The count of white pieces.
      */
     public int getWhiteCount() {
-        return whiteCount;
+        return board.count(Color.WHITE);
     }
 
     /**
@@ -235,7 +285,7 @@ public class Game implements Observable {
      * @return The count of black pieces.
      */
     public int getBlackCount() {
-        return blackCount;
+        return board.count(Color.BLACK);
     }
 
     /**
@@ -246,11 +296,19 @@ public class Game implements Observable {
      * @param color The color of the piece to be added.
      */
     public void addPiece(int row, int col, Color color) {
-        Command commandAd = new AddCommand(row, col, getCurrentPlayer(), getBoard(), this);
-        commandManager.add(commandAd);
-        changeColor(row, col, color);
-        switchPlayer();
-        notifyObservers();
+        beginChanges();
+        try {
+            if (burstMoveCount == burstMoves.length) {
+                burstMoves = Arrays.copyOf(burstMoves, 2 * burstMoveCount);
+            }
+            burstMoves[burstMoveCount++] = board.toSquare(row, col);
+            AddCommand commandAd = new AddCommand(row, col, getCurrentPlayer(), color, getBoard(), this);
+            commandManager.add(commandAd);
+            updateCumulativeCount(commandAd.getFlippedCount(), color);
+            switchPlayer();
+        } finally {
+            endChanges();
+        }
     }
 
     /**
@@ -269,22 +327,17 @@ public class Game implements Observable {
     }
 
     /**
-     * Updates the score by counting the number of white and black pieces on the board.
-     * This method iterates through each cell on the board, checks its color, and updates the respective count.
+     * Lets the computer play, in the background if {@link #playComputerInBackground} was called.
      */
-    public void updateScore() {
-        int size = getBoard().getSize();
-        whiteCount = 0;
-        blackCount = 0;
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                Color color = getBoard().getColor(row, col);
-                if (color == Color.WHITE) {
-                    whiteCount++;
-                } else if (color == Color.BLACK) {
-                    blackCount++;
+    private void requestComputerMove() {
+        if (backgroundComputer == null) {
+            playAgainstComputer();
+        } else if (!isGameOver()) {
+            backgroundComputer.request(new Game(this), Color.WHITE, move -> {
+                if (move != null) {
+                    addPiece(move.getRow(), move.getCol(), Color.WHITE);
                 }
-            }
+            });
         }
     }
 
@@ -312,13 +365,8 @@ public class Game implements Observable {
      * @return The color of the winning player (Color.WHITE or Color.BLACK), or null if it's a tie.
      */
     public Color getWinner() {
-        int whiteCount = 0, blackCount = 0;
-        for (int i = 0; i < board.getSize(); i++) {
-            for (int j = 0; j < board.getSize(); j++) {
-                if (board.getColor(i, j) == Color.WHITE) whiteCount++;
-                else if (board.getColor(i, j) == Color.BLACK) blackCount++;
-            }
-        }
+        int whiteCount = board.count(Color.WHITE);
+        int blackCount = board.count(Color.BLACK);
         if (whiteCount > blackCount) return Color.WHITE;
         else if (blackCount > whiteCount) return Color.BLACK;
         else return null;
@@ -351,7 +399,6 @@ public class Game implements Observable {
         } else {
             switchComputer();
         }
-        updateScore();
     }
 
     /**
@@ -361,7 +408,7 @@ public class Game implements Observable {
         if ((currentPlayer == Color.BLACK && hasValidMove(Color.WHITE))
                 || (currentPlayer == Color.WHITE && !hasValidMove(Color.BLACK))) {
             currentPlayer = Color.WHITE;
-            playAgainstComputer();
+            requestComputerMove();
         } else if ((currentPlayer == Color.BLACK && !hasValidMove(Color.WHITE)
                 || (currentPlayer == Color.WHITE && hasValidMove(Color.BLACK)))) {
             currentPlayer = Color.BLACK;
@@ -388,83 +435,21 @@ public class Game implements Observable {
      * @return True if the player has valid moves, otherwise false.
      */
     public boolean hasValidMove(Color color) {
-        int size = getBoard().getSize();
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (isValidMove(row, col, color)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return legalMoves.hasValidMove(color);
     }
 
     /**
-     * Changes the color of opponent's pieces to the current player's color based on the rules of Othello.
+     * Updates the cumulative counts after a move, with the piece added and the opponent's pieces it captured.
      *
-     * @param row                The row index of the position to check.
-     * @param col                The column index of the position to check.
-     * @param currentPlayerColor The color of the current player.
+     * @param capturedPiecesCount The number of pieces captured by the move.
+     * @param currentPlayerColor  The color of the player who captured them.
      */
-    private void changeColor(int row, int col, Color currentPlayerColor) {
-        int size = board.getSize();
-        Color opponentColor = currentPlayerColor.getOpposite();
-        // Vérification des captures dans toutes les directions
-        captureInDirection(row, col, currentPlayerColor, size, opponentColor);
+    private void updateCumulativeCount(int capturedPiecesCount, Color currentPlayerColor) {
         if(currentPlayer == Color.BLACK) {
             blackCountCummulatif++;
         }else{
             whiteCountCummulatif++;
         }
-    }
-
-
-    private void captureInDirection(int row, int col, Color currentPlayerColor, int size, Color opponentColor) {
-        for (Direction direction : Direction.values()) {
-            int dx = direction.getDx();
-            int dy = direction.getDy();
-            boolean foundOpponentPiece = false;
-            boolean foundPlayerPiece = false;
-            // Initialisation des variables pour suivre l'exploration dans la direction donnée
-            int x = row + dx;
-            int y = col + dy;
-            // Boucle while pour explorer la direction spécifiée
-            while (x >= 0 && x < size && y >= 0 && y < size) {
-                Color color = board.getColor(x, y);
-                if (color == null) {
-                    break; // Sortir de la boucle si la case est vide
-                } else if (color == currentPlayerColor) {
-                    foundPlayerPiece = true; // Marquer qu'une pièce du joueur a été trouvée
-                    break; // Sortir de la boucle car il n'y a pas d'encerclement
-                } else if (color == opponentColor) {
-                    foundOpponentPiece = true; // Marquer qu'une pièce de l'adversaire a été trouvée
-                }
-                // Mettre à jour les coordonnées pour passer à la case suivante dans la direction spécifiée
-                x += dx;
-                y += dy;
-            }
-            if (foundPlayerPiece && foundOpponentPiece) {
-                // Si une pièce du joueur et une pièce de l'adversaire ont été trouvées, changer la couleur des pions capturés
-                changeColorOpponentCapturedPieces(row, col, currentPlayerColor, opponentColor, foundPlayerPiece, foundOpponentPiece, dx, dy);
-
-            }
-        }
-    }
-
-    private void changeColorOpponentCapturedPieces(int row, int col, Color currentPlayerColor, Color opponentColor, boolean foundPlayerPiece, boolean foundOpponentPiece, int dx, int dy) {
-        int x;
-        int y;
-        int capturedPiecesCount=0;
-        if (foundPlayerPiece && foundOpponentPiece) {
-            x = row + dx;
-            y = col + dy;
-            while (board.getColor(x, y) == opponentColor) {
-                board.setColor(x, y, currentPlayerColor);
-                x += dx;
-                y += dy;
-                capturedPiecesCount ++;
-            }
-        }
         if (currentPlayerColor == Color.WHITE) {
             whiteCountCummulatif += capturedPiecesCount;
         } else if (currentPlayerColor==Color.BLACK){
@@ -481,18 +466,28 @@ public class Game implements Observable {
      */
     //TODO: mettre dans stratégie ? dans interface
     public List<Position> getPossibleMoves(Color color) {
-        List<Position> possibleMoves = new ArrayList<>();
-        int size = board.getSize();
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                if (board.getColor(row, col) == null && isValidMove(row, col, color)) {
-                    possibleMoves.add(new Position(row, col));
-                }
-            }
+        int[] moves = new int[board.getSize() * board.getSize()];
+        int count = getPossibleMoves(color, moves);
+        List<Position> possibleMoves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            possibleMoves.add(board.toPosition(moves[i]));
         }
         return possibleMoves;
     }
 
+    /**
+     * Fills a caller-supplied buffer with the possible moves of a given player.
+     * Nothing is allocated, so this is the method to use in loops such as the computer strategies.
+     *
+     * @param color The color of the player.
+     * @param moves The buffer receiving the packed squares ({@code row * size + col}) of the moves,
+     *              of length at least {@code size * size}.
+     * @return The number of possible moves written to the buffer.
+     */
+    public int getPossibleMoves(Color color, int[] moves) {
+        return legalMoves.copyMoves(color, moves);
+    }
+
     /**
      * Chooses the opponent's move if playing against a computer opponent.
      *
@@ -509,12 +504,81 @@ public class Game implements Observable {
     }
 
     /**
-     * Notifies all observers that the game state has changed.
+     * Delays the notifications of the observers and listeners to a task of the specified executor,
+     * such as {@code Platform::runLater}: all the changes made until the task runs, typically during a frame,
+     * give a single notification.
+     * Without executor, the observers are notified at the end of every move, undo or redo,
+     * the reply of the computer included.
+     *
+     * @param executor The executor running the notifications, or null to notify at once.
+     */
+    public void setEventExecutor(Executor executor) {
+        this.eventExecutor = executor;
+    }
+
+    /**
+     * Starts a change of the game. Changes made inside another one, such as the reply of the computer
+     * played by {@link #addPiece}, belong to the same burst.
+     */
+    private void beginChanges() {
+        changeDepth++;
+        if (!burstOpen) {
+            burstOpen = true;
+            burstBlackCount = board.count(Color.BLACK);
+            burstWhiteCount = board.count(Color.WHITE);
+        }
+    }
+
+    /**
+     * Ends a change of the game, notifying the observers of the burst when the outermost change ends.
+     */
+    private void endChanges() {
+        if (--changeDepth > 0) {
+            return;
+        }
+        if (eventExecutor == null) {
+            notifyObservers();
+        } else if (!notificationScheduled) {
+            notificationScheduled = true;
+            eventExecutor.execute(this::notifyObservers);
+        }
+    }
+
+    /**
+     * Notifies all observers and listeners of the burst of changes since the previous notification.
      */
     private void notifyObservers() {
+        notificationScheduled = false;
+        if (!burstOpen || changeDepth > 0) {
+            return; // Déjà notifié, ou une modification est en cours
+        }
+        changedCount = board.drainChanges(changedSquares);
+        GameEvent event = new GameEvent(Arrays.copyOf(burstMoves, burstMoveCount), burstUndone, burstRedone,
+                Arrays.copyOf(changedSquares, changedCount), board.count(Color.BLACK) - burstBlackCount,
+                board.count(Color.WHITE) - burstWhiteCount, currentPlayer, isGameOver());
+        burstOpen = false;
+        burstMoveCount = 0;
+        burstUndone = 0;
+        burstRedone = 0;
         for (Observer observer : observers) {
             observer.update();
         }
+        for (GameListener listener : listeners) {
+            listener.gameChanged(event);
+        }
+    }
+
+    /**
+     * Copies the squares changed by the moves, undos or redos behind the current notification of the observers.
+     * Views use them to redraw only these squares.
+     *
+     * @param squares The buffer receiving the packed squares ({@code row * size + col}),
+     *                of length at least {@code size * size}.
+     * @return The number of changed squares.
+     */
+    public int getChangedSquares(int[] squares) {
+        System.arraycopy(changedSquares, 0, squares, 0, changedCount);
+        return changedCount;
     }
 
     @Override
@@ -527,36 +591,82 @@ public class Game implements Observable {
         observers.remove(observer);
     }
 
+    /**
+     * Registers a listener notified of the changes of the game with their description.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
 
     /**
      * Undoes the last move made in the game. If the game is being played against the computer, it continues undoing moves until it's the black player's turn.
-     * After undoing, updates the game score and notifies observers.
+     * After undoing, notifies observers.
      */
     public void undo() {
-        commandManager.undo();
-        if (isAgainstComputer()) {
-            while (currentPlayer != Color.BLACK) {
-                commandManager.undo();
-                updateScore();
+        if (backgroundComputer != null) {
+            backgroundComputer.cancel();
+        }
+        beginChanges();
+        try {
+            undoOne();
+            if (isAgainstComputer()) {
+                while (currentPlayer != Color.BLACK && commandManager.canUndo()) {
+                    undoOne();
+                }
             }
+        } finally {
+            endChanges();
+        }
+    }
+
+    private void undoOne() {
+        if (commandManager.canUndo()) {
+            commandManager.undo();
+            burstUndone++;
+        }
+    }
+
+    private void redoOne() {
+        if (commandManager.canRedo()) {
+            commandManager.redo();
+            burstRedone++;
         }
-        updateScore();
-        notifyObservers();
     }
 
     /**
      * Redoes the last undone move in the game. If the game is being played against the computer, it continues redoing moves until it's the black player's turn or the game is over.
-     * After redoing, updates the game score and notifies observers.
+     * If the move of the computer was not played yet, the computer is asked for it again.
+     * After redoing, notifies observers.
      */
     public void redo() {
-        commandManager.redo();
-        if (isAgainstComputer()) {
-            while (currentPlayer != Color.BLACK && !isGameOver()) {
-                commandManager.redo();
-                updateScore();
+        if (backgroundComputer != null) {
+            backgroundComputer.cancel();
+        }
+        beginChanges();
+        try {
+            redoOne();
+            if (isAgainstComputer()) {
+                while (currentPlayer != Color.BLACK && !isGameOver() && commandManager.canRedo()) {
+                    redoOne();
+                }
+            }
+            if (isAgainstComputer() && currentPlayer == Color.WHITE) {
+                requestComputerMove();
             }
+        } finally {
+            endChanges();
         }
-        updateScore();
-        notifyObservers();
     }
 }
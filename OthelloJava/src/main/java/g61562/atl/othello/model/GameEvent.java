@@ -0,0 +1,28 @@
+package g61562.atl.othello.model;
+
+/**
+ * The GameEvent class describes what changed in a game since the previous notification of its listeners.
+ * A notification covers a whole burst of changes: a move and the reply of the computer played at once,
+ * or the several steps of an undo against the computer, give a single event.
+ *
+ * @param moves          The packed squares of the moves played during the burst, in order.
+ * @param undone         The number of moves undone during the burst.
+ * @param redone         The number of moves redone during the burst.
+ * @param changedSquares The packed squares whose piece was placed, flipped or removed.
+ * @param blackDelta     The change of the number of black pieces.
+ * @param whiteDelta     The change of the number of white pieces.
+ * @param toMove         The color of the player to move after the burst.
+ * @param gameOver       True if the game is over after the burst.
+ */
+public record GameEvent(int[] moves, int undone, int redone, int[] changedSquares, int blackDelta, int whiteDelta,
+                        Color toMove, boolean gameOver) {
+
+    /**
+     * Checks if the burst changed the pieces of the board.
+     *
+     * @return True if at least one square changed.
+     */
+    public boolean changesBoard() {
+        return changedSquares.length > 0;
+    }
+}
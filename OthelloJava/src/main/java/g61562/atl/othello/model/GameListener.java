@@ -0,0 +1,15 @@
+package g61562.atl.othello.model;
+
+/**
+ * The GameListener interface represents an object notified of the changes of a game, with what changed.
+ * Unlike an {@link g61562.atl.othello.utils.Observer}, a listener does not need to read the whole game again.
+ */
+public interface GameListener {
+
+    /**
+     * Called after a burst of changes of the game.
+     *
+     * @param event The description of the changes.
+     */
+    void gameChanged(GameEvent event);
+}
@@ -0,0 +1,116 @@
+package g61562.atl.othello.model;
+
+import g61562.atl.othello.strategy.Level;
+
+import java.util.Arrays;
+
+/**
+ * The GameRecord class holds a played game: the board size, the levels of the players, the final counts
+ * and every move, passes included.
+ * Records are written to and read from files by {@link GameRecordWriter} and {@link GameRecordReader}.
+ *
+ * @param size       The size of the board.
+ * @param black      The level of the black player, or null for a human or another strategy.
+ * @param white      The level of the white player, or null for a human or another strategy.
+ * @param blackCount The number of black pieces at the end of the game.
+ * @param whiteCount The number of white pieces at the end of the game.
+ * @param moves      The packed squares of the moves, {@link #PASS} for a pass.
+ */
+public record GameRecord(int size, Level black, Level white, int blackCount, int whiteCount, int[] moves) {
+    /**
+     * The move of a player who passes.
+     */
+    public static final int PASS = -1;
+
+    /**
+     * Replays a game to build its record: the passes are found and the final counts computed.
+     * A move that is not valid for the player to move is played by the other one, after a pass,
+     * if the player to move has no valid move: see {@link #passesBefore}.
+     *
+     * @param size  The size of the board.
+     * @param black The level of the black player, or null.
+     * @param white The level of the white player, or null.
+     * @param moves The packed squares of the moves, with or without the passes.
+     * @return The record of the game.
+     * @throws IllegalArgumentException if a move is not valid.
+     */
+    public static GameRecord replay(int size, Level black, Level white, int[] moves) {
+        BitBoard board = new Game(size, null, false).getBoard().copyBits();
+        int[] played = new int[2 * moves.length];
+        int count = 0;
+        Color color = Color.BLACK;
+        for (int move : moves) {
+            if (passesBefore(board, color, move)) {
+                played[count++] = PASS;
+                color = color.getOpposite();
+            }
+            if (move == PASS) {
+                continue;
+            }
+            board.play(move, color, null);
+            played[count++] = move;
+            color = color.getOpposite();
+        }
+        return new GameRecord(size, black, white, board.count(Color.BLACK), board.count(Color.WHITE),
+                Arrays.copyOf(played, count));
+    }
+
+    /**
+     * Tells whether the player to move passes before the next move of a game whose passes may be left out.
+     * A player only passes when they have no valid move: the move is then played by their opponent.
+     *
+     * @param board  The position before the move.
+     * @param toMove The color of the player whose turn it is.
+     * @param move   The packed square of the move, or {@link #PASS} for the pass itself.
+     * @return true if the player to move passes, false if they play the move.
+     * @throws IllegalArgumentException if the move is valid neither for the player to move nor after a pass.
+     */
+    public static boolean passesBefore(BitBoard board, Color toMove, int move) {
+        if (move != PASS && board.isValidMove(move, toMove)) {
+            return false;
+        }
+        if (board.hasValidMove(toMove)) {
+            throw new IllegalArgumentException("A player passes with a valid move: " + move);
+        }
+        if (move != PASS && !board.isValidMove(move, toMove.getOpposite())) {
+            throw new IllegalArgumentException("Invalid move in the game: " + move);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the moves of the game without the passes, as written in a {@link Transcript}.
+     *
+     * @return The packed squares of the moves.
+     */
+    public int[] movesWithoutPasses() {
+        return Arrays.stream(moves).filter(move -> move != PASS).toArray();
+    }
+
+    /**
+     * Gets the winner of the game.
+     *
+     * @return The color with the most pieces at the end, or null for a draw.
+     */
+    public Color winner() {
+        return blackCount > whiteCount ? Color.BLACK : whiteCount > blackCount ? Color.WHITE : null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof GameRecord record && size == record.size && black == record.black
+                && white == record.white && blackCount == record.blackCount && whiteCount == record.whiteCount
+                && Arrays.equals(moves, record.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * size + blackCount) + Arrays.hashCode(moves);
+    }
+
+    @Override
+    public String toString() {
+        return "GameRecord[" + size + "x" + size + ", " + black + " vs " + white + ", "
+                + blackCount + "-" + whiteCount + ", " + Transcript.format(movesWithoutPasses(), size) + "]";
+    }
+}
@@ -0,0 +1,123 @@
+package g61562.atl.othello.model;
+
+import g61562.atl.othello.strategy.Level;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The GameRecordReader class reads the {@link GameRecord}s of a file written by a {@link GameRecordWriter},
+ * one after the other. The file is read by blocks, so files of millions of games can be read in constant memory.
+ */
+public class GameRecordReader implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private boolean endOfFile;
+
+    /**
+     * Opens a record file.
+     *
+     * @param path The path of the record file.
+     * @throws IOException if the file cannot be opened or is not a record file.
+     */
+    public GameRecordReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer.flip();
+        try {
+            if (!fill(Long.BYTES) || buffer.getLong() != GameRecordWriter.MAGIC) {
+                throw new IOException("This file is not a game record file: " + path);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Tells whether a file is a game record file, from its first bytes.
+     *
+     * @param path The path of the file.
+     * @return true if the file starts like a record file.
+     * @throws IOException if the file cannot be read.
+     */
+    public static boolean isRecordFile(Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Long.BYTES);
+            file.read(magic, 0);
+            return magic.flip().remaining() == Long.BYTES && magic.getLong() == GameRecordWriter.MAGIC;
+        }
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The record, or null at the end of the file.
+     * @throws IOException if the file cannot be read or ends in the middle of a record.
+     */
+    public GameRecord read() throws IOException {
+        if (!fill(GameRecordWriter.HEADER_BYTES)) {
+            if (buffer.hasRemaining()) {
+                throw new IOException("The record file is truncated");
+            }
+            return null;
+        }
+        int size = Byte.toUnsignedInt(buffer.get());
+        Level black = level(buffer.get());
+        Level white = level(buffer.get());
+        int blackCount = Byte.toUnsignedInt(buffer.get());
+        int whiteCount = Byte.toUnsignedInt(buffer.get());
+        int[] moves = new int[Short.toUnsignedInt(buffer.getShort())];
+        if (!fill(moves.length)) {
+            throw new IOException("The record file is truncated");
+        }
+        for (int i = 0; i < moves.length; i++) {
+            int move = Byte.toUnsignedInt(buffer.get());
+            moves[i] = move == GameRecordWriter.PASS_BYTE ? GameRecord.PASS : move;
+        }
+        return new GameRecord(size, black, white, blackCount, whiteCount, moves);
+    }
+
+    /**
+     * Decodes a level stored by {@link GameRecordWriter}.
+     *
+     * @throws IOException if the code is not the code of a level.
+     */
+    private static Level level(byte code) throws IOException {
+        return switch (code) {
+            case 0 -> null;
+            case 1 -> Level.EASY;
+            case 2 -> Level.HARD;
+            case 3 -> Level.EXPERT;
+            case 4 -> Level.MASTER;
+            default -> throw new IOException("Invalid level in the record file: " + Byte.toUnsignedInt(code));
+        };
+    }
+
+    /**
+     * Reads from the file until the buffer holds the specified number of bytes.
+     *
+     * @return false if the file ends first.
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes && !endOfFile) {
+            endOfFile = channel.read(buffer) < 0;
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
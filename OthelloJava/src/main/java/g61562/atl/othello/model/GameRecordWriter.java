@@ -0,0 +1,110 @@
+package g61562.atl.othello.model;
+
+import g61562.atl.othello.strategy.Level;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The GameRecordWriter class appends {@link GameRecord}s to a file.
+ * The file starts with a magic number, followed by the records one after the other:
+ * a header of 7 bytes (board size, levels of black and white, final counts of black and white, number of moves)
+ * and one byte per move, the packed square or {@code 0xFF} for a pass.
+ * A level is stored as a fixed code, 0 standing for no level, so that reordering the levels keeps the files valid:
+ * 1 for EASY, 2 for HARD, 3 for EXPERT and 4 for MASTER.
+ * Records are gathered in a buffer and written in large blocks; several threads can share a writer.
+ */
+public class GameRecordWriter implements Closeable {
+    static final long MAGIC = 0x4F544847414D4531L; // "OTHGAME1"
+    static final int HEADER_BYTES = 7;
+    static final int PASS_BYTE = 0xFF;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /**
+     * Opens a file to append records, creating it if needed.
+     *
+     * @param path The path of the record file.
+     * @throws IOException if the file cannot be opened or is not a record file.
+     */
+    public GameRecordWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        try {
+            if (channel.size() == 0) {
+                buffer.putLong(MAGIC);
+            } else {
+                ByteBuffer magic = ByteBuffer.allocate(Long.BYTES);
+                channel.read(magic, 0);
+                if (magic.flip().remaining() < Long.BYTES || magic.getLong() != MAGIC) {
+                    throw new IOException("This file is not a game record file: " + path);
+                }
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a record. It reaches the file when the buffer is full, on {@link #flush()} or on {@link #close()}.
+     *
+     * @param record The record of the game.
+     * @throws IOException if the buffer cannot be written to the file.
+     */
+    public synchronized void write(GameRecord record) throws IOException {
+        int[] moves = record.moves();
+        if (HEADER_BYTES + moves.length > buffer.remaining()) {
+            flush();
+        }
+        buffer.put((byte) record.size());
+        buffer.put(level(record.black()));
+        buffer.put(level(record.white()));
+        buffer.put((byte) record.blackCount());
+        buffer.put((byte) record.whiteCount());
+        buffer.putShort((short) moves.length);
+        for (int move : moves) {
+            buffer.put((byte) (move == GameRecord.PASS ? PASS_BYTE : move));
+        }
+    }
+
+    private static byte level(Level level) {
+        if (level == null) {
+            return 0;
+        }
+        return switch (level) {
+            case EASY -> 1;
+            case HARD -> 2;
+            case EXPERT -> 3;
+            case MASTER -> 4;
+        };
+    }
+
+    /**
+     * Writes the buffered records to the file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package g61562.atl.othello.model;
+
+import java.util.Arrays;
+
+/**
+ * The LegalMoveCache class remembers the valid moves of both players in the current position of a board.
+ * The moves of a color are computed the first time they are asked for, then reused until the board changes,
+ * which the board signals by increasing its version.
+ * Game-over checks, player switches and the mouse hover of the view therefore share a single move generation.
+ */
+final class LegalMoveCache {
+    private final Board board;
+    private final int[][] moves = new int[2][];
+    private final int[] counts = new int[2];
+    private final long[][] masks = new long[2][];
+    private final long[] versions = {-1, -1};
+
+    /**
+     * Constructs a cache for the valid moves of a board.
+     *
+     * @param board The board whose moves are cached.
+     */
+    LegalMoveCache(Board board) {
+        this.board = board;
+        int squares = board.getSize() * board.getSize();
+        for (int i = 0; i < 2; i++) {
+            moves[i] = new int[squares];
+            masks[i] = new long[(squares + 63) / 64];
+        }
+    }
+
+    /**
+     * Checks if a move is valid in the current position.
+     *
+     * @param square The packed square index of the move.
+     * @param color  The color of the player making the move.
+     * @return True if the move is valid, otherwise false.
+     */
+    boolean isValidMove(int square, Color color) {
+        long[] mask = masks[refresh(color)];
+        return (mask[square >>> 6] & 1L << square) != 0;
+    }
+
+    /**
+     * Checks if a player has at least one valid move in the current position.
+     *
+     * @param color The color of the player.
+     * @return True if the player has a valid move, otherwise false.
+     */
+    boolean hasValidMove(Color color) {
+        return counts[refresh(color)] > 0;
+    }
+
+    /**
+     * Copies the valid moves of a player in the current position to a buffer.
+     *
+     * @param color The color of the player.
+     * @param out   The buffer receiving the packed squares of the moves.
+     * @return The number of moves copied.
+     */
+    int copyMoves(Color color, int[] out) {
+        int i = refresh(color);
+        System.arraycopy(moves[i], 0, out, 0, counts[i]);
+        return counts[i];
+    }
+
+    /**
+     * Recomputes the moves of a color if the board changed since they were computed.
+     */
+    private int refresh(Color color) {
+        int i = color.ordinal();
+        long version = board.getVersion();
+        if (versions[i] != version) {
+            int count = board.getBits().getPossibleMoves(color, moves[i]);
+            long[] mask = masks[i];
+            Arrays.fill(mask, 0);
+            for (int j = 0; j < count; j++) {
+                int square = moves[i][j];
+                mask[square >>> 6] |= 1L << square;
+            }
+            counts[i] = count;
+            versions[i] = version;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,138 @@
+package g61562.atl.othello.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The Perft class counts the positions reached after a given number of moves, to check the move generation.
+ * A player without a valid move passes, and the pass counts as a move;
+ * a game that ends before the requested depth counts as a single position.
+ * With these rules, the counts from the 8x8 starting position are the published ones:
+ * 4, 12, 56, 244, 1396, 8200, 55092, 390216, 3005288, 24571284...
+ * Standard 8x8 boards are counted directly on {@code long} masks; other sizes go through the {@link BitBoard} API.
+ */
+public final class Perft {
+    private static final int MAX_SQUARES = 14 * 14;
+
+    private Perft() {
+    }
+
+    /**
+     * Counts the positions reached from a position after the specified number of moves.
+     *
+     * @param board The position; it is left unchanged.
+     * @param color The color of the player to move.
+     * @param depth The number of moves, at least 0.
+     * @return The number of positions.
+     */
+    public static long perft(BitBoard board, Color color, int depth) {
+        if (board instanceof BitBoard8 board8) {
+            return perft8(board8.getBits(color), board8.getBits(color.getOpposite()), depth, false);
+        }
+        return perftN(board.copy(), color, depth, false, new int[depth + 1][MAX_SQUARES], new int[depth + 1][MAX_SQUARES]);
+    }
+
+    /**
+     * Counts the positions reached after each move of a position, the root moves being shared between threads.
+     *
+     * @param board   The position; it is left unchanged.
+     * @param color   The color of the player to move.
+     * @param depth   The number of moves, at least 1.
+     * @param threads The number of threads.
+     * @return The count of every root move, in the order of the squares; a single pass is reported as square -1.
+     */
+    public static List<Divide> divide(BitBoard board, Color color, int depth, int threads) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("The depth of a divide must be at least 1!");
+        }
+        int[] moves = new int[MAX_SQUARES];
+        int count = board.getPossibleMoves(color, moves);
+        List<Divide> result = new ArrayList<>();
+        if (count == 0) {
+            result.add(new Divide(-1, perft(board, color, depth)));
+            return result;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> counts = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                BitBoard child = board.copy();
+                child.play(moves[i], color, null);
+                counts.add(pool.submit(() -> perft(child, color.getOpposite(), depth - 1)));
+            }
+            for (int i = 0; i < count; i++) {
+                result.add(new Divide(moves[i], counts.get(i).get()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The perft was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A perft thread failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+
+    private static long perft8(long own, long opp, int depth, boolean passed) {
+        if (depth == 0) {
+            return 1;
+        }
+        long legal = BitBoard8.moves(own, opp);
+        if (legal == 0) {
+            if (passed) {
+                return 1; // Deux passes de suite : la partie est finie
+            }
+            return perft8(opp, own, depth - 1, true);
+        }
+        if (depth == 1) {
+            return Long.bitCount(legal);
+        }
+        long nodes = 0;
+        while (legal != 0) {
+            int square = Long.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            long flipped = BitBoard8.flips(own, opp, square);
+            nodes += perft8(opp & ~flipped, own | flipped | 1L << square, depth - 1, false);
+        }
+        return nodes;
+    }
+
+    private static long perftN(BitBoard board, Color color, int depth, boolean passed, int[][] moves, int[][] flips) {
+        if (depth == 0) {
+            return 1;
+        }
+        int[] plyMoves = moves[depth];
+        int count = board.getPossibleMoves(color, plyMoves);
+        if (count == 0) {
+            if (passed) {
+                return 1;
+            }
+            return perftN(board, color.getOpposite(), depth - 1, true, moves, flips);
+        }
+        if (depth == 1) {
+            return count;
+        }
+        int[] flipped = flips[depth];
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            int captured = board.play(plyMoves[i], color, flipped);
+            nodes += perftN(board, color.getOpposite(), depth - 1, false, moves, flips);
+            board.undo(plyMoves[i], color, flipped, captured);
+        }
+        return nodes;
+    }
+
+    /**
+     * The Divide class holds the number of positions reached after one root move.
+     *
+     * @param square The packed square of the move, or -1 for a pass.
+     * @param nodes  The number of positions reached after this move.
+     */
+    public record Divide(int square, long nodes) {
+    }
+}
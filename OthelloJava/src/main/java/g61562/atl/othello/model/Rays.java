@@ -0,0 +1,97 @@
+package g61562.atl.othello.model;
+
+import java.util.Arrays;
+
+/**
+ * The Rays class holds, for every square of a board size and every {@link Direction},
+ * the squares met when walking from the square in that direction, nearest first, up to the edge of the board.
+ * The rays are stored one after the other in flat arrays of primitives, so finding the pieces captured by a move
+ * is a walk along an array that ends at the edge, without any bound check or coordinate arithmetic.
+ * The tables are built once per size and shared by every board of that size.
+ */
+final class Rays {
+    private static final int DIRECTIONS = Direction.values().length;
+    private static final Rays[] INSTANCES = new Rays[15];
+
+    private final int[] starts;
+    private final int[] squares;
+    private final int[] bits;
+
+    private Rays(int size) {
+        int rays = size * size * DIRECTIONS;
+        starts = new int[rays + 1];
+        int[] walked = new int[rays * (size - 1)];
+        int length = 0;
+        for (int square = 0; square < size * size; square++) {
+            for (Direction direction : Direction.values()) {
+                starts[index(square, direction.ordinal())] = length;
+                int row = square / size + direction.getDx();
+                int col = square % size + direction.getDy();
+                while (row >= 0 && row < size && col >= 0 && col < size) {
+                    walked[length++] = row * size + col;
+                    row += direction.getDx();
+                    col += direction.getDy();
+                }
+            }
+        }
+        starts[rays] = length;
+        squares = Arrays.copyOf(walked, length);
+        bits = new int[length];
+        for (int i = 0; i < length; i++) {
+            bits[i] = squares[i] + squares[i] / size; // Disposition des bits de BitBoardN
+        }
+    }
+
+    /**
+     * Gets the rays of the specified board size.
+     *
+     * @param size The size of the board.
+     * @return The rays of this board size.
+     */
+    static synchronized Rays forSize(int size) {
+        if (INSTANCES[size] == null) {
+            INSTANCES[size] = new Rays(size);
+        }
+        return INSTANCES[size];
+    }
+
+    /**
+     * Gets the index of the ray of a square in a direction.
+     *
+     * @param square    The packed square index.
+     * @param direction The ordinal of the direction.
+     * @return The index of the ray.
+     */
+    static int index(int square, int direction) {
+        return square * DIRECTIONS + direction;
+    }
+
+    /**
+     * Gets the position of the first square of a ray in {@link #squares()} and {@link #bits()}.
+     * The ray ends where the next one starts.
+     *
+     * @param ray The index of the ray, or the number of rays for the end of the last one.
+     * @return The position of the first square of the ray.
+     */
+    int start(int ray) {
+        return starts[ray];
+    }
+
+    /**
+     * Gets the packed squares of all the rays, one after the other, nearest square first.
+     *
+     * @return The squares. The array must not be modified.
+     */
+    int[] squares() {
+        return squares;
+    }
+
+    /**
+     * Gets the squares of all the rays as bit indexes of a {@link BitBoardN}, whose rows have an extra empty column.
+     *
+     * @return The bit indexes. The array must not be modified.
+     */
+    int[] bits() {
+        return bits;
+    }
+}
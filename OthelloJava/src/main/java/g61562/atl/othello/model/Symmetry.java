@@ -0,0 +1,265 @@
+package g61562.atl.othello.model;
+
+/**
+ * The Symmetry class handles the 8 symmetries of a square board: the 4 rotations and the 4 reflections.
+ * Two positions that are the image of each other by a symmetry have the same value and mirrored best moves,
+ * so tables indexed by position only need to store one of them, the canonical one.
+ * The canonical form of a position is the image whose Zobrist hash is the smallest.
+ * <p>
+ * The images of the squares are read from tables built once per board size.
+ * On the 8x8 board, whole masks are transformed at once by bit manipulations.
+ */
+public final class Symmetry {
+    /**
+     * The number of symmetries of a square board.
+     */
+    public static final int COUNT = 8;
+    private static final int[] INVERSES = {0, 3, 2, 1, 4, 5, 6, 7};
+    private static final int MAX_SIZE = 14;
+    private static final int[][][] TABLES = new int[MAX_SIZE + 1][][];
+
+    static {
+        for (int size = 1; size <= MAX_SIZE; size++) {
+            TABLES[size] = new int[COUNT][size * size];
+            for (int symmetry = 0; symmetry < COUNT; symmetry++) {
+                for (int square = 0; square < size * size; square++) {
+                    TABLES[size][symmetry][square] = compute(square, symmetry, size);
+                }
+            }
+        }
+    }
+
+    private Symmetry() {
+    }
+
+    /**
+     * Gets the image of a square by a symmetry.
+     * The symmetries are, in order: identity, rotations by 90, 180 and 270 degrees clockwise,
+     * horizontal and vertical reflections, reflections about the main diagonal and about the anti-diagonal.
+     *
+     * @param square   The packed square index, {@code row * size + col}.
+     * @param symmetry The index of the symmetry, from 0 to 7.
+     * @param size     The size of the board.
+     * @return The packed index of the image of the square.
+     */
+    public static int transform(int square, int symmetry, int size) {
+        if (symmetry < 0 || symmetry >= COUNT) {
+            throw new IllegalArgumentException("Invalid symmetry: " + symmetry);
+        }
+        return TABLES[size][symmetry][square];
+    }
+
+    private static int compute(int square, int symmetry, int size) {
+        int row = square / size;
+        int col = square % size;
+        int last = size - 1;
+        return switch (symmetry) {
+            case 0 -> square;
+            case 1 -> col * size + last - row;
+            case 2 -> (last - row) * size + last - col;
+            case 3 -> (last - col) * size + row;
+            case 4 -> row * size + last - col;
+            case 5 -> (last - row) * size + col;
+            case 6 -> col * size + row;
+            default -> (last - col) * size + last - row;
+        };
+    }
+
+    /**
+     * Gets the image of a mask of the 8x8 board by a symmetry, bit {@code row * 8 + col} standing for a square.
+     *
+     * @param mask     The mask of squares.
+     * @param symmetry The index of the symmetry, from 0 to 7.
+     * @return The mask of the images of the squares.
+     */
+    public static long transform(long mask, int symmetry) {
+        return switch (symmetry) {
+            case 0 -> mask;
+            case 1 -> mirrorColumns(flipDiagonal(mask));
+            case 2 -> Long.reverse(mask);
+            case 3 -> Long.reverseBytes(flipDiagonal(mask));
+            case 4 -> mirrorColumns(mask);
+            case 5 -> Long.reverseBytes(mask);
+            case 6 -> flipDiagonal(mask);
+            case 7 -> Long.reverse(flipDiagonal(mask));
+            default -> throw new IllegalArgumentException("Invalid symmetry: " + symmetry);
+        };
+    }
+
+    /**
+     * Reverses the order of the columns of every row.
+     */
+    private static long mirrorColumns(long mask) {
+        mask = (mask >>> 1) & 0x5555555555555555L | (mask & 0x5555555555555555L) << 1;
+        mask = (mask >>> 2) & 0x3333333333333333L | (mask & 0x3333333333333333L) << 2;
+        return (mask >>> 4) & 0x0F0F0F0F0F0F0F0FL | (mask & 0x0F0F0F0F0F0F0F0FL) << 4;
+    }
+
+    /**
+     * Swaps the rows and the columns, by exchanging the bits on both sides of the main diagonal.
+     */
+    private static long flipDiagonal(long mask) {
+        long swapped = 0x0F0F0F0F00000000L & (mask ^ mask << 28);
+        mask ^= swapped ^ swapped >>> 28;
+        swapped = 0x3333000033330000L & (mask ^ mask << 14);
+        mask ^= swapped ^ swapped >>> 14;
+        swapped = 0x5500550055005500L & (mask ^ mask << 7);
+        return mask ^ swapped ^ swapped >>> 7;
+    }
+
+    /**
+     * Gets the image of a position by a symmetry.
+     *
+     * @param board    The position.
+     * @param symmetry The index of the symmetry, from 0 to 7.
+     * @return A new board holding the image of the position.
+     */
+    public static BitBoard transform(BitBoard board, int symmetry) {
+        if (board instanceof BitBoard8 standard) {
+            return new BitBoard8(transform(standard.getBits(Color.BLACK), symmetry),
+                    transform(standard.getBits(Color.WHITE), symmetry));
+        }
+        int size = board.getSize();
+        BitBoard image = BitBoard.create(size);
+        for (int square = 0; square < size * size; square++) {
+            image.setColor(transform(square, symmetry, size), board.getColor(square));
+        }
+        return image;
+    }
+
+    /**
+     * Gets the symmetry that undoes another one.
+     *
+     * @param symmetry The index of the symmetry.
+     * @return The index of its inverse.
+     */
+    public static int inverse(int symmetry) {
+        return INVERSES[symmetry];
+    }
+
+    /**
+     * Computes the Zobrist hash of the image of a position by each of the 8 symmetries.
+     *
+     * @param board  The pieces of the position.
+     * @param toMove The color of the player to move.
+     * @param hashes The array receiving the 8 hashes, indexed by symmetry.
+     */
+    public static void hashes(BitBoard board, Color toMove, long[] hashes) {
+        int size = board.getSize();
+        Zobrist keys = Zobrist.forSize(size);
+        long side = toMove == Color.WHITE ? keys.side() : 0;
+        if (board instanceof BitBoard8 standard) {
+            long black = standard.getBits(Color.BLACK);
+            long white = standard.getBits(Color.WHITE);
+            for (int symmetry = 0; symmetry < COUNT; symmetry++) {
+                hashes[symmetry] = side ^ hash(keys, transform(black, symmetry), Color.BLACK)
+                        ^ hash(keys, transform(white, symmetry), Color.WHITE);
+            }
+            return;
+        }
+        int[][] table = TABLES[size];
+        for (int symmetry = 0; symmetry < COUNT; symmetry++) {
+            hashes[symmetry] = side;
+        }
+        for (int square = 0; square < size * size; square++) {
+            Color color = board.getColor(square);
+            if (color != null) {
+                for (int symmetry = 0; symmetry < COUNT; symmetry++) {
+                    hashes[symmetry] ^= keys.piece(table[symmetry][square], color);
+                }
+            }
+        }
+    }
+
+    private static long hash(Zobrist keys, long pieces, Color color) {
+        long hash = 0;
+        while (pieces != 0) {
+            hash ^= keys.piece(Long.numberOfTrailingZeros(pieces), color);
+            pieces &= pieces - 1;
+        }
+        return hash;
+    }
+
+    /**
+     * Chooses the symmetry giving the canonical form of a position.
+     *
+     * @param hashes The 8 hashes of the position computed by {@link #hashes}.
+     * @return The index of the symmetry whose image has the smallest hash.
+     */
+    public static int canonical(long[] hashes) {
+        int best = 0;
+        for (int symmetry = 1; symmetry < COUNT; symmetry++) {
+            if (Long.compareUnsigned(hashes[symmetry], hashes[best]) < 0) {
+                best = symmetry;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the canonical form of a position.
+     *
+     * @param board  The position.
+     * @param toMove The color of the player to move.
+     * @return The symmetry giving the canonical form and its hash.
+     */
+    public static Canonical canonicalize(BitBoard board, Color toMove) {
+        long[] hashes = new long[COUNT];
+        hashes(board, toMove, hashes);
+        int symmetry = canonical(hashes);
+        return new Canonical(symmetry, hashes[symmetry], board.getSize());
+    }
+
+    /**
+     * Finds the canonical form of the position of a board.
+     *
+     * @param board  The board.
+     * @param toMove The color of the player to move.
+     * @return The symmetry giving the canonical form and its hash.
+     */
+    public static Canonical canonicalize(Board board, Color toMove) {
+        return canonicalize(board.getBits(), toMove);
+    }
+
+    /**
+     * The canonical form of a position: the symmetry whose image has the smallest hash, and this hash.
+     * Symmetric positions have the same canonical hash, so it is the key of the tables shared by all of them;
+     * the moves are stored in the canonical orientation and mapped back to the orientation of the position.
+     *
+     * @param symmetry The index of the symmetry mapping the position to its canonical form.
+     * @param hash     The Zobrist hash of the canonical form.
+     * @param size     The size of the board.
+     */
+    public record Canonical(int symmetry, long hash, int size) {
+
+        /**
+         * Maps a square of the position to the canonical form.
+         *
+         * @param square The packed square in the orientation of the position.
+         * @return The packed square in the canonical orientation.
+         */
+        public int toCanonical(int square) {
+            return transform(square, symmetry, size);
+        }
+
+        /**
+         * Maps a square of the canonical form back to the position.
+         *
+         * @param square The packed square in the canonical orientation.
+         * @return The packed square in the orientation of the position.
+         */
+        public int fromCanonical(int square) {
+            return transform(square, inverse(symmetry), size);
+        }
+
+        /**
+         * Builds the canonical form of a position.
+         *
+         * @param board The position this canonical form was computed for.
+         * @return A new board holding the canonical form.
+         */
+        public BitBoard board(BitBoard board) {
+            return Symmetry.transform(board, symmetry);
+        }
+    }
+}
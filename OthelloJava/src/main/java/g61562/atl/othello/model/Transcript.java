@@ -0,0 +1,62 @@
+package g61562.atl.othello.model;
+
+import java.util.Arrays;
+
+/**
+ * The Transcript class writes and reads the moves of a game in the usual text notation,
+ * one square after the other without separator: a column letter from {@code a} followed by a row number from 1,
+ * as in {@code f5d6c3d3c4}. Passes are not written.
+ */
+public final class Transcript {
+
+    private Transcript() {
+    }
+
+    /**
+     * Writes the moves of a game.
+     *
+     * @param moves The packed squares of the moves, in order.
+     * @param size  The size of the board.
+     * @return The transcript of the game.
+     */
+    public static String format(int[] moves, int size) {
+        StringBuilder transcript = new StringBuilder(3 * moves.length);
+        for (int move : moves) {
+            transcript.append((char) ('a' + move % size)).append(move / size + 1);
+        }
+        return transcript.toString();
+    }
+
+    /**
+     * Reads the moves of a game. Letters may be upper case and spaces are ignored.
+     * Only the notation is checked, not the validity of the moves.
+     *
+     * @param transcript The transcript of the game.
+     * @param size       The size of the board.
+     * @return The packed squares of the moves, in order.
+     * @throws IllegalArgumentException if the transcript is not well formed or leaves the board.
+     */
+    public static int[] parse(String transcript, int size) {
+        int[] moves = new int[transcript.length() / 2];
+        int count = 0;
+        int i = 0;
+        while (i < transcript.length()) {
+            char letter = Character.toLowerCase(transcript.charAt(i++));
+            if (letter == ' ') {
+                continue;
+            }
+            int col = letter - 'a';
+            int row = 0;
+            int digits = 0;
+            while (i < transcript.length() && Character.isDigit(transcript.charAt(i)) && digits < 2) {
+                row = 10 * row + transcript.charAt(i++) - '0';
+                digits++;
+            }
+            if (col < 0 || col >= size || row < 1 || row > size) {
+                throw new IllegalArgumentException("Invalid square in the transcript at " + i + ": " + transcript);
+            }
+            moves[count++] = (row - 1) * size + col;
+        }
+        return Arrays.copyOf(moves, count);
+    }
+}
@@ -0,0 +1,113 @@
+package g61562.atl.othello.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * The Zobrist class holds the random keys used to hash Othello positions.
+ * The hash of a position is the exclusive or of the key of every piece, and of the side key when white is to move,
+ * so that it can be updated incrementally when a move is made or taken back.
+ * The keys are generated from a fixed seed: a hash is the same from one run to the next
+ * and can therefore be stored in files.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x6F7468656C6C6FL;
+    private static final Zobrist[] INSTANCES = new Zobrist[15];
+
+    private final long[] blackKeys;
+    private final long[] whiteKeys;
+    private final long[] flipKeys;
+    private final long sideKey;
+
+    private Zobrist(int size) {
+        SplittableRandom random = new SplittableRandom(SEED + size);
+        blackKeys = new long[size * size];
+        whiteKeys = new long[size * size];
+        flipKeys = new long[size * size];
+        for (int square = 0; square < size * size; square++) {
+            blackKeys[square] = random.nextLong();
+            whiteKeys[square] = random.nextLong();
+            flipKeys[square] = blackKeys[square] ^ whiteKeys[square];
+        }
+        sideKey = random.nextLong();
+    }
+
+    /**
+     * Gets the keys of the specified board size, shared by every game of that size.
+     *
+     * @param size The size of the board.
+     * @return The keys of this board size.
+     */
+    public static synchronized Zobrist forSize(int size) {
+        if (INSTANCES[size] == null) {
+            INSTANCES[size] = new Zobrist(size);
+        }
+        return INSTANCES[size];
+    }
+
+    /**
+     * Gets the key of a piece of the specified color on a square.
+     *
+     * @param square The packed square index.
+     * @param color  The color of the piece.
+     * @return The key of the piece.
+     */
+    public long piece(int square, Color color) {
+        return color == Color.BLACK ? blackKeys[square] : whiteKeys[square];
+    }
+
+    /**
+     * Gets the key to apply when the piece on a square changes color.
+     *
+     * @param square The packed square index.
+     * @return The key of the flip.
+     */
+    public long flip(int square) {
+        return flipKeys[square];
+    }
+
+    /**
+     * Gets the key toggled at every change of the side to move.
+     *
+     * @return The side key.
+     */
+    public long side() {
+        return sideKey;
+    }
+
+    /**
+     * Computes the hash of a position from scratch.
+     *
+     * @param board  The pieces of the position.
+     * @param toMove The color of the player to move.
+     * @return The hash of the position.
+     */
+    public long hash(BitBoard board, Color toMove) {
+        long hash = toMove == Color.WHITE ? sideKey : 0;
+        int squares = board.getSize() * board.getSize();
+        for (int square = 0; square < squares; square++) {
+            Color color = board.getColor(square);
+            if (color != null) {
+                hash ^= piece(square, color);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the hash after a move from the hash before it, using the squares flipped by the move.
+     *
+     * @param hash    The hash before the move.
+     * @param square  The packed square index of the move.
+     * @param color   The color of the player making the move.
+     * @param flipped The squares flipped by the move.
+     * @param count   The number of flipped squares.
+     * @return The hash after the move, with the other side to move.
+     */
+    public long play(long hash, int square, Color color, int[] flipped, int count) {
+        hash ^= piece(square, color) ^ sideKey;
+        for (int i = 0; i < count; i++) {
+            hash ^= flipKeys[flipped[i]];
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,91 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Position;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The AdversaryPool class shares a few computer strategies of each level between many games.
+ * The strongest strategies hold megabytes of transposition table and are not thread-safe, so a server
+ * cannot give one to every game: a game borrows a strategy of its level for each move and gives it back.
+ * At most a fixed number of strategies of a level exist, and games asking for more wait their turn,
+ * which also bounds the number of searches running at the same time.
+ * Closing the pool closes its strategies, as soon as the moves they are choosing are played.
+ */
+public class AdversaryPool implements AutoCloseable {
+    private final Map<Level, Semaphore> permits = new EnumMap<>(Level.class);
+    private final Map<Level, Queue<ComputerAdversary>> idle = new EnumMap<>(Level.class);
+    private volatile boolean closed;
+
+    /**
+     * Constructs a pool with the specified number of strategies per level.
+     *
+     * @param perLevel The maximum number of strategies of each level.
+     */
+    public AdversaryPool(int perLevel) {
+        if (perLevel < 1) {
+            throw new IllegalArgumentException("A pool needs at least one strategy per level!");
+        }
+        for (Level level : Level.values()) {
+            permits.put(level, new Semaphore(perLevel, true));
+            idle.put(level, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Gets a strategy of a level for one game. It holds no state: every move is chosen by a shared strategy.
+     *
+     * @param level The level of difficulty.
+     * @return The strategy to give to the game.
+     */
+    public ComputerAdversary forLevel(Level level) {
+        return (game, color) -> chooseMove(level, game, color);
+    }
+
+    private Position chooseMove(Level level, Game game, Color color) {
+        if (closed) {
+            throw new IllegalStateException("The pool of strategies is closed!");
+        }
+        Semaphore semaphore = permits.get(level);
+        semaphore.acquireUninterruptibly();
+        ComputerAdversary adversary = idle.get(level).poll();
+        try {
+            if (adversary == null) {
+                adversary = Game.createAdversary(level); // Créée au premier besoin seulement
+            }
+            return adversary.chooseMove(game, color);
+        } finally {
+            if (adversary != null) {
+                idle.get(level).add(adversary);
+                if (closed) {
+                    release(idle.get(level)); // Le pool a été fermé pendant le coup
+                }
+            }
+            semaphore.release();
+        }
+    }
+
+    /**
+     * Closes the strategies of the pool. The games using the pool must not ask for moves anymore.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Queue<ComputerAdversary> adversaries : idle.values()) {
+            release(adversaries);
+        }
+    }
+
+    private static void release(Queue<ComputerAdversary> adversaries) {
+        ComputerAdversary adversary;
+        while ((adversary = adversaries.poll()) != null) {
+            adversary.close();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+/**
+ * The AlphaBetaComputerAdversary class represents a strategy that looks several moves ahead.
+ * It runs a negamax alpha-beta search with iterative deepening on its own copy of the board,
+ * so the game and its observers are never touched while searching.
+ * The search stops at the configured depth or when the time budget is spent, whichever comes first,
+ * and scores the positions where it stops with an {@link Evaluator}.
+ * Positions reached through different move orders are recognized by their Zobrist hash
+ * and looked up in a transposition table kept from one move to the next.
+ * With several threads, the search is a Lazy SMP: every thread searches the root position at staggered depths
+ * and they only cooperate through the shared, lock-free transposition table.
+ * In the opening, the moves of an {@link OpeningBook} are played without searching, if a book is set.
+ * On a board solved by a {@link Tablebase}, the perfect move it gives is played without searching either.
+ * Once few enough squares are left empty, the move is given by an {@link EndgameSolver} instead:
+ * the solver gets half of the time budget, and the heuristic search takes over if it could not finish.
+ * Interrupting the calling thread stops the search early, with the best move found so far.
+ */
+public class AlphaBetaComputerAdversary implements ComputerAdversary {
+    private static final int DEFAULT_TABLE_SIZE_MB = 16;
+    private static final int DEFAULT_ENDGAME_EMPTIES = 12;
+
+    private final int maxDepth;
+    private final long timeBudgetMillis;
+    private final int threads;
+    private TranspositionTable table;
+    private final AtomicBoolean stop = new AtomicBoolean();
+    private EndgameSolver solver = new EndgameSolver();
+    private int endgameEmpties = DEFAULT_ENDGAME_EMPTIES;
+    private OpeningBook openingBook;
+    private Tablebase tablebase;
+    private IntFunction<Evaluator> evaluators = Evaluator::forSize;
+    private SearchWorker[] workers;
+    private long nodes;
+
+    /**
+     * Constructs an AlphaBetaComputerAdversary with a depth limit, a time budget and a default transposition table.
+     *
+     * @param maxDepth         The maximum depth of the search, in plies.
+     * @param timeBudgetMillis The time budget of a move in milliseconds, or 0 for no time limit.
+     */
+    public AlphaBetaComputerAdversary(int maxDepth, long timeBudgetMillis) {
+        this(maxDepth, timeBudgetMillis, DEFAULT_TABLE_SIZE_MB);
+    }
+
+    /**
+     * Constructs a single-threaded AlphaBetaComputerAdversary with a transposition table size.
+     *
+     * @param maxDepth         The maximum depth of the search, in plies.
+     * @param timeBudgetMillis The time budget of a move in milliseconds, or 0 for no time limit.
+     * @param tableSizeMb      The size of the transposition table in megabytes, or 0 to search without one.
+     */
+    public AlphaBetaComputerAdversary(int maxDepth, long timeBudgetMillis, int tableSizeMb) {
+        this(maxDepth, timeBudgetMillis, tableSizeMb, 1);
+    }
+
+    /**
+     * Constructs an AlphaBetaComputerAdversary searching on the specified number of threads.
+     *
+     * @param maxDepth         The maximum depth of the search, in plies.
+     * @param timeBudgetMillis The time budget of a move in milliseconds, or 0 for no time limit.
+     * @param tableSizeMb      The size of the transposition table in megabytes, or 0 to search without one.
+     * @param threads          The number of search threads, including the calling thread.
+     */
+    public AlphaBetaComputerAdversary(int maxDepth, long timeBudgetMillis, int tableSizeMb, int threads) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("The depth of the search must be at least 1!");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("The search needs at least 1 thread!");
+        }
+        if (threads > 1 && tableSizeMb < 1) {
+            throw new IllegalArgumentException("A parallel search needs a transposition table!");
+        }
+        this.maxDepth = maxDepth;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.threads = threads;
+        this.table = tableSizeMb > 0 ? new TranspositionTable(tableSizeMb) : null;
+    }
+
+    /**
+     * Gets the number of positions visited by the last search, summed over all threads.
+     *
+     * @return The number of nodes of the last search.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the number of empty squares from which the endgame solver is used instead of the heuristic search.
+     *
+     * @return The number of empty squares, 0 if the solver is never used.
+     */
+    public int getEndgameEmpties() {
+        return endgameEmpties;
+    }
+
+    /**
+     * Sets the number of empty squares from which the endgame solver is used instead of the heuristic search.
+     *
+     * @param endgameEmpties The number of empty squares, or 0 to never use the solver.
+     */
+    public void setEndgameEmpties(int endgameEmpties) {
+        if (endgameEmpties < 0) {
+            throw new IllegalArgumentException("The number of empty squares cannot be negative!");
+        }
+        this.endgameEmpties = endgameEmpties;
+    }
+
+    /**
+     * Sets the opening book whose moves are played without searching, as long as the position is in the book.
+     *
+     * @param openingBook The opening book, or null to always search.
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * Sets the tablebase whose perfect moves are played without searching, on boards of its size.
+     *
+     * @param tablebase The tablebase, or null to always search.
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Sets how the positions are evaluated at the leaves of the search.
+     * Every search thread gets its own evaluator, since an evaluator follows the moves of its thread.
+     * By default, the evaluator is the one given by {@link Evaluator#forSize(int)}.
+     *
+     * @param evaluators The function creating an evaluator for a board size.
+     */
+    public void setEvaluators(IntFunction<Evaluator> evaluators) {
+        this.evaluators = evaluators;
+        this.workers = null;
+        if (table != null) {
+            table.clear(); // Les scores de l'ancienne évaluation ne valent plus rien
+        }
+    }
+
+    @Override
+    public Position chooseMove(Game game, Color color) {
+        if (solver == null) {
+            throw new IllegalStateException("This strategy is closed!");
+        }
+        BitBoard board = game.getBoard().copyBits();
+        if (tablebase != null) {
+            int move = tablebase.bestMove(board, color);
+            if (move != -1) {
+                nodes = 0;
+                return game.getBoard().toPosition(move);
+            }
+        }
+        if (openingBook != null) {
+            int move = openingBook.bestMove(board, color);
+            if (move != -1) {
+                nodes = 0;
+                return game.getBoard().toPosition(move);
+            }
+        }
+        long start = System.nanoTime();
+        if (board.emptyCount() <= endgameEmpties) {
+            int move = solver.bestMove(board, color, (timeBudgetMillis + 1) / 2);
+            if (solver.getScore() != EndgameSolver.UNKNOWN) {
+                nodes = solver.getNodes();
+                return move == -1 ? null : game.getBoard().toPosition(move);
+            }
+        }
+        prepareWorkers(board.getSize());
+        if (table != null) {
+            table.newSearch();
+        }
+        stop.set(false);
+        long deadline = timeBudgetMillis > 0 ? start + timeBudgetMillis * 1_000_000 : Long.MAX_VALUE;
+
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            SearchWorker helper = workers[i];
+            BitBoard helperBoard = board.copy();
+            int firstDepth = 1 + i % 2; // Un thread sur deux a une profondeur d'avance
+            int rotation = i;
+            running.add(SearchThreads.helpers().submit(() -> helper.search(helperBoard, color, deadline, stop, firstDepth, rotation)));
+        }
+        workers[0].search(board, color, deadline, stop, 1, 0);
+        stop.set(true);
+        waitFor(running);
+
+        nodes = 0;
+        SearchWorker deepest = workers[0];
+        for (SearchWorker worker : workers) {
+            nodes += worker.getNodes();
+            if (worker.getCompletedDepth() > deepest.getCompletedDepth()) {
+                deepest = worker;
+            }
+        }
+        int bestMove = deepest.getBestMove();
+        return bestMove == -1 ? null : game.getBoard().toPosition(bestMove);
+    }
+
+    private void waitFor(List<Future<?>> running) {
+        boolean interrupted = false;
+        for (Future<?> future : running) {
+            // Les threads auxiliaires doivent être terminés avant la recherche suivante, même après une interruption
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("A search thread failed", e.getCause());
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void prepareWorkers(int size) {
+        if (workers != null && workers[0].getSize() == size) {
+            return;
+        }
+        workers = new SearchWorker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new SearchWorker(maxDepth, table, size, evaluators.apply(size));
+        }
+    }
+
+    /**
+     * Forgets every position searched so far, so that the next move is chosen as by a new strategy.
+     */
+    public void clear() {
+        if (solver == null) {
+            throw new IllegalStateException("This strategy is closed!");
+        }
+        if (table != null) {
+            table.clear();
+        }
+        solver.clear();
+    }
+
+    /**
+     * Releases the transposition tables and the search threads of this strategy.
+     * The helper threads are shared by all the strategies and stay available to the others.
+     */
+    @Override
+    public void close() {
+        workers = null;
+        table = null;
+        solver = null;
+    }
+}
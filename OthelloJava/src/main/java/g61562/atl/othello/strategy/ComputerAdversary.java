@@ -7,7 +7,15 @@ import g61562.atl.othello.model.Position;
 /**
  * The ComputerAdversary interface represents a strategy for making moves in the Othello game.
  * Implementing classes must define a method to choose a move based on the current game state and color.
+ * A strategy holding large tables releases them when it is closed; it must not be used afterwards.
  */
-public interface ComputerAdversary {
+public interface ComputerAdversary extends AutoCloseable {
     Position chooseMove(Game game, Color color);
+
+    /**
+     * Releases the resources of this strategy. By default, a strategy holds nothing to release.
+     */
+    @Override
+    default void close() {
+    }
 }
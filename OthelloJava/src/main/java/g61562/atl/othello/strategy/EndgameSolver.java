@@ -0,0 +1,799 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.BitBoard8;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Zobrist;
+
+/**
+ * The EndgameSolver class computes the exact outcome of a position by searching it until the end of the game.
+ * The result is the final disc differential (pieces of the player to move minus pieces of the opponent)
+ * under perfect play from both sides.
+ * Moves are ordered fastest-first (the replies leaving the opponent the fewest moves) far from the end,
+ * then by parity (the regions of the board with an odd number of empty squares first).
+ * Every move after the first one is tried with a null window around the best score,
+ * and the positions far from the end are kept in a transposition table.
+ * Standard 8x8 boards are solved directly on {@code long} masks: there, the moves far from the end
+ * are ordered by a shallow search on a rating of mobility, corners and stability,
+ * the last 6 empty squares are tried directly in parity order instead of generating and sorting moves,
+ * the last 4 of them by dedicated routines,
+ * the stable pieces of the opponent cut the search when they already bound the score below alpha,
+ * and the positions reached by the moves are looked up in the table before any of them is searched.
+ * Other sizes go through the {@link BitBoard} API.
+ * The search also gives up when its thread is interrupted.
+ * A solver keeps buffers between calls and must not be shared between threads.
+ */
+public class EndgameSolver {
+    /**
+     * The value returned when the search was stopped before the position was solved.
+     */
+    public static final int UNKNOWN = Integer.MIN_VALUE;
+    private static final int FASTEST_FIRST_EMPTIES = 5;
+    private static final int TIME_CHECK_INTERVAL = 4096;
+    private static final int TABLE_EMPTIES = 7;
+    private static final int TABLE_SIZE_MB = 16;
+    private static final int SMALL_EMPTIES = 4;
+    private static final int SHALLOW_EMPTIES = 6;
+    private static final int ETC_EMPTIES = 10;
+    private static final int LOOKAHEAD_EMPTIES = 12;
+    private static final int DEEP_LOOKAHEAD_EMPTIES = 16;
+    private static final long[] QUADRANTS_8 = {
+            0x000000000F0F0F0FL, 0x00000000F0F0F0F0L, 0x0F0F0F0F00000000L, 0xF0F0F0F000000000L
+    };
+    private static final long CORNERS_8 = 0x8100000000000081L;
+    private static final long[] NEIGHBOURS_8 = new long[64];
+    private static final int MAX_SQUARES = 14 * 14;
+    private static final int MAX_PLIES = 2 * MAX_SQUARES + 2; // Chaque coup peut être suivi d'un passe
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            NEIGHBOURS_8[square] = BitBoard8.neighbours(1L << square);
+        }
+    }
+
+    private final int[][] moves = new int[MAX_PLIES][];
+    private final int[][] keys = new int[MAX_PLIES][];
+    private final int[][] flips = new int[MAX_PLIES][];
+    private final long[][] flips8 = new long[MAX_PLIES][];
+    private final TranspositionTable table = new TranspositionTable(TABLE_SIZE_MB);
+    private final int[] smallSquares = new int[SMALL_EMPTIES];
+    private long nodes;
+    private long deadline;
+    private boolean aborted;
+    private int score;
+
+    private BitBoard board;
+    private int size;
+    private int[] regions;
+    private int[] regionEmpties;
+    private int[] scratch;
+    private Zobrist zobrist;
+
+    /**
+     * Gets the number of positions visited by the last solve.
+     *
+     * @return The number of nodes of the last solve.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Forgets every position solved so far.
+     */
+    public void clear() {
+        table.clear();
+    }
+
+    /**
+     * Gets the exact score found by the last call to {@link #bestMove(BitBoard, Color, long)}.
+     *
+     * @return The final disc differential for the player to move, or {@link #UNKNOWN} if the search was stopped.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Computes the exact final disc differential of a position, without any time limit.
+     *
+     * @param position The position to solve; it is left unchanged.
+     * @param color    The color of the player to move.
+     * @return The final disc differential for the player to move under perfect play.
+     */
+    public int solve(BitBoard position, Color color) {
+        bestMove(position, color, 0);
+        return score;
+    }
+
+    /**
+     * Finds the move with the best exact outcome.
+     *
+     * @param position         The position to solve; it is left unchanged.
+     * @param color            The color of the player to move.
+     * @param timeBudgetMillis The time after which the search gives up, or 0 for no time limit.
+     * @return The best move, or -1 if the player must pass or the search was stopped.
+     */
+    public int bestMove(BitBoard position, Color color, long timeBudgetMillis) {
+        nodes = 0;
+        aborted = false;
+        deadline = timeBudgetMillis > 0 ? System.nanoTime() + timeBudgetMillis * 1_000_000 : Long.MAX_VALUE;
+        int squares = position.getSize() * position.getSize();
+        int bound = squares + 1;
+        int bestMove = -1;
+        int best = -bound;
+        table.newSearch();
+        if (position instanceof BitBoard8 board8) {
+            long own = board8.getBits(color);
+            long opp = board8.getBits(color.getOpposite());
+            int empties = Long.bitCount(~(own | opp));
+            long legal = BitBoard8.moves(own, opp);
+            if (legal == 0) {
+                score = solve8(own, opp, -bound, bound, empties, 0, false);
+                return -1;
+            }
+            int count = orderMoves8(own, opp, legal, empties, 0);
+            for (int i = 0; i < count && !aborted; i++) {
+                int square = moves[0][i];
+                long flipped = flips8[0][square];
+                long newOwn = opp & ~flipped;
+                long newOpp = own | flipped | 1L << square;
+                int value;
+                if (i == 0) {
+                    value = -solve8(newOwn, newOpp, -bound, bound, empties - 1, 1, false);
+                } else {
+                    value = -solve8(newOwn, newOpp, -best - 1, -best, empties - 1, 1, false);
+                    if (value > best && !aborted) {
+                        value = -solve8(newOwn, newOpp, -bound, -value, empties - 1, 1, false);
+                    }
+                }
+                if (value > best) {
+                    best = value;
+                    bestMove = square;
+                }
+            }
+        } else {
+            prepare(position, squares);
+            int empties = board.emptyCount();
+            long hash = zobrist.hash(board, color);
+            int count = board.getPossibleMoves(color, buffer(moves, 0));
+            if (count == 0) {
+                score = solveN(color, -bound, bound, empties, 0, false, hash);
+                return -1;
+            }
+            orderMovesN(color, count, empties, 0);
+            for (int i = 0; i < count && !aborted; i++) {
+                int square = moves[0][i];
+                int flipped = playN(square, color, 0);
+                long childHash = zobrist.play(hash, square, color, flips[0], flipped);
+                int value;
+                if (i == 0) {
+                    value = -solveN(color.getOpposite(), -bound, bound, empties - 1, 1, false, childHash);
+                } else {
+                    value = -solveN(color.getOpposite(), -best - 1, -best, empties - 1, 1, false, childHash);
+                    if (value > best && !aborted) {
+                        value = -solveN(color.getOpposite(), -bound, -value, empties - 1, 1, false, childHash);
+                    }
+                }
+                undoN(square, color, 0, flipped);
+                if (value > best) {
+                    best = value;
+                    bestMove = square;
+                }
+            }
+        }
+        score = aborted ? UNKNOWN : best;
+        return aborted ? -1 : bestMove;
+    }
+
+    private boolean shouldStop() {
+        if (++nodes % TIME_CHECK_INTERVAL == 0
+                && (System.nanoTime() > deadline || Thread.currentThread().isInterrupted())) {
+            aborted = true;
+        }
+        return aborted;
+    }
+
+    private int solve8(long own, long opp, int alpha, int beta, int empties, int ply, boolean passed) {
+        if (empties <= SMALL_EMPTIES) {
+            return solveSmall8(own, opp, alpha, beta, empties);
+        }
+        if (shouldStop()) {
+            return 0;
+        }
+        if (empties <= SHALLOW_EMPTIES) {
+            return shallow8(own, opp, alpha, beta, empties, passed);
+        }
+        // Les pièces stables de l'adversaire bornent le score : inutile de chercher si la borne ne dépasse pas alpha
+        if (alpha >= 64 - 2 * Long.bitCount(opp)) {
+            int upper = 64 - 2 * Long.bitCount(BitBoard8.stable(opp, own));
+            if (upper <= alpha) {
+                return upper;
+            }
+        }
+        long legal = BitBoard8.moves(own, opp);
+        if (legal == 0) {
+            if (passed || BitBoard8.moves(opp, own) == 0) {
+                return Long.bitCount(own) - Long.bitCount(opp);
+            }
+            return -solve8(opp, own, -beta, -alpha, empties, ply + 1, true);
+        }
+        long hash = 0;
+        int tableMove = TranspositionTable.NO_MOVE;
+        if (empties >= TABLE_EMPTIES) {
+            hash = hash8(own, opp);
+            long entry = table.probe(hash);
+            if (entry != 0) {
+                int value = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER_BOUND && value >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && value <= alpha)) {
+                    return value;
+                }
+                tableMove = TranspositionTable.move(entry);
+            }
+            if (empties > ETC_EMPTIES && enhancedCutoff8(own, opp, legal, beta)) {
+                return beta;
+            }
+        }
+        int count = orderMoves8(own, opp, legal, empties, ply);
+        int[] plyMoves = moves[ply];
+        long[] plyFlips = flips8[ply];
+        if (tableMove != TranspositionTable.NO_MOVE) {
+            moveToFront(plyMoves, count, tableMove);
+        }
+        int originalAlpha = alpha;
+        int best = -Integer.MAX_VALUE;
+        int bestMove = plyMoves[0];
+        for (int i = 0; i < count; i++) {
+            int square = plyMoves[i];
+            long flipped = plyFlips[square];
+            long newOwn = opp & ~flipped;
+            long newOpp = own | flipped | 1L << square;
+            int value;
+            if (i == 0) {
+                value = -solve8(newOwn, newOpp, -beta, -alpha, empties - 1, ply + 1, false);
+            } else {
+                // Fenêtre nulle : il suffit de prouver que ce coup ne fait pas mieux que le meilleur
+                value = -solve8(newOwn, newOpp, -alpha - 1, -alpha, empties - 1, ply + 1, false);
+                if (value > alpha && value < beta && !aborted) {
+                    value = -solve8(newOwn, newOpp, -beta, -value, empties - 1, ply + 1, false);
+                }
+            }
+            if (aborted) {
+                return 0;
+            }
+            if (value > best) {
+                best = value;
+                bestMove = square;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (empties >= TABLE_EMPTIES) {
+            int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                    : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            table.store(hash, empties, best, bound, bestMove);
+        }
+        return best;
+    }
+
+    /**
+     * Looks the positions reached by the moves up in the transposition table,
+     * to cut without searching when one of them is already known to reach beta.
+     */
+    private boolean enhancedCutoff8(long own, long opp, long legal, int beta) {
+        while (legal != 0) {
+            int square = Long.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            long flipped = BitBoard8.flips(own, opp, square);
+            long entry = table.probe(hash8(opp & ~flipped, own | flipped | 1L << square));
+            if (entry != 0 && TranspositionTable.bound(entry) != TranspositionTable.LOWER_BOUND
+                    && -TranspositionTable.score(entry) >= beta) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mixes the two masks of a position into a hash for the transposition table.
+     */
+    private static long hash8(long own, long opp) {
+        long hash = own * 0x9E3779B97F4A7C15L ^ Long.rotateLeft(opp * 0xC2B2AE3D27D4EB4FL, 31);
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        return hash ^ hash >>> 32;
+    }
+
+    private static void moveToFront(int[] plyMoves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (plyMoves[i] == move) {
+                System.arraycopy(plyMoves, 0, plyMoves, 1, i);
+                plyMoves[0] = move;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Solves a position with at most 4 empty squares without generating any move:
+     * the empty squares are listed once, those of the regions with an odd number of empty squares first,
+     * and each of them is tried directly by the routine of its number of empty squares.
+     */
+    private int solveSmall8(long own, long opp, int alpha, int beta, int empties) {
+        long empty = ~(own | opp);
+        long odd = 0;
+        for (long quadrant : QUADRANTS_8) {
+            if ((Long.bitCount(empty & quadrant) & 1) != 0) {
+                odd |= quadrant;
+            }
+        }
+        int count = appendSquares(smallSquares, 0, empty & odd);
+        count = appendSquares(smallSquares, count, empty & ~odd);
+        int x1 = smallSquares[0];
+        int x2 = smallSquares[1];
+        int x3 = smallSquares[2];
+        return switch (count) {
+            case 0 -> Long.bitCount(own) - Long.bitCount(opp);
+            case 1 -> lastMove8(own, opp, x1);
+            case 2 -> solve2(own, opp, alpha, beta, x1, x2, false);
+            case 3 -> solve3(own, opp, alpha, beta, x1, x2, x3, false);
+            default -> solve4(own, opp, alpha, beta, x1, x2, x3, smallSquares[3], false);
+        };
+    }
+
+    /**
+     * Solves a position whose 4 empty squares are given, in the order they should be tried.
+     */
+    private int solve4(long own, long opp, int alpha, int beta, int x1, int x2, int x3, int x4, boolean passed) {
+        nodes++;
+        int best = -Integer.MAX_VALUE;
+        long flipped = (NEIGHBOURS_8[x1] & opp) == 0 ? 0 : BitBoard8.flips(own, opp, x1);
+        if (flipped != 0) {
+            best = -solve3(opp & ~flipped, own | flipped | 1L << x1, -beta, -alpha, x2, x3, x4, false);
+            if (best >= beta) {
+                return best;
+            }
+            alpha = Math.max(alpha, best);
+        }
+        flipped = (NEIGHBOURS_8[x2] & opp) == 0 ? 0 : BitBoard8.flips(own, opp, x2);
+        if (flipped != 0) {
+            int value = -solve3(opp & ~flipped, own | flipped | 1L << x2, -beta, -alpha, x1, x3, x4, false);
+            if (value > best) {
+                best = value;
+                if (best >= beta) {
+                    return best;
+                }
+                alpha = Math.max(alpha, best);
+            }
+        }
+        flipped = (NEIGHBOURS_8[x3] & opp) == 0 ? 0 : BitBoard8.flips(own, opp, x3);
+        if (flipped != 0) {
+            int value = -solve3(opp & ~flipped, own | flipped | 1L << x3, -beta, -alpha, x1, x2, x4, false);
+            if (value > best) {
+                best = value;
+                if (best >= beta) {
+                    return best;
+                }
+                alpha = Math.max(alpha, best);
+            }
+        }
+        flipped = (NEIGHBOURS_8[x4] & opp) == 0 ? 0 : BitBoard8.flips(own, opp, x4);
+        if (flipped != 0) {
+            int value = -solve3(opp & ~flipped, own | flipped | 1L << x4, -beta, -alpha, x1, x2, x3, false);
+            best = Math.max(best, value);
+        }
+        if (best == -Integer.MAX_VALUE) {
+            if (passed) {
+                return Long.bitCount(own) - Long.bitCount(opp);
+            }
+            return -solve4(opp, own, -beta, -alpha, x1, x2, x3, x4, true);
+        }
+        return best;
+    }
+
+    /**
+     * Solves a position whose 3 empty squares are given, in the order they should be tried.
+     */
+    private int solve3(long own, long opp, int alpha, int beta, int x1, int x2, int x3, boolean passed) {
+        nodes++;
+        int best = -Integer.MAX_VALUE;
+        long flipped = (NEIGHBOURS_8[x1] & opp) == 0 ? 0 : BitBoard8.flips(own, opp, x1);
+        if (flipped != 0) {
+            best = -solve2(opp & ~flipped, own | flipped | 1L << x1, -beta, -alpha, x2, x3, false);
+            if (best >= beta) {
+                return best;
+            }
+            alpha = Math.max(alpha, best);
+        }
+        flipped = (NEIGHBOURS_8[x2] & opp) == 0 ? 0 : BitBoard8.flips(own, opp, x2);
+        if (flipped != 0) {
+            int value = -solve2(opp & ~flipped, own | flipped | 1L << x2, -beta, -alpha, x1, x3, false);
+            if (value > best) {
+                best = value;
+                if (best >= beta) {
+                    return best;
+                }
+                alpha = Math.max(alpha, best);
+            }
+        }
+        flipped = (NEIGHBOURS_8[x3] & opp) == 0 ? 0 : BitBoard8.flips(own, opp, x3);
+        if (flipped != 0) {
+            int value = -solve2(opp & ~flipped, own | flipped | 1L << x3, -beta, -alpha, x1, x2, false);
+            best = Math.max(best, value);
+        }
+        if (best == -Integer.MAX_VALUE) {
+            if (passed) {
+                return Long.bitCount(own) - Long.bitCount(opp);
+            }
+            return -solve3(opp, own, -beta, -alpha, x1, x2, x3, true);
+        }
+        return best;
+    }
+
+    /**
+     * Solves a position whose 2 empty squares are given, in the order they should be tried.
+     */
+    private int solve2(long own, long opp, int alpha, int beta, int x1, int x2, boolean passed) {
+        nodes++;
+        int best = -Integer.MAX_VALUE;
+        long flipped = (NEIGHBOURS_8[x1] & opp) == 0 ? 0 : BitBoard8.flips(own, opp, x1);
+        if (flipped != 0) {
+            best = -lastMove8(opp & ~flipped, own | flipped | 1L << x1, x2);
+            if (best >= beta) {
+                return best;
+            }
+        }
+        flipped = (NEIGHBOURS_8[x2] & opp) == 0 ? 0 : BitBoard8.flips(own, opp, x2);
+        if (flipped != 0) {
+            best = Math.max(best, -lastMove8(opp & ~flipped, own | flipped | 1L << x2, x1));
+        }
+        if (best == -Integer.MAX_VALUE) {
+            if (passed) {
+                return Long.bitCount(own) - Long.bitCount(opp);
+            }
+            return -solve2(opp, own, -beta, -alpha, x1, x2, true);
+        }
+        return best;
+    }
+
+    /**
+     * Resolves the last empty square directly: the player to move takes it if they can,
+     * otherwise the opponent does, otherwise the game ends with the square empty.
+     */
+    private int lastMove8(long own, long opp, int square) {
+        nodes++;
+        int difference = Long.bitCount(own) - Long.bitCount(opp);
+        int flipped = BitBoard8.lastFlipCount(own, square);
+        if (flipped > 0) {
+            return difference + 1 + 2 * flipped;
+        }
+        flipped = BitBoard8.lastFlipCount(opp, square);
+        if (flipped > 0) {
+            return difference - 1 - 2 * flipped;
+        }
+        return difference;
+    }
+
+    /**
+     * Writes the moves of a ply in the order they should be searched and returns their number.
+     */
+    private int orderMoves8(long own, long opp, long legal, int empties, int ply) {
+        int[] plyMoves = buffer(moves, ply);
+        long[] plyFlips = flips8[ply] == null ? flips8[ply] = new long[64] : flips8[ply];
+        int count = 0;
+        if (empties > FASTEST_FIRST_EMPTIES) {
+            int[] plyKeys = buffer(keys, ply);
+            while (legal != 0) {
+                int square = Long.numberOfTrailingZeros(legal);
+                legal &= legal - 1;
+                long flipped = BitBoard8.flips(own, opp, square);
+                plyFlips[square] = flipped;
+                long newOwn = own | flipped | 1L << square;
+                long newOpp = opp & ~flipped;
+                int key;
+                if (empties >= LOOKAHEAD_EMPTIES) {
+                    // Loin de la fin, une courte recherche classe mieux les coups que la seule mobilité
+                    key = -lookahead8(newOpp, newOwn, empties >= DEEP_LOOKAHEAD_EMPTIES ? 2 : 1, -Integer.MAX_VALUE, Integer.MAX_VALUE);
+                } else {
+                    // Les coins de l'adversaire comptent double, ses cases potentielles une fois
+                    long replies = BitBoard8.moves(newOpp, newOwn);
+                    key = -(Long.bitCount(replies) + Long.bitCount(replies & CORNERS_8)) * 16
+                            - Long.bitCount(BitBoard8.neighbours(newOwn) & ~(newOwn | newOpp)) * 2;
+                    if ((CORNERS_8 & 1L << square) != 0) {
+                        key += 32;
+                    }
+                }
+                insert(plyMoves, plyKeys, count++, square, key);
+            }
+        } else {
+            long empty = ~(own | opp);
+            long odd = 0;
+            for (long quadrant : QUADRANTS_8) {
+                if ((Long.bitCount(empty & quadrant) & 1) != 0) {
+                    odd |= quadrant;
+                }
+            }
+            count = appendSquares(plyMoves, count, legal & odd);
+            count = appendSquares(plyMoves, count, legal & ~odd);
+            for (int i = 0; i < count; i++) {
+                plyFlips[plyMoves[i]] = BitBoard8.flips(own, opp, plyMoves[i]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Solves a position with a few empty squares without the table nor any sorting:
+     * the empty squares are tried in place, those of the regions with an odd number of empty squares first,
+     * and only when they touch a piece of the opponent.
+     */
+    private int shallow8(long own, long opp, int alpha, int beta, int empties, boolean passed) {
+        if (alpha >= 64 - 2 * Long.bitCount(opp)) {
+            int upper = 64 - 2 * Long.bitCount(BitBoard8.stable(opp, own));
+            if (upper <= alpha) {
+                return upper;
+            }
+        }
+        long empty = ~(own | opp);
+        long odd = 0;
+        for (long quadrant : QUADRANTS_8) {
+            if ((Long.bitCount(empty & quadrant) & 1) != 0) {
+                odd |= quadrant;
+            }
+        }
+        int best = -Integer.MAX_VALUE;
+        long squares = empty & odd;
+        long later = empty & ~odd;
+        while (true) {
+            if (squares == 0) {
+                if (later == 0) {
+                    break;
+                }
+                squares = later;
+                later = 0;
+            }
+            int square = Long.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+            if ((NEIGHBOURS_8[square] & opp) == 0) {
+                continue;
+            }
+            long flipped = BitBoard8.flips(own, opp, square);
+            if (flipped == 0) {
+                continue;
+            }
+            long newOwn = opp & ~flipped;
+            long newOpp = own | flipped | 1L << square;
+            int value = empties - 1 <= SMALL_EMPTIES
+                    ? -solveSmall8(newOwn, newOpp, -beta, -alpha, empties - 1)
+                    : -shallowChild8(newOwn, newOpp, -beta, -alpha, empties - 1);
+            if (value > best) {
+                best = value;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        return best;
+                    }
+                }
+            }
+        }
+        if (best == -Integer.MAX_VALUE) {
+            if (passed) {
+                return Long.bitCount(own) - Long.bitCount(opp);
+            }
+            return -shallow8(opp, own, -beta, -alpha, empties, true);
+        }
+        return best;
+    }
+
+    private int shallowChild8(long own, long opp, int alpha, int beta, int empties) {
+        if (shouldStop()) {
+            return 0;
+        }
+        return shallow8(own, opp, alpha, beta, empties, false);
+    }
+
+    /**
+     * Rates a position for the player to move, to sort the moves far from the end:
+     * mobility, corner moves, corners and stable pieces count for them,
+     * the empty squares next to their pieces count against them.
+     */
+    private static int evaluate8(long own, long opp) {
+        long mine = BitBoard8.moves(own, opp);
+        long theirs = BitBoard8.moves(opp, own);
+        long empty = ~(own | opp);
+        return (Long.bitCount(mine) - Long.bitCount(theirs)) * 16
+                + (Long.bitCount(mine & CORNERS_8) - Long.bitCount(theirs & CORNERS_8)) * 16
+                + (Long.bitCount(own & CORNERS_8) - Long.bitCount(opp & CORNERS_8)) * 64
+                + (Long.bitCount(BitBoard8.neighbours(opp) & empty) - Long.bitCount(BitBoard8.neighbours(own) & empty)) * 2
+                + (Long.bitCount(BitBoard8.stable(own, opp)) - Long.bitCount(BitBoard8.stable(opp, own))) * 8;
+    }
+
+    /**
+     * Rates a position by a shallow alpha-beta search on {@link #evaluate8(long, long)},
+     * the finished games being rated by their disc differential.
+     */
+    private static int lookahead8(long own, long opp, int depth, int alpha, int beta) {
+        if (depth == 0) {
+            return evaluate8(own, opp);
+        }
+        long legal = BitBoard8.moves(own, opp);
+        if (legal == 0) {
+            if (BitBoard8.moves(opp, own) == 0) {
+                return (Long.bitCount(own) - Long.bitCount(opp)) * 64;
+            }
+            return -lookahead8(opp, own, depth, -beta, -alpha);
+        }
+        int best = -Integer.MAX_VALUE;
+        while (legal != 0) {
+            int square = Long.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            long flipped = BitBoard8.flips(own, opp, square);
+            int value = -lookahead8(opp & ~flipped, own | flipped | 1L << square, depth - 1, -beta, -Math.max(alpha, best));
+            if (value > best) {
+                best = value;
+                if (best >= beta) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int appendSquares(int[] plyMoves, int count, long squares) {
+        while (squares != 0) {
+            plyMoves[count++] = Long.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+        }
+        return count;
+    }
+
+    private int solveN(Color color, int alpha, int beta, int empties, int ply, boolean passed, long hash) {
+        if (shouldStop()) {
+            return 0;
+        }
+        int[] plyMoves = buffer(moves, ply);
+        int count = board.getPossibleMoves(color, plyMoves);
+        if (count == 0) {
+            if (passed || empties == 0 || !board.hasValidMove(color.getOpposite())) {
+                return board.count(color) - board.count(color.getOpposite());
+            }
+            return -solveN(color.getOpposite(), -beta, -alpha, empties, ply + 1, true, hash ^ zobrist.side());
+        }
+        int tableMove = TranspositionTable.NO_MOVE;
+        if (empties >= TABLE_EMPTIES) {
+            long entry = table.probe(hash);
+            if (entry != 0) {
+                int value = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER_BOUND && value >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && value <= alpha)) {
+                    return value;
+                }
+                tableMove = TranspositionTable.move(entry);
+            }
+        }
+        orderMovesN(color, count, empties, ply);
+        if (tableMove != TranspositionTable.NO_MOVE) {
+            moveToFront(plyMoves, count, tableMove);
+        }
+        int originalAlpha = alpha;
+        int best = -Integer.MAX_VALUE;
+        int bestMove = plyMoves[0];
+        for (int i = 0; i < count; i++) {
+            int square = plyMoves[i];
+            int flipped = playN(square, color, ply);
+            long childHash = zobrist.play(hash, square, color, flips[ply], flipped);
+            int value;
+            if (i == 0) {
+                value = -solveN(color.getOpposite(), -beta, -alpha, empties - 1, ply + 1, false, childHash);
+            } else {
+                value = -solveN(color.getOpposite(), -alpha - 1, -alpha, empties - 1, ply + 1, false, childHash);
+                if (value > alpha && value < beta && !aborted) {
+                    value = -solveN(color.getOpposite(), -beta, -value, empties - 1, ply + 1, false, childHash);
+                }
+            }
+            undoN(square, color, ply, flipped);
+            if (aborted) {
+                return 0;
+            }
+            if (value > best) {
+                best = value;
+                bestMove = square;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (empties >= TABLE_EMPTIES) {
+            int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                    : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            table.store(hash, empties, best, bound, bestMove);
+        }
+        return best;
+    }
+
+    private void orderMovesN(Color color, int count, int empties, int ply) {
+        int[] plyMoves = moves[ply];
+        int[] plyKeys = buffer(keys, ply);
+        int last = size - 1;
+        for (int i = 0; i < count; i++) {
+            int square = plyMoves[i];
+            int key;
+            if (empties > FASTEST_FIRST_EMPTIES) {
+                int flipped = playN(square, color, ply);
+                key = -board.getPossibleMoves(color.getOpposite(), scratch) * 16;
+                undoN(square, color, ply, flipped);
+                int row = square / size;
+                int col = square % size;
+                if ((row == 0 || row == last) && (col == 0 || col == last)) {
+                    key += 32;
+                }
+            } else {
+                key = (regionEmpties[regions[square]] & 1) != 0 ? 1 : 0;
+            }
+            insert(plyMoves, plyKeys, i, square, key);
+        }
+    }
+
+    private int playN(int square, Color color, int ply) {
+        regionEmpties[regions[square]]--;
+        return board.play(square, color, buffer(flips, ply));
+    }
+
+    private void undoN(int square, Color color, int ply, int flipped) {
+        board.undo(square, color, flips[ply], flipped);
+        regionEmpties[regions[square]]++;
+    }
+
+    private void prepare(BitBoard position, int squares) {
+        board = position.copy();
+        if (size != position.getSize()) {
+            size = position.getSize();
+            zobrist = Zobrist.forSize(size);
+            regions = new int[squares];
+            scratch = new int[squares];
+            int half = size / 2;
+            for (int square = 0; square < squares; square++) {
+                regions[square] = (square / size >= half ? 2 : 0) + (square % size >= half ? 1 : 0);
+            }
+        }
+        regionEmpties = new int[4];
+        for (int square = 0; square < squares; square++) {
+            if (board.getColor(square) == null) {
+                regionEmpties[regions[square]]++;
+            }
+        }
+    }
+
+    /**
+     * Inserts a move in a list sorted by decreasing key.
+     */
+    private static void insert(int[] plyMoves, int[] plyKeys, int count, int square, int key) {
+        int j = count - 1;
+        while (j >= 0 && plyKeys[j] < key) {
+            plyMoves[j + 1] = plyMoves[j];
+            plyKeys[j + 1] = plyKeys[j];
+            j--;
+        }
+        plyMoves[j + 1] = square;
+        plyKeys[j + 1] = key;
+    }
+
+    private static int[] buffer(int[][] buffers, int ply) {
+        if (buffers[ply] == null) {
+            buffers[ply] = new int[MAX_SQUARES];
+        }
+        return buffers[ply];
+    }
+}
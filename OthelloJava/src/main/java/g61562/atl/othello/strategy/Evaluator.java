@@ -0,0 +1,67 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+
+/**
+ * The Evaluator interface represents the heuristic evaluation of the positions reached by a search.
+ * An evaluator may keep state about the position, updated on every move played and undone by the search,
+ * so that the evaluation itself stays cheap; such an evaluator belongs to a single search thread.
+ */
+public interface Evaluator {
+
+    /**
+     * Creates the default evaluator for boards of the specified size:
+     * a {@link PatternEvaluator} when the size has patterns, a {@link SquareEvaluator} otherwise.
+     * The pattern evaluator uses the weights given by {@link PatternWeights#configured()} if they fit the size.
+     *
+     * @param size The size of the board.
+     * @return A new evaluator.
+     */
+    static Evaluator forSize(int size) {
+        if (!PatternEvaluator.supports(size)) {
+            return new SquareEvaluator(size);
+        }
+        PatternWeights weights = PatternWeights.configured();
+        return weights != null && weights.getSize() == size ? new PatternEvaluator(weights) : new PatternEvaluator(size);
+    }
+
+    /**
+     * Sets the position from which the next moves are played.
+     *
+     * @param board The position.
+     */
+    default void reset(BitBoard board) {
+    }
+
+    /**
+     * Updates the evaluator after a move.
+     *
+     * @param square  The packed square of the move.
+     * @param color   The color of the player who moved.
+     * @param flipped The packed squares of the captured pieces.
+     * @param count   The number of captured pieces.
+     */
+    default void play(int square, Color color, int[] flipped, int count) {
+    }
+
+    /**
+     * Updates the evaluator after a move is undone.
+     *
+     * @param square  The packed square of the move.
+     * @param color   The color of the player who moved.
+     * @param flipped The packed squares of the captured pieces.
+     * @param count   The number of captured pieces.
+     */
+    default void undo(int square, Color color, int[] flipped, int count) {
+    }
+
+    /**
+     * Evaluates the current position.
+     *
+     * @param board The current position, the one given to {@link #reset} with the moves played since.
+     * @param color The color of the player to move.
+     * @return The score from the point of view of the player to move, higher is better.
+     */
+    int evaluate(BitBoard board, Color color);
+}
@@ -5,29 +5,32 @@ import g61562.atl.othello.model.Direction;
 import g61562.atl.othello.model.Game;
 import g61562.atl.othello.model.Position;
 
-import java.util.List;
-
 /**
  * The HardComputerAdversary class represents a strategy for making moves in the Othello game.
  * This strategy aims to choose the move that results in the maximum number of captures.
  */
 public class HardComputerAdversary implements ComputerAdversary {
+    private int[] moves = new int[0];
 
     @Override
     public Position chooseMove(Game game, Color color) {
-        List<Position> possibleMoves = game.getPossibleMoves(color);
-        Position bestMove = null;
+        int size = game.getBoard().getSize();
+        if (moves.length < size * size) {
+            moves = new int[size * size];
+        }
+        int count = game.getPossibleMoves(color, moves);
+        int bestMove = -1;
         int maxCaptures = -1;
 
         //Iterate through all possible moves to find the one with the highest number of captures.
-        for (Position move : possibleMoves) {
-            int captures = countCaptures(game, move.getRow(), move.getCol(), color);
+        for (int i = 0; i < count; i++) {
+            int captures = countCaptures(game, moves[i] / size, moves[i] % size, color);
             if (captures > maxCaptures) {
                 maxCaptures = captures;
-                bestMove = move;
+                bestMove = moves[i];
             }
         }
-        return bestMove;
+        return bestMove == -1 ? null : game.getBoard().toPosition(bestMove);
     }
 
     private int countCaptures(Game game, int row, int col, Color color) {
@@ -2,8 +2,8 @@ package g61562.atl.othello.strategy;
 
 /**
  * The Level enum represents the difficulty levels available for the Othello game.
- * It includes two levels: EASY and HARD.
+ * EASY and HARD only look at the current move, EXPERT and MASTER search several moves ahead.
  */
 public enum Level {
-    EASY, HARD
+    EASY, HARD, EXPERT, MASTER
 }
@@ -0,0 +1,166 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The MctsComputerAdversary class represents a strategy based on Monte Carlo Tree Search (UCT).
+ * Instead of evaluating positions, it finishes many games with random moves and grows a tree
+ * towards the moves that win most often; the move played is the most explored one.
+ * Its strength grows with the number of playouts rather than with a depth,
+ * so it can be given a number of playouts, a time budget, or both.
+ * With several threads, all of them grow the same tree (tree parallelization),
+ * a virtual loss keeping them from exploring the same branch at the same time.
+ */
+public class MctsComputerAdversary implements ComputerAdversary {
+    private static final int DEFAULT_TREE_NODES = 1 << 20;
+    private static final double DEFAULT_EXPLORATION = 0.7;
+
+    private final long playoutBudget;
+    private final long timeBudgetMillis;
+    private final int threads;
+    private MctsTree tree;
+    private final AtomicBoolean stop = new AtomicBoolean();
+    private final SplittableRandom seeds = new SplittableRandom();
+    private MctsWorker[] workers;
+    private long playouts;
+
+    /**
+     * Constructs a single-threaded MctsComputerAdversary.
+     *
+     * @param playoutBudget    The number of playouts of a move, or 0 for no limit.
+     * @param timeBudgetMillis The time budget of a move in milliseconds, or 0 for no time limit.
+     */
+    public MctsComputerAdversary(long playoutBudget, long timeBudgetMillis) {
+        this(playoutBudget, timeBudgetMillis, 1);
+    }
+
+    /**
+     * Constructs an MctsComputerAdversary searching on the specified number of threads, with a default tree size.
+     *
+     * @param playoutBudget    The number of playouts of a move, or 0 for no limit.
+     * @param timeBudgetMillis The time budget of a move in milliseconds, or 0 for no time limit.
+     * @param threads          The number of search threads, including the calling thread.
+     */
+    public MctsComputerAdversary(long playoutBudget, long timeBudgetMillis, int threads) {
+        this(playoutBudget, timeBudgetMillis, threads, DEFAULT_TREE_NODES);
+    }
+
+    /**
+     * Constructs an MctsComputerAdversary searching on the specified number of threads.
+     *
+     * @param playoutBudget    The number of playouts of a move, or 0 for no limit.
+     * @param timeBudgetMillis The time budget of a move in milliseconds, or 0 for no time limit.
+     * @param threads          The number of search threads, including the calling thread.
+     * @param treeNodes        The maximum number of nodes of the tree.
+     */
+    public MctsComputerAdversary(long playoutBudget, long timeBudgetMillis, int threads, int treeNodes) {
+        if (playoutBudget <= 0 && timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("The search needs a number of playouts or a time budget!");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("The search needs at least 1 thread!");
+        }
+        if (treeNodes < 2) {
+            throw new IllegalArgumentException("The tree needs at least 2 nodes!");
+        }
+        this.playoutBudget = playoutBudget > 0 ? playoutBudget : Long.MAX_VALUE;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.threads = threads;
+        this.tree = new MctsTree(treeNodes);
+    }
+
+    /**
+     * Gets the number of playouts of the last search, summed over all threads.
+     *
+     * @return The number of playouts of the last search.
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    @Override
+    public Position chooseMove(Game game, Color color) {
+        if (tree == null) {
+            throw new IllegalStateException("This strategy is closed!");
+        }
+        BitBoard board = game.getBoard().copyBits();
+        int[] moves = new int[board.getSize() * board.getSize()];
+        int count = board.getPossibleMoves(color, moves);
+        if (count <= 1) {
+            playouts = 0;
+            return count == 0 ? null : game.getBoard().toPosition(moves[0]);
+        }
+        long start = System.nanoTime();
+        long deadline = timeBudgetMillis > 0 ? start + timeBudgetMillis * 1_000_000 : Long.MAX_VALUE;
+        prepareWorkers(board.getSize());
+        int root = tree.reset();
+        stop.set(false);
+        AtomicLong remaining = new AtomicLong(playoutBudget);
+
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            MctsWorker helper = workers[i];
+            BitBoard helperBoard = board.copy();
+            running.add(SearchThreads.helpers().submit(() -> helper.search(tree, helperBoard, color, remaining, deadline, stop)));
+        }
+        workers[0].search(tree, board, color, remaining, deadline, stop);
+        stop.set(true);
+        waitFor(running);
+
+        playouts = tree.visits(root);
+        int best = tree.mostVisitedChild(root);
+        // Une recherche interrompue avant la première itération joue n'importe quel coup valide
+        return game.getBoard().toPosition(best == -1 ? moves[0] : tree.move(best));
+    }
+
+    private void waitFor(List<Future<?>> running) {
+        boolean interrupted = false;
+        for (Future<?> future : running) {
+            // Les threads auxiliaires doivent être terminés avant que l'arbre soit réutilisé
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("A search thread failed", e.getCause());
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void prepareWorkers(int size) {
+        if (workers != null && workers[0].getSize() == size) {
+            return;
+        }
+        workers = new MctsWorker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new MctsWorker(size, DEFAULT_EXPLORATION, seeds.nextLong());
+        }
+    }
+
+    /**
+     * Releases the tree and the search threads of this strategy.
+     * The helper threads are shared by all the strategies and stay available to the others.
+     */
+    @Override
+    public void close() {
+        workers = null;
+        tree = null;
+    }
+}
@@ -0,0 +1,183 @@
+package g61562.atl.othello.strategy;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The MctsTree class is the search tree of a {@link MctsComputerAdversary}, shared by all its threads.
+ * Nodes are indices in primitive arrays allocated once, so a search creates no garbage;
+ * the children of a node are consecutive and allocated together when the node is expanded.
+ * A node holds the move leading to it, its number of visits and the sum of the rewards of these visits
+ * for the player who played that move, in half points (2 for a win, 1 for a draw).
+ * <p>
+ * Threads update the counters with atomic operations and never lock.
+ * A visit is counted as soon as a thread goes through a node, while its reward only arrives after the playout:
+ * until then the visit counts as a loss (a virtual loss), which steers the other threads to other branches.
+ */
+final class MctsTree {
+    static final int PASS = -1;
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int UNEXPANDED = 0;
+    private static final int EXPANDING = 1;
+    private static final int EXPANDED = 2;
+
+    private final int capacity;
+    private final int[] moves;
+    private final int[] visits;
+    private final long[] rewards;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] states;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Constructs a tree of a fixed number of nodes.
+     *
+     * @param capacity The maximum number of nodes; once it is reached, the leaves are no longer expanded.
+     */
+    MctsTree(int capacity) {
+        this.capacity = capacity;
+        moves = new int[capacity];
+        visits = new int[capacity];
+        rewards = new long[capacity];
+        firstChild = new int[capacity];
+        childCount = new int[capacity];
+        states = new int[capacity];
+    }
+
+    /**
+     * Empties the tree, leaving only an unexpanded root.
+     *
+     * @return The index of the root.
+     */
+    int reset() {
+        size.set(1);
+        initialize(0, PASS);
+        return 0;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    int move(int node) {
+        return moves[node];
+    }
+
+    int visits(int node) {
+        return (int) INTS.getOpaque(visits, node);
+    }
+
+    long rewards(int node) {
+        return (long) LONGS.getOpaque(rewards, node);
+    }
+
+    boolean isExpanded(int node) {
+        return (int) INTS.getAcquire(states, node) == EXPANDED;
+    }
+
+    int childCount(int node) {
+        return childCount[node];
+    }
+
+    /**
+     * Reserves the expansion of a node for the calling thread.
+     *
+     * @param node The node to expand.
+     * @return true if the calling thread must expand the node, false if another thread does or did.
+     */
+    boolean tryExpand(int node) {
+        return INTS.compareAndSet(states, node, UNEXPANDED, EXPANDING);
+    }
+
+    /**
+     * Creates the children of a node reserved by {@link #tryExpand}.
+     * A node without children is a finished game.
+     *
+     * @param node  The node to expand.
+     * @param moves The moves of the children, {@link #PASS} for a pass.
+     * @param count The number of children.
+     * @return true if the node is expanded, false if the tree is full and the node stays a leaf.
+     */
+    boolean expand(int node, int[] moves, int count) {
+        int first;
+        do {
+            first = size.get();
+            if (first + count > capacity) {
+                INTS.setRelease(states, node, UNEXPANDED);
+                return false;
+            }
+        } while (!size.compareAndSet(first, first + count));
+        for (int i = 0; i < count; i++) {
+            initialize(first + i, moves[i]);
+        }
+        firstChild[node] = first;
+        childCount[node] = count;
+        INTS.setRelease(states, node, EXPANDED); // Publie les enfants aux autres threads
+        return true;
+    }
+
+    private void initialize(int node, int move) {
+        moves[node] = move;
+        INTS.setOpaque(visits, node, 0);
+        LONGS.setOpaque(rewards, node, 0L);
+        childCount[node] = 0;
+        INTS.setRelease(states, node, UNEXPANDED);
+    }
+
+    /**
+     * Chooses the child of an expanded node to explore with the UCT formula, and counts a visit to it.
+     * Unvisited children are tried first.
+     *
+     * @param node        The expanded node.
+     * @param exploration The weight of the exploration term.
+     * @return The index of the chosen child.
+     */
+    int select(int node, double exploration) {
+        int first = firstChild[node];
+        int count = childCount[node];
+        double logParent = Math.log(Math.max(1, visits(node)));
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < first + count; child++) {
+            int childVisits = visits(child);
+            if (childVisits == 0) {
+                best = child;
+                break;
+            }
+            double value = rewards(child) / (2.0 * childVisits) + exploration * Math.sqrt(logParent / childVisits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        addVisit(best);
+        return best;
+    }
+
+    void addVisit(int node) {
+        INTS.getAndAdd(visits, node, 1);
+    }
+
+    void addReward(int node, int reward) {
+        LONGS.getAndAdd(rewards, node, (long) reward);
+    }
+
+    /**
+     * Gets the most visited child of an expanded node, the most reliable choice at the end of a search.
+     *
+     * @param node The expanded node.
+     * @return The index of the child, or -1 if the node has no child.
+     */
+    int mostVisitedChild(int node) {
+        int best = -1;
+        for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+            if (best == -1 || visits(child) > visits(best)) {
+                best = child;
+            }
+        }
+        return best;
+    }
+}
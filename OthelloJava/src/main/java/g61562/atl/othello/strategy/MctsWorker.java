@@ -0,0 +1,197 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.BitBoard8;
+import g61562.atl.othello.model.Color;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The MctsWorker class runs the Monte Carlo iterations of one thread on a shared {@link MctsTree}.
+ * An iteration goes down the tree, expands the leaf it reaches, finishes the game with random moves
+ * and gives the result back to the nodes of its path.
+ * The worker owns its copy of the board and all its buffers: moves are played and undone in place,
+ * and the random games of a standard board are played on raw {@code long} masks, so an iteration allocates nothing.
+ */
+class MctsWorker {
+    private static final int TIME_CHECK_INTERVAL = 64;
+
+    private final int size;
+    private final double exploration;
+    private final SplittableRandom random;
+    private final int[] path;
+    private final Color[] movers;
+    private final int[] squares;
+    private final Color[] colors;
+    private final int[][] flips;
+    private final int[] flipCounts;
+    private final int[] moves;
+    private BitBoard board;
+    private int plies;
+
+    /**
+     * Constructs a worker for the boards of the specified size.
+     *
+     * @param size        The size of the board.
+     * @param exploration The weight of the exploration term of the UCT formula.
+     * @param seed        The seed of the random games.
+     */
+    MctsWorker(int size, double exploration, long seed) {
+        this.size = size;
+        this.exploration = exploration;
+        this.random = new SplittableRandom(seed);
+        int maxPlies = 2 * size * size + 2; // Chaque coup peut être suivi d'un passe
+        this.path = new int[maxPlies];
+        this.movers = new Color[maxPlies];
+        this.squares = new int[maxPlies];
+        this.colors = new Color[maxPlies];
+        this.flips = new int[maxPlies][size * size];
+        this.flipCounts = new int[maxPlies];
+        this.moves = new int[size * size];
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Runs iterations until the budget of playouts is spent, the deadline is passed or the stop flag is raised.
+     *
+     * @param tree      The tree, whose root is the position of the board.
+     * @param root      The position to search, owned by this worker during the search.
+     * @param color     The color of the player to move.
+     * @param playouts  The number of playouts left to the whole search, shared by the workers.
+     * @param deadline  The {@link System#nanoTime()} at which the search must stop.
+     * @param stop      The flag raised when the search must stop.
+     */
+    void search(MctsTree tree, BitBoard root, Color color, AtomicLong playouts, long deadline, AtomicBoolean stop) {
+        this.board = root;
+        for (long iteration = 1; !stop.get() && playouts.getAndDecrement() > 0; iteration++) {
+            iterate(tree, color);
+            if (iteration % TIME_CHECK_INTERVAL == 0
+                    && (System.nanoTime() > deadline || Thread.currentThread().isInterrupted())) {
+                stop.set(true);
+            }
+        }
+    }
+
+    private void iterate(MctsTree tree, Color rootColor) {
+        plies = 0;
+        int depth = 0;
+        int node = 0;
+        Color color = rootColor;
+        tree.addVisit(node);
+        path[0] = node;
+        movers[0] = rootColor.getOpposite();
+        while (tree.isExpanded(node) && tree.childCount(node) > 0) {
+            node = tree.select(node, exploration);
+            play(tree.move(node), color);
+            path[++depth] = node;
+            movers[depth] = color;
+            color = color.getOpposite();
+        }
+        if (!tree.isExpanded(node) && tree.tryExpand(node)) {
+            int count = board.getPossibleMoves(color, moves);
+            if (count == 0 && board.hasValidMove(color.getOpposite())) {
+                moves[0] = MctsTree.PASS;
+                count = 1;
+            }
+            if (tree.expand(node, moves, count) && count > 0) {
+                node = tree.select(node, exploration);
+                play(tree.move(node), color);
+                path[++depth] = node;
+                movers[depth] = color;
+                color = color.getOpposite();
+            }
+        }
+        int blackDifference = playout(color);
+        for (int i = 0; i <= depth; i++) {
+            int difference = movers[i] == Color.BLACK ? blackDifference : -blackDifference;
+            tree.addReward(path[i], difference > 0 ? 2 : difference == 0 ? 1 : 0);
+        }
+        while (plies > 0) {
+            plies--;
+            if (squares[plies] != MctsTree.PASS) {
+                board.undo(squares[plies], colors[plies], flips[plies], flipCounts[plies]);
+            }
+        }
+    }
+
+    private void play(int square, Color color) {
+        squares[plies] = square;
+        colors[plies] = color;
+        flipCounts[plies] = square == MctsTree.PASS ? 0 : board.play(square, color, flips[plies]);
+        plies++;
+    }
+
+    /**
+     * Finishes the game with random moves from the current position, and restores the position.
+     *
+     * @param color The color of the player to move.
+     * @return The final number of black pieces minus the number of white pieces.
+     */
+    private int playout(Color color) {
+        if (board instanceof BitBoard8 board8) {
+            long own = board8.getBits(color);
+            long opp = board8.getBits(color.getOpposite());
+            int difference = playout8(own, opp);
+            return color == Color.BLACK ? difference : -difference;
+        }
+        int start = plies;
+        boolean passed = false;
+        while (true) {
+            int count = board.getPossibleMoves(color, moves);
+            if (count == 0) {
+                if (passed) {
+                    break;
+                }
+                passed = true;
+            } else {
+                passed = false;
+                play(moves[random.nextInt(count)], color);
+            }
+            color = color.getOpposite();
+        }
+        int difference = board.count(Color.BLACK) - board.count(Color.WHITE);
+        while (plies > start) {
+            plies--;
+            board.undo(squares[plies], colors[plies], flips[plies], flipCounts[plies]);
+        }
+        return difference;
+    }
+
+    /**
+     * Finishes the game on raw masks.
+     *
+     * @return The final number of pieces of the player to move minus the number of pieces of the opponent.
+     */
+    private int playout8(long own, long opp) {
+        boolean passed = false;
+        int sign = 1;
+        while (true) {
+            long legal = BitBoard8.moves(own, opp);
+            if (legal == 0) {
+                if (passed) {
+                    break;
+                }
+                passed = true;
+            } else {
+                passed = false;
+                for (int skip = random.nextInt(Long.bitCount(legal)); skip > 0; skip--) {
+                    legal &= legal - 1;
+                }
+                int square = Long.numberOfTrailingZeros(legal);
+                long flipped = BitBoard8.flips(own, opp, square);
+                own |= flipped | 1L << square;
+                opp &= ~flipped;
+            }
+            long swap = own;
+            own = opp;
+            opp = swap;
+            sign = -sign;
+        }
+        return sign * (Long.bitCount(own) - Long.bitCount(opp));
+    }
+}
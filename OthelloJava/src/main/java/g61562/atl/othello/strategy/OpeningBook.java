@@ -0,0 +1,187 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Symmetry;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The OpeningBook class gives the moves known to be good in the first positions of a game.
+ * The book is a binary file read through a read-only memory mapping: opening it costs nothing per game,
+ * and every strategy using the same file shares the same mapping.
+ * Positions are stored in their canonical form under the 8 symmetries of the board,
+ * so a single entry serves the rotated and reflected versions of a position.
+ * <p>
+ * The file starts with a header (magic number, board size, number of entries),
+ * followed by entries of 16 bytes sorted by hash: the canonical hash of the position,
+ * a move in the canonical orientation and its score for the player to move.
+ * A position has one entry per move played from it.
+ */
+public final class OpeningBook {
+    static final long MAGIC = 0x4F5448424F4F4B31L; // "OTHBOOK1"
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 16;
+    /**
+     * The system property giving the path of the book used by the strongest levels of the game.
+     */
+    public static final String BOOK_PROPERTY = "othello.book";
+    private static final Map<Path, Opened> OPENED = new ConcurrentHashMap<>();
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final int entries;
+
+    private OpeningBook(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getLong(0) != MAGIC) {
+            throw new IllegalArgumentException("This file is not an opening book!");
+        }
+        this.size = buffer.getInt(8);
+        this.entries = buffer.getInt(12);
+        if ((long) HEADER_BYTES + (long) entries * ENTRY_BYTES > buffer.capacity()) {
+            throw new IllegalArgumentException("The opening book is truncated!");
+        }
+    }
+
+    /**
+     * Opens an opening book, or returns the one already opened from the same file if it has not changed since,
+     * that is if it still has the same last modification time and length.
+     * A book is replaced by moving a new file over the old one, never rewritten in place,
+     * so the books already opened keep reading the mapping of the old file.
+     *
+     * @param path The path of the book file.
+     * @return The opening book.
+     * @throws IOException if the file cannot be read.
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        Path file = path.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Opened opened = OPENED.get(file);
+        if (opened != null && opened.matches(attributes)) {
+            return opened.book();
+        }
+        OpeningBook book;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // La projection reste valide après la fermeture du canal
+            book = new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        OPENED.put(file, new Opened(attributes.lastModifiedTime(), attributes.size(), book));
+        return book;
+    }
+
+    /**
+     * Opens the book given by the {@value #BOOK_PROPERTY} system property, if any.
+     * A file that cannot be opened is reported on the standard error stream.
+     *
+     * @return The opening book, or null if the property is not set or the file is not a readable book.
+     */
+    public static OpeningBook configured() {
+        String path = System.getProperty(BOOK_PROPERTY);
+        if (path == null) {
+            return null;
+        }
+        try {
+            return open(Path.of(path));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Cannot open the opening book " + path + ": " + e.getMessage());
+            return null; // La partie se joue sans livre plutôt que de ne pas démarrer
+        }
+    }
+
+    /**
+     * Gets the size of the boards of this book.
+     *
+     * @return The size of the board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of entries of this book.
+     *
+     * @return The number of (position, move) entries.
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * Finds the best move of the book for a position.
+     *
+     * @param board The position.
+     * @param color The color of the player to move.
+     * @return The packed square of the best move, or -1 if the position is not in the book.
+     */
+    public int bestMove(BitBoard board, Color color) {
+        if (board.getSize() != size) {
+            return -1;
+        }
+        Symmetry.Canonical canonical = Symmetry.canonicalize(board, color);
+        int index = firstEntry(canonical.hash());
+        if (index < 0) {
+            return -1;
+        }
+        int bestMove = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (; index < entries && hash(index) == canonical.hash(); index++) {
+            int score = buffer.getInt(offset(index) + 12);
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = buffer.getInt(offset(index) + 8);
+            }
+        }
+        int move = canonical.fromCanonical(bestMove);
+        // Une collision de hachage pourrait désigner une case déjà occupée
+        return board.isValidMove(move, color) ? move : -1;
+    }
+
+    /**
+     * Finds the first entry of a hash by binary search.
+     *
+     * @return The index of the first entry, or -1 if the hash is not in the book.
+     */
+    private int firstEntry(long hash) {
+        int low = 0;
+        int high = entries;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(hash(middle), hash) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low < entries && hash(low) == hash ? low : -1;
+    }
+
+    private long hash(int index) {
+        return buffer.getLong(offset(index));
+    }
+
+    private static int offset(int index) {
+        return HEADER_BYTES + index * ENTRY_BYTES;
+    }
+
+    /**
+     * A book opened from a file, with the state of the file when it was opened.
+     */
+    private record Opened(FileTime modified, long length, OpeningBook book) {
+
+        boolean matches(BasicFileAttributes attributes) {
+            return modified.equals(attributes.lastModifiedTime()) && length == attributes.size();
+        }
+    }
+}
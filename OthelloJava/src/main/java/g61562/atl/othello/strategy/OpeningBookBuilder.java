@@ -0,0 +1,177 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.GameRecord;
+import g61562.atl.othello.model.Symmetry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The OpeningBookBuilder class creates an {@link OpeningBook} from finished games, typically self-play games.
+ * Every move played in the first plies of a game is credited with the final disc differential of the game,
+ * from the point of view of the player who played it; the score of a move in the book is the average over the games.
+ * Moves played in fewer games than a minimum are left out, their average being too uncertain.
+ * Games can be added from several threads, or the statistics can be taken from a {@link PositionDatabase}.
+ */
+public class OpeningBookBuilder {
+    private final int size;
+    private final int maxPlies;
+    private final int minGames;
+    private final Map<Entry, long[]> statistics = new HashMap<>();
+    private final BitBoard start;
+
+    /**
+     * Constructs a builder for the specified board size.
+     *
+     * @param size     The size of the board.
+     * @param maxPlies The number of plies of every game stored in the book.
+     * @param minGames The minimum number of games in which a move was played to be stored.
+     */
+    public OpeningBookBuilder(int size, int maxPlies, int minGames) {
+        this.size = size;
+        this.maxPlies = maxPlies;
+        this.minGames = minGames;
+        this.start = new Game(size, null, false).getBoard().copyBits();
+    }
+
+    /**
+     * Adds a finished game to the book.
+     * Passes are not written in the moves: a move that is not valid for the player to move is played by the other one,
+     * provided the player to move has no valid move (see {@link GameRecord#passesBefore}).
+     *
+     * @param moves The packed squares of the moves of the game, in order.
+     * @throws IllegalArgumentException if a move is not valid or the game is not finished.
+     */
+    public void addGame(int[] moves) {
+        BitBoard board = start.copy();
+        Entry[] played = new Entry[Math.min(moves.length, maxPlies)];
+        Color[] players = new Color[played.length];
+        Color color = Color.BLACK;
+        for (int ply = 0; ply < moves.length; ply++) {
+            if (GameRecord.passesBefore(board, color, moves[ply])) {
+                color = color.getOpposite();
+            }
+            if (ply < played.length) {
+                Symmetry.Canonical canonical = Symmetry.canonicalize(board, color);
+                played[ply] = new Entry(canonical.hash(), canonical.toCanonical(moves[ply]));
+                players[ply] = color;
+            }
+            board.play(moves[ply], color, null);
+            color = color.getOpposite();
+        }
+        if (board.hasValidMove(Color.BLACK) || board.hasValidMove(Color.WHITE)) {
+            throw new IllegalArgumentException("The game is not finished!");
+        }
+        int blackDifference = board.count(Color.BLACK) - board.count(Color.WHITE);
+        synchronized (statistics) {
+            for (int ply = 0; ply < played.length; ply++) {
+                long[] statistic = statistics.computeIfAbsent(played[ply], entry -> new long[2]);
+                statistic[0]++;
+                statistic[1] += players[ply] == Color.BLACK ? blackDifference : -blackDifference;
+            }
+        }
+    }
+
+    /**
+     * Adds the moves of the first plies known by a position database.
+     * The tree of the moves played in at least the minimum number of games is walked from the start position,
+     * and every move is credited with the statistics of the position it reaches.
+     * These statistics replace the ones of the same moves added from games.
+     *
+     * @param database The position database, of the size of the book.
+     * @return The number of moves added.
+     * @throws IllegalArgumentException if the database is not of the size of the book.
+     */
+    public int addDatabase(PositionDatabase database) {
+        if (database.getSize() != size) {
+            throw new IllegalArgumentException("The position database is for boards of size " + database.getSize());
+        }
+        return addDatabase(database, start.copy(), Color.BLACK, 0, new HashSet<>());
+    }
+
+    private int addDatabase(PositionDatabase database, BitBoard board, Color color, int ply, Set<Long> visited) {
+        Symmetry.Canonical canonical = Symmetry.canonicalize(board, color);
+        long hash = canonical.hash();
+        // Les transpositions et les positions symétriques ne sont parcourues qu'une fois
+        if (ply >= maxPlies || !visited.add(hash)) {
+            return 0;
+        }
+        int[] moves = new int[size * size];
+        int count = board.getPossibleMoves(color, moves);
+        int added = 0;
+        int[] flipped = new int[size * size];
+        for (int i = 0; i < count; i++) {
+            PositionDatabase.Stats stats = database.lookupMove(board, color, moves[i]);
+            if (stats == null || stats.games() < minGames) {
+                continue;
+            }
+            synchronized (statistics) {
+                statistics.put(new Entry(hash, canonical.toCanonical(moves[i])),
+                        new long[]{stats.games(), stats.discs()});
+            }
+            added++;
+            int flips = board.play(moves[i], color, flipped);
+            Color next = board.hasValidMove(color.getOpposite()) ? color.getOpposite() : color;
+            if (board.hasValidMove(next)) {
+                added += addDatabase(database, board, next, ply + 1, visited);
+            }
+            board.undo(moves[i], color, flipped, flips);
+        }
+        return added;
+    }
+
+    /**
+     * Writes the book file, replacing an existing book at once.
+     *
+     * @param path The path of the file to create or replace.
+     * @return The number of entries written.
+     * @throws IOException if the file cannot be written.
+     */
+    public int write(Path path) throws IOException {
+        List<Map.Entry<Entry, long[]>> kept = new ArrayList<>();
+        synchronized (statistics) {
+            for (Map.Entry<Entry, long[]> statistic : statistics.entrySet()) {
+                if (statistic.getValue()[0] >= minGames) {
+                    kept.add(statistic);
+                }
+            }
+        }
+        kept.sort(Comparator.comparing((Map.Entry<Entry, long[]> statistic) -> statistic.getKey().hash(),
+                Long::compareUnsigned).thenComparingInt(statistic -> statistic.getKey().move()));
+        // Le livre est écrit à côté puis mis en place d'un coup : un livre ouvert projette encore l'ancien fichier
+        Path written = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(written)))) {
+            out.writeLong(OpeningBook.MAGIC);
+            out.writeInt(size);
+            out.writeInt(kept.size());
+            for (Map.Entry<Entry, long[]> statistic : kept) {
+                long[] value = statistic.getValue();
+                out.writeLong(statistic.getKey().hash());
+                out.writeInt(statistic.getKey().move());
+                out.writeInt((int) Math.round(100.0 * value[1] / value[0])); // Différence moyenne en centièmes de pion
+            }
+        }
+        Files.move(written, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return kept.size();
+    }
+
+    /**
+     * A move played from a position, in the canonical orientation of the position.
+     */
+    private record Entry(long hash, int move) {
+    }
+}
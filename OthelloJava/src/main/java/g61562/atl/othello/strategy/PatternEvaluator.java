@@ -0,0 +1,262 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The PatternEvaluator class evaluates a position by looking up the configuration of its {@link Patterns}
+ * (edges, corners, 2x5 corners and diagonals) in precomputed tables,
+ * and by adding the mobility and the potential mobility of the players.
+ * The weights depend on the phase of the game: the evaluation interpolates between the weights of the two phases
+ * surrounding the number of pieces on the board.
+ * The configurations are kept up to date on every move played and undone,
+ * so an evaluation costs a few table lookups and the computation of the mobility.
+ * <p>
+ * Without trained {@link PatternWeights}, the tables are filled from the classic square weights,
+ * corrected by what patterns can see and single squares cannot:
+ * the squares next to a corner are only dangerous while the corner is empty,
+ * and the pieces of an edge that are connected to a corner of their color can no longer be captured.
+ */
+public class PatternEvaluator implements Evaluator {
+    static final int PHASE_SCALE = 256;
+    private static final int STABLE_WEIGHT = 15;
+    private static final int[][] DEFAULT_MOBILITY = {{5, 2}, {3, 0}}; // Ouverture puis finale
+    private static final Map<Integer, int[][]> DEFAULT_WEIGHTS = new ConcurrentHashMap<>();
+
+    private final Patterns patterns;
+    private final int[][] weights;
+    private final int[] indices;
+    private final int[] moves;
+    private final int squares;
+
+    /**
+     * Constructs an evaluator with the default weights.
+     *
+     * @param size The size of the board, see {@link #supports(int)}.
+     */
+    public PatternEvaluator(int size) {
+        this(Patterns.forSize(size),
+                DEFAULT_WEIGHTS.computeIfAbsent(size, key -> defaultWeights(Patterns.forSize(key))));
+    }
+
+    /**
+     * Constructs an evaluator with trained weights.
+     *
+     * @param weights The weights, whose size is the size of the board.
+     */
+    public PatternEvaluator(PatternWeights weights) {
+        this(Patterns.forSize(weights.getSize()), weights.weights());
+    }
+
+    /**
+     * Constructs an evaluator with the specified weights.
+     *
+     * @param patterns The patterns of the board size.
+     * @param weights  The weights of each phase, from the opening to the end of the game, only read.
+     */
+    PatternEvaluator(Patterns patterns, int[][] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("The evaluator needs the weights of at least one phase!");
+        }
+        for (int[] phase : weights) {
+            if (phase.length != patterns.weightsPerPhase) {
+                throw new IllegalArgumentException("The weights do not match the patterns of the board!");
+            }
+        }
+        this.patterns = patterns;
+        this.weights = weights;
+        this.indices = new int[patterns.placements.length];
+        this.moves = new int[patterns.size * patterns.size];
+        this.squares = patterns.size * patterns.size;
+    }
+
+    /**
+     * Tells whether the patterns are defined for a board size.
+     *
+     * @param size The size of the board.
+     * @return true if a pattern evaluator can be created for the size.
+     */
+    public static boolean supports(int size) {
+        return Patterns.supports(size);
+    }
+
+    @Override
+    public void reset(BitBoard board) {
+        patterns.indices(board, indices);
+    }
+
+    @Override
+    public void play(int square, Color color, int[] flipped, int count) {
+        update(square, color, flipped, count, 1);
+    }
+
+    @Override
+    public void undo(int square, Color color, int[] flipped, int count) {
+        update(square, color, flipped, count, -1);
+    }
+
+    private void update(int square, Color color, int[] flipped, int count, int sign) {
+        int[] placements = patterns.squarePlacements[square];
+        int[] powers = patterns.squarePowers[square];
+        int digit = sign * Patterns.digit(color);
+        for (int i = 0; i < placements.length; i++) {
+            indices[placements[i]] += digit * powers[i];
+        }
+        // Un pion retourné passe du chiffre 2 au chiffre 1 s'il devient noir, de 1 à 2 s'il devient blanc
+        int change = sign * (color == Color.BLACK ? -1 : 1);
+        for (int f = 0; f < count; f++) {
+            placements = patterns.squarePlacements[flipped[f]];
+            powers = patterns.squarePowers[flipped[f]];
+            for (int i = 0; i < placements.length; i++) {
+                indices[placements[i]] += change * powers[i];
+            }
+        }
+    }
+
+    @Override
+    public int evaluate(BitBoard board, Color color) {
+        int mobility = Patterns.mobility(board, moves);
+        int potential = patterns.potentialMobility(board);
+        int position = phasePosition(squares - board.emptyCount(), squares, weights.length);
+        int phase = position / PHASE_SCALE;
+        int fraction = position % PHASE_SCALE;
+        long score = (long) phaseScore(phase, mobility, potential) * (PHASE_SCALE - fraction);
+        if (fraction != 0) {
+            score += (long) phaseScore(phase + 1, mobility, potential) * fraction;
+        }
+        int blackScore = (int) (score / PHASE_SCALE);
+        return color == Color.BLACK ? blackScore : -blackScore;
+    }
+
+    /**
+     * Places a position between the phases of the game, from the starting position to the full board.
+     *
+     * @param pieces  The number of pieces on the board.
+     * @param squares The number of squares of the board.
+     * @param phases  The number of phases.
+     * @return The phase of the position times {@link #PHASE_SCALE}, the remainder giving the weight of the next phase.
+     */
+    static int phasePosition(int pieces, int squares, int phases) {
+        long progress = (long) (pieces - 4) * (phases - 1) * PHASE_SCALE / (squares - 4);
+        return Math.clamp(progress, 0, (phases - 1) * PHASE_SCALE);
+    }
+
+    /**
+     * Computes the score of the position for black with the weights of one phase.
+     */
+    private int phaseScore(int phase, int mobility, int potential) {
+        int[] phaseWeights = weights[phase];
+        int score = phaseWeights[Patterns.MOBILITY] * mobility + phaseWeights[Patterns.POTENTIAL_MOBILITY] * potential;
+        int[] offsets = patterns.placementOffsets;
+        for (int i = 0; i < indices.length; i++) {
+            score += phaseWeights[offsets[i] + indices[i]];
+        }
+        return score;
+    }
+
+    /**
+     * Computes the default weights of two phases, the opening and the end of the game.
+     * The weight of a square is shared between the patterns covering it.
+     *
+     * @param patterns The patterns of the board size.
+     * @return The weights of each phase.
+     */
+    static int[][] defaultWeights(Patterns patterns) {
+        int size = patterns.size;
+        int[] squareWeights = SquareEvaluator.squareWeights(size);
+        int[] coverage = new int[size * size];
+        for (int[] placement : patterns.placements) {
+            for (int square : placement) {
+                coverage[square]++;
+            }
+        }
+        int[] tables = new int[patterns.weightsPerPhase];
+        for (int shape = 0; shape < Patterns.SHAPES; shape++) {
+            int[] squares = Patterns.shape(shape, size);
+            int[] digits = new int[squares.length];
+            for (int index = 0; index < patterns.shapeLengths[shape]; index++) {
+                int rest = index;
+                for (int k = 0; k < squares.length; k++) {
+                    digits[k] = rest % 3;
+                    rest /= 3;
+                }
+                tables[patterns.shapeOffsets[shape] + index] =
+                        configurationWeight(shape, squares, digits, squareWeights, coverage, size);
+            }
+        }
+        int[][] weights = new int[DEFAULT_MOBILITY.length][];
+        for (int phase = 0; phase < weights.length; phase++) {
+            weights[phase] = tables.clone();
+            weights[phase][Patterns.MOBILITY] = DEFAULT_MOBILITY[phase][0];
+            weights[phase][Patterns.POTENTIAL_MOBILITY] = DEFAULT_MOBILITY[phase][1];
+        }
+        return weights;
+    }
+
+    private static int configurationWeight(int shape, int[] squares, int[] digits, int[] squareWeights,
+                                           int[] coverage, int size) {
+        double weight = 0;
+        for (int k = 0; k < squares.length; k++) {
+            if (digits[k] != 0) {
+                int square = squares[k];
+                int value = squareWeights[square];
+                if (value < 0 && nextToTakenCorner(square, squares, digits, size)) {
+                    value = 0;
+                }
+                weight += sign(digits[k]) * (double) value / coverage[square];
+            }
+        }
+        if (shape == Patterns.EDGE) {
+            weight += STABLE_WEIGHT * stableEdgePieces(digits);
+        }
+        return (int) Math.round(weight);
+    }
+
+    private static boolean nextToTakenCorner(int square, int[] squares, int[] digits, int size) {
+        int last = size - 1;
+        for (int k = 0; k < squares.length; k++) {
+            int row = squares[k] / size;
+            int col = squares[k] % size;
+            boolean corner = (row == 0 || row == last) && (col == 0 || col == last);
+            if (corner && digits[k] != 0
+                    && Math.abs(row - square / size) <= 1 && Math.abs(col - square % size) <= 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the pieces of an edge that cannot be captured anymore, black ones counting positively:
+     * the pieces of a full edge, and the pieces connected to a corner by pieces of their color.
+     */
+    private static int stableEdgePieces(int[] digits) {
+        int last = digits.length - 1;
+        boolean full = true;
+        for (int digit : digits) {
+            full &= digit != 0;
+        }
+        int stable = 0;
+        for (int k = 1; k < last; k++) {
+            boolean fromFirst = true;
+            boolean fromLast = true;
+            for (int j = 0; j < k; j++) {
+                fromFirst &= digits[j] == digits[k];
+            }
+            for (int j = k + 1; j <= last; j++) {
+                fromLast &= digits[j] == digits[k];
+            }
+            if (digits[k] != 0 && (full || fromFirst || fromLast)) {
+                stable += sign(digits[k]);
+            }
+        }
+        return stable;
+    }
+
+    private static int sign(int digit) {
+        return digit == 1 ? 1 : -1;
+    }
+}
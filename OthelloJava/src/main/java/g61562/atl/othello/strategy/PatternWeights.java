@@ -0,0 +1,154 @@
+package g61562.atl.othello.strategy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The PatternWeights class holds the weights of a {@link PatternEvaluator}, as fitted by a {@link WeightTrainer}.
+ * The weights are stored in a binary file: a header (magic number, board size, number of phases,
+ * number of weights per phase) followed by the weights of each phase, from the opening to the end of the game,
+ * in the order described by {@link Patterns}. Scores are in hundredths of a piece.
+ */
+public final class PatternWeights {
+    static final long MAGIC = 0x4F54484556414C31L; // "OTHEVAL1"
+    /**
+     * The system property giving the path of the weights loaded by the evaluators at startup.
+     */
+    public static final String WEIGHTS_PROPERTY = "othello.weights";
+    private static final Map<Path, Loaded> LOADED = new ConcurrentHashMap<>();
+
+    private final int size;
+    private final int[][] weights;
+
+    PatternWeights(int size, int[][] weights) {
+        Patterns patterns = Patterns.forSize(size);
+        for (int[] phase : weights) {
+            if (phase.length != patterns.weightsPerPhase) {
+                throw new IllegalArgumentException("The weights do not match the patterns of the board!");
+            }
+        }
+        this.size = size;
+        this.weights = weights;
+    }
+
+    /**
+     * Reads weights from a file, or returns the ones already read from the same file if it has not changed since,
+     * that is if it still has the same last modification time and length.
+     *
+     * @param path The path of the weight file.
+     * @return The weights.
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if the file does not hold weights for a board with patterns.
+     */
+    public static PatternWeights read(Path path) throws IOException {
+        Path file = path.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Loaded cached = LOADED.get(file);
+        if (cached != null && cached.matches(attributes)) {
+            return cached.weights();
+        }
+        PatternWeights loaded;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readLong() != MAGIC) {
+                throw new IllegalArgumentException("This file does not hold evaluation weights!");
+            }
+            int size = in.readInt();
+            int phases = in.readInt();
+            int perPhase = in.readInt();
+            if (!Patterns.supports(size) || phases < 1 || perPhase != Patterns.forSize(size).weightsPerPhase) {
+                throw new IllegalArgumentException("The weights do not match the patterns of the board!");
+            }
+            int[][] weights = new int[phases][perPhase];
+            for (int[] phase : weights) {
+                for (int i = 0; i < perPhase; i++) {
+                    phase[i] = in.readInt();
+                }
+            }
+            loaded = new PatternWeights(size, weights);
+        }
+        // Un fichier réécrit par l'entraînement remplace les poids lus avant
+        LOADED.put(file, new Loaded(attributes.lastModifiedTime(), attributes.size(), loaded));
+        return loaded;
+    }
+
+    /**
+     * Reads the weights given by the {@value #WEIGHTS_PROPERTY} system property, if any.
+     *
+     * A file that cannot be read is reported on the standard error stream.
+     *
+     * @return The weights, or null if the property is not set or the file cannot be read.
+     */
+    public static PatternWeights configured() {
+        String path = System.getProperty(WEIGHTS_PROPERTY);
+        if (path == null) {
+            return null;
+        }
+        try {
+            return read(Path.of(path));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Cannot read the weights " + path + ": " + e.getMessage());
+            return null; // Les poids par défaut font l'affaire
+        }
+    }
+
+    /**
+     * Writes the weights to a file.
+     *
+     * @param path The path of the file to create or replace.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeLong(MAGIC);
+            out.writeInt(size);
+            out.writeInt(weights.length);
+            out.writeInt(weights[0].length);
+            for (int[] phase : weights) {
+                for (int weight : phase) {
+                    out.writeInt(weight);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the size of the boards of these weights.
+     *
+     * @return The size of the board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of game phases of these weights.
+     *
+     * @return The number of phases.
+     */
+    public int getPhases() {
+        return weights.length;
+    }
+
+    int[][] weights() {
+        return weights;
+    }
+
+    /**
+     * Weights read from a file, with the state of the file when they were read.
+     */
+    private record Loaded(FileTime modified, long length, PatternWeights weights) {
+
+        boolean matches(BasicFileAttributes attributes) {
+            return modified.equals(attributes.lastModifiedTime()) && length == attributes.size();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.BitBoard8;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Symmetry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Patterns class describes the patterns of squares used by the {@link PatternEvaluator} on a board size:
+ * the edges, the 3x3 corners, the 2x5 corners and the two main diagonals.
+ * Every pattern is a shape placed on the board by the symmetries; all the placements of a shape share one table.
+ * The configuration of a placement is a number in base 3, one digit per square
+ * (0 for empty, 1 for black, 2 for white), used as the index in the table of its shape.
+ * <p>
+ * The weights of a game phase are a single array: the weight of the mobility, the weight of the potential mobility,
+ * then the tables of the shapes one after the other.
+ */
+final class Patterns {
+    static final int EDGE = 0;
+    static final int CORNER = 1;
+    static final int CORNER_2X5 = 2;
+    static final int DIAGONAL = 3;
+    static final int SHAPES = 4;
+    static final int MOBILITY = 0;
+    static final int POTENTIAL_MOBILITY = 1;
+    private static final int FIRST_TABLE = 2;
+    private static final int MIN_SIZE = 6;
+    private static final int MAX_SIZE = 10;
+    private static final Patterns[] INSTANCES = new Patterns[MAX_SIZE + 1];
+
+    final int size;
+    final int[][] placements;
+    final int[] placementShapes;
+    final int[] placementOffsets;
+    final int[] shapeOffsets;
+    final int[] shapeLengths;
+    final int weightsPerPhase;
+    final int[][] squarePlacements;
+    final int[][] squarePowers;
+    private final int[][] neighbours;
+
+    private Patterns(int size) {
+        this.size = size;
+        List<int[]> found = new ArrayList<>();
+        List<Integer> shapes = new ArrayList<>();
+        shapeOffsets = new int[SHAPES];
+        shapeLengths = new int[SHAPES];
+        int offset = FIRST_TABLE;
+        for (int shape = 0; shape < SHAPES; shape++) {
+            int[] squares = shape(shape, size);
+            shapeOffsets[shape] = offset;
+            shapeLengths[shape] = power(squares.length);
+            offset += shapeLengths[shape];
+            List<int[]> sets = new ArrayList<>();
+            for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+                int[] placement = new int[squares.length];
+                for (int k = 0; k < squares.length; k++) {
+                    placement[k] = Symmetry.transform(squares[k], symmetry, size);
+                }
+                int[] set = placement.clone();
+                Arrays.sort(set);
+                // Une symétrie qui laisse la forme en place ne donne pas un nouveau motif
+                if (sets.stream().noneMatch(other -> Arrays.equals(other, set))) {
+                    sets.add(set);
+                    found.add(placement);
+                    shapes.add(shape);
+                }
+            }
+        }
+        weightsPerPhase = offset;
+        placements = found.toArray(new int[0][]);
+        placementShapes = new int[placements.length];
+        placementOffsets = new int[placements.length];
+        for (int i = 0; i < placements.length; i++) {
+            placementShapes[i] = shapes.get(i);
+            placementOffsets[i] = shapeOffsets[placementShapes[i]];
+        }
+        squarePlacements = new int[size * size][];
+        squarePowers = new int[size * size][];
+        for (int square = 0; square < size * size; square++) {
+            List<int[]> uses = new ArrayList<>();
+            for (int i = 0; i < placements.length; i++) {
+                for (int k = 0; k < placements[i].length; k++) {
+                    if (placements[i][k] == square) {
+                        uses.add(new int[]{i, power(k)});
+                    }
+                }
+            }
+            squarePlacements[square] = uses.stream().mapToInt(use -> use[0]).toArray();
+            squarePowers[square] = uses.stream().mapToInt(use -> use[1]).toArray();
+        }
+        neighbours = neighbours(size);
+    }
+
+    /**
+     * Tells whether the patterns are defined for a board size.
+     *
+     * @param size The size of the board.
+     * @return true if the board is large enough for the patterns and small enough for their tables.
+     */
+    static boolean supports(int size) {
+        return size >= MIN_SIZE && size <= MAX_SIZE;
+    }
+
+    /**
+     * Gets the patterns of a board size, created once and shared by all the evaluators.
+     *
+     * @param size The size of the board, between 6 and 10.
+     * @return The patterns of the size.
+     */
+    static synchronized Patterns forSize(int size) {
+        if (!supports(size)) {
+            throw new IllegalArgumentException("No patterns for a board of size " + size);
+        }
+        if (INSTANCES[size] == null) {
+            INSTANCES[size] = new Patterns(size);
+        }
+        return INSTANCES[size];
+    }
+
+    /**
+     * Gets the squares of a shape in its reference placement, next to the top left corner.
+     * The order of the squares gives the order of the digits of the configurations.
+     *
+     * @param shape The shape.
+     * @param size  The size of the board.
+     * @return The packed squares of the shape.
+     */
+    static int[] shape(int shape, int size) {
+        return switch (shape) {
+            case EDGE -> rectangle(1, size, size);
+            case CORNER -> rectangle(3, 3, size);
+            case CORNER_2X5 -> rectangle(2, 5, size);
+            case DIAGONAL -> {
+                int[] squares = new int[size];
+                for (int i = 0; i < size; i++) {
+                    squares[i] = i * size + i;
+                }
+                yield squares;
+            }
+            default -> throw new IllegalArgumentException("Invalid shape: " + shape);
+        };
+    }
+
+    private static int[] rectangle(int rows, int cols, int size) {
+        int[] squares = new int[rows * cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                squares[row * cols + col] = row * size + col;
+            }
+        }
+        return squares;
+    }
+
+    /**
+     * Computes the configuration of every placement from scratch.
+     *
+     * @param board   The position.
+     * @param indices The array receiving the index of each placement in the table of its shape.
+     */
+    void indices(BitBoard board, int[] indices) {
+        for (int i = 0; i < placements.length; i++) {
+            int index = 0;
+            for (int k = placements[i].length - 1; k >= 0; k--) {
+                index = 3 * index + digit(board.getColor(placements[i][k]));
+            }
+            indices[i] = index;
+        }
+    }
+
+    static int digit(Color color) {
+        return color == null ? 0 : color == Color.BLACK ? 1 : 2;
+    }
+
+    /**
+     * Computes the difference between the number of valid moves of black and white.
+     *
+     * @param board  The position.
+     * @param buffer A buffer for the moves of the board size.
+     * @return The mobility of black minus the one of white.
+     */
+    static int mobility(BitBoard board, int[] buffer) {
+        if (board instanceof BitBoard8 board8) {
+            long black = board8.getBits(Color.BLACK);
+            long white = board8.getBits(Color.WHITE);
+            return Long.bitCount(BitBoard8.moves(black, white)) - Long.bitCount(BitBoard8.moves(white, black));
+        }
+        return board.getPossibleMoves(Color.BLACK, buffer) - board.getPossibleMoves(Color.WHITE, buffer);
+    }
+
+    /**
+     * Computes the difference between the potential mobility of black and white.
+     * The potential mobility of a player is the number of empty squares next to a piece of the opponent:
+     * the squares where the player may be able to move later.
+     *
+     * @param board The position.
+     * @return The potential mobility of black minus the one of white.
+     */
+    int potentialMobility(BitBoard board) {
+        if (board instanceof BitBoard8 board8) {
+            long black = board8.getBits(Color.BLACK);
+            long white = board8.getBits(Color.WHITE);
+            long empty = ~(black | white);
+            return Long.bitCount(empty & BitBoard8.neighbours(white)) - Long.bitCount(empty & BitBoard8.neighbours(black));
+        }
+        int potential = 0;
+        for (int square = 0; square < size * size; square++) {
+            if (board.getColor(square) == null) {
+                boolean nextToBlack = false;
+                boolean nextToWhite = false;
+                for (int neighbour : neighbours[square]) {
+                    Color color = board.getColor(neighbour);
+                    nextToBlack |= color == Color.BLACK;
+                    nextToWhite |= color == Color.WHITE;
+                }
+                potential += (nextToWhite ? 1 : 0) - (nextToBlack ? 1 : 0);
+            }
+        }
+        return potential;
+    }
+
+    private static int[][] neighbours(int size) {
+        int[][] result = new int[size * size][];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                List<Integer> around = new ArrayList<>();
+                for (int dRow = -1; dRow <= 1; dRow++) {
+                    for (int dCol = -1; dCol <= 1; dCol++) {
+                        int r = row + dRow;
+                        int c = col + dCol;
+                        if ((dRow != 0 || dCol != 0) && r >= 0 && r < size && c >= 0 && c < size) {
+                            around.add(r * size + c);
+                        }
+                    }
+                }
+                result[row * size + col] = around.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+        return result;
+    }
+
+    static int power(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 3;
+        }
+        return result;
+    }
+}
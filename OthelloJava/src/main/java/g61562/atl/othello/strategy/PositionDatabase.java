@@ -0,0 +1,489 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.GameRecord;
+import g61562.atl.othello.model.Symmetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The PositionDatabase class tells how the positions of recorded games scored historically:
+ * how many games went through a position, how many of them the player to move won, drew or lost,
+ * the average final disc differential and the best move known from it.
+ * <p>
+ * The database is an open-addressing hash table stored in a file and read through a memory mapping,
+ * so a lookup costs a few memory reads and the positions of millions of games never live in the heap.
+ * Positions are keyed by the Zobrist hash of their canonical form under the 8 symmetries of the board,
+ * and their statistics are kept from the point of view of the player to move.
+ * <p>
+ * The file starts with a header (magic number, board size, number of slots, number of positions),
+ * followed by slots of 32 bytes: the canonical hash (0 for an empty slot), the wins, draws and losses,
+ * the best move in the canonical orientation and the sum of the final disc differentials.
+ * The table doubles in place when it is three quarters full: the file is extended,
+ * then every position moves to the first free slot from its new home.
+ * <p>
+ * A database can be read while games are added to it from another thread, such as the analysis panel of a game
+ * in progress: every access to the mapping goes through a synchronized method, since growing replaces it.
+ * A database opened read-only can also follow a file that another process adds games to:
+ * it maps the file again when the number of slots in the header has changed.
+ * A lookup made while the other process is growing the table may still miss a position.
+ */
+public final class PositionDatabase implements Closeable {
+    static final long MAGIC = 0x4F5448504F534442L; // "OTHPOSDB"
+    static final int HEADER_BYTES = 24;
+    static final int SLOT_BYTES = 32;
+    private static final int INITIAL_SLOTS = 1 << 16;
+    private static final int MAX_SLOTS = 1 << 25; // Une projection ne dépasse pas 2 Go
+    private static final int WINS = 8;
+    private static final int DRAWS = 12;
+    private static final int LOSSES = 16;
+    private static final int BEST_MOVE = 20;
+    private static final int DISCS = 24;
+    /**
+     * The system property giving the path of the database shown by the analysis panel of the game.
+     */
+    public static final String DATABASE_PROPERTY = "othello.positions";
+
+    private final Path path;
+    private final boolean writable;
+    private final BitBoard start;
+    private MappedByteBuffer buffer;
+    private int size;
+    private int slots;
+    private long positions;
+
+    private PositionDatabase(Path path, boolean writable) throws IOException {
+        this.path = path;
+        this.writable = writable;
+        map();
+        this.start = new Game(size, null, false).getBoard().copyBits();
+    }
+
+    /**
+     * Opens a database to look positions up.
+     *
+     * @param path The path of the database file.
+     * @return The database.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a position database.
+     */
+    public static PositionDatabase open(Path path) throws IOException {
+        return new PositionDatabase(path, false);
+    }
+
+    /**
+     * Opens a database to add games to it, creating an empty one if the file does not exist.
+     *
+     * @param path The path of the database file.
+     * @param size The size of the board.
+     * @return The database.
+     * @throws IOException if the file cannot be read or created.
+     * @throws IllegalArgumentException if the file is not a position database of the specified size.
+     */
+    public static PositionDatabase create(Path path, int size) throws IOException {
+        return create(path, size, INITIAL_SLOTS);
+    }
+
+    static PositionDatabase create(Path path, int size, int slots) throws IOException {
+        if (!Files.exists(path)) {
+            createFile(path, size, slots);
+        }
+        PositionDatabase database = new PositionDatabase(path, true);
+        if (database.size != size) {
+            throw new IllegalArgumentException("The position database is for boards of size " + database.size);
+        }
+        return database;
+    }
+
+    /**
+     * Opens the database given by the {@value #DATABASE_PROPERTY} system property, if any.
+     * A file that cannot be opened is reported on the standard error stream.
+     *
+     * @return The database, or null if the property is not set or the file is not a readable database.
+     */
+    public static PositionDatabase configured() {
+        String path = System.getProperty(DATABASE_PROPERTY);
+        if (path == null) {
+            return null;
+        }
+        try {
+            return open(Path.of(path));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Cannot open the position database " + path + ": " + e.getMessage());
+            return null; // La partie se joue sans analyse plutôt que de ne pas démarrer
+        }
+    }
+
+    private static void createFile(Path path, int size, int slots) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + (long) slots * SLOT_BYTES);
+            header.putLong(0, MAGIC);
+            header.putInt(8, size);
+            header.putInt(12, slots);
+            header.putLong(16, 0);
+            header.force();
+        }
+    }
+
+    private void map() throws IOException {
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            // La projection reste valide après la fermeture du canal
+            buffer = channel.map(mode, 0, channel.size());
+        }
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getLong(0) != MAGIC) {
+            throw new IllegalArgumentException("This file is not a position database!");
+        }
+        size = buffer.getInt(8);
+        slots = buffer.getInt(12);
+        positions = buffer.getLong(16);
+        if (Integer.bitCount(slots) != 1 || HEADER_BYTES + (long) slots * SLOT_BYTES > buffer.capacity()) {
+            throw new IllegalArgumentException("The position database is truncated!");
+        }
+    }
+
+    /**
+     * Follows the changes made to the file by another process, when this database is opened read-only.
+     * The file only grows in place, so the header of the current mapping gives the current number of slots.
+     *
+     * @throws UncheckedIOException if the file has grown and cannot be mapped again.
+     */
+    private void refresh() {
+        if (writable) {
+            return;
+        }
+        if (buffer.getInt(12) != slots) {
+            try {
+                map();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        positions = buffer.getLong(16);
+    }
+
+    /**
+     * Gets the size of the boards of this database.
+     *
+     * @return The size of the board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of distinct positions of this database, symmetric positions counting once.
+     *
+     * @return The number of positions.
+     */
+    public synchronized long getPositions() {
+        refresh();
+        return positions;
+    }
+
+    /**
+     * Adds a finished game: every position of the game is credited with its result.
+     *
+     * @param record The record of the game.
+     * @throws IllegalArgumentException if the game is not of the size of the database, has an invalid move
+     *                                  or is not finished.
+     * @throws IOException              if the table has to grow and the new file cannot be written.
+     */
+    public synchronized void addGame(GameRecord record) throws IOException {
+        if (!writable) {
+            throw new IllegalStateException("The position database is opened read-only!");
+        }
+        if (record.size() != size) {
+            throw new IllegalArgumentException("Wrong board size: " + record.size());
+        }
+        int[] moves = record.movesWithoutPasses();
+        BitBoard[] boards = new BitBoard[moves.length + 1];
+        Color[] players = new Color[moves.length + 1];
+        BitBoard board = start.copy();
+        Color color = Color.BLACK;
+        for (int ply = 0; ply < moves.length; ply++) {
+            if (GameRecord.passesBefore(board, color, moves[ply])) {
+                color = color.getOpposite();
+            }
+            boards[ply] = board.copy();
+            players[ply] = color;
+            board.play(moves[ply], color, null);
+            color = color.getOpposite();
+        }
+        if (board.hasValidMove(Color.BLACK) || board.hasValidMove(Color.WHITE)) {
+            throw new IllegalArgumentException("The game is not finished!");
+        }
+        // La position finale est comptée aussi, pour noter le dernier coup
+        boards[moves.length] = board;
+        players[moves.length] = color;
+        int blackDifference = board.count(Color.BLACK) - board.count(Color.WHITE);
+
+        // Les emplacements ne doivent plus bouger une fois la partie commencée
+        if (4 * (positions + boards.length) > 3L * slots) {
+            grow();
+        }
+        Symmetry.Canonical[] canonicals = new Symmetry.Canonical[boards.length];
+        int[] slotsOfGame = new int[boards.length];
+        for (int ply = 0; ply < boards.length; ply++) {
+            canonicals[ply] = Symmetry.canonicalize(boards[ply], players[ply]);
+            slotsOfGame[ply] = insert(key(canonicals[ply].hash()));
+            int difference = players[ply] == Color.BLACK ? blackDifference : -blackDifference;
+            int field = difference > 0 ? WINS : difference == 0 ? DRAWS : LOSSES;
+            int offset = offset(slotsOfGame[ply]);
+            buffer.putInt(offset + field, buffer.getInt(offset + field) + 1);
+            buffer.putLong(offset + DISCS, buffer.getLong(offset + DISCS) + difference);
+        }
+        // Les statistiques des positions suivantes sont à jour : le meilleur coup peut être comparé
+        for (int ply = 0; ply < moves.length; ply++) {
+            int offset = offset(slotsOfGame[ply]);
+            int best = buffer.getInt(offset + BEST_MOVE);
+            int move = canonicals[ply].toCanonical(moves[ply]);
+            if (best == move) {
+                continue;
+            }
+            double score = score(offset(slotsOfGame[ply + 1]), players[ply] == players[ply + 1]);
+            int bestMove = best < 0 ? -1 : canonicals[ply].fromCanonical(best);
+            if (bestMove < 0 || !boards[ply].isValidMove(bestMove, players[ply])
+                    || score > moveScore(boards[ply], players[ply], bestMove)) {
+                buffer.putInt(offset + BEST_MOVE, move);
+            }
+        }
+    }
+
+    /**
+     * Looks a position up.
+     *
+     * @param board  The position.
+     * @param toMove The color of the player to move.
+     * @return The statistics of the position for the player to move, or null if no game went through it.
+     */
+    public synchronized Stats lookup(BitBoard board, Color toMove) {
+        if (board.getSize() != size) {
+            return null;
+        }
+        refresh();
+        Symmetry.Canonical canonical = Symmetry.canonicalize(board, toMove);
+        int slot = find(key(canonical.hash()));
+        if (slot < 0) {
+            return null;
+        }
+        int offset = offset(slot);
+        int best = buffer.getInt(offset + BEST_MOVE);
+        int move = best < 0 ? -1 : canonical.fromCanonical(best);
+        // Une collision de hachage pourrait désigner une case déjà occupée
+        if (move >= 0 && !board.isValidMove(move, toMove)) {
+            move = -1;
+        }
+        return new Stats(buffer.getInt(offset + WINS), buffer.getInt(offset + DRAWS), buffer.getInt(offset + LOSSES),
+                buffer.getLong(offset + DISCS), move);
+    }
+
+    /**
+     * Looks up the position reached by a move.
+     *
+     * @param board The position before the move.
+     * @param color The color of the player who plays the move.
+     * @param move  The packed square of a valid move.
+     * @return The statistics of the position reached, for the player who played the move, without best move,
+     * or null if no game went through it.
+     */
+    public synchronized Stats lookupMove(BitBoard board, Color color, int move) {
+        BitBoard next = board.copy();
+        next.play(move, color, null);
+        Color toMove = nextPlayer(next, color);
+        Stats stats = lookup(next, toMove);
+        if (stats == null || toMove == color) {
+            return stats == null ? null : new Stats(stats.wins(), stats.draws(), stats.losses(), stats.discs(), -1);
+        }
+        return new Stats(stats.losses(), stats.draws(), stats.wins(), -stats.discs(), -1);
+    }
+
+    /**
+     * Gets the average disc differential of a move for its player, from the position it reaches.
+     */
+    private synchronized double moveScore(BitBoard board, Color color, int move) {
+        BitBoard next = board.copy();
+        next.play(move, color, null);
+        Color toMove = nextPlayer(next, color);
+        int slot = find(key(Symmetry.canonicalize(next, toMove).hash()));
+        return slot < 0 ? Double.NEGATIVE_INFINITY : score(offset(slot), toMove == color);
+    }
+
+    /**
+     * Gets the average disc differential of a position, for the player to move or for the other one.
+     */
+    private double score(int offset, boolean forPlayerToMove) {
+        long games = (long) buffer.getInt(offset + WINS) + buffer.getInt(offset + DRAWS)
+                + buffer.getInt(offset + LOSSES);
+        double average = (double) buffer.getLong(offset + DISCS) / games;
+        return forPlayerToMove ? average : -average;
+    }
+
+    /**
+     * Gets the player to move after a move: the opponent, unless they have to pass.
+     * At the end of the game, the opponent is taken as the player to move.
+     */
+    private static Color nextPlayer(BitBoard board, Color played) {
+        Color opponent = played.getOpposite();
+        return board.hasValidMove(opponent) || !board.hasValidMove(played) ? opponent : played;
+    }
+
+    /**
+     * Finds the slot of a key by linear probing.
+     *
+     * @return The index of the slot, or -1 if the key is not in the table.
+     */
+    private int find(long key) {
+        int mask = slots - 1;
+        for (int slot = (int) mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long stored = buffer.getLong(offset(slot));
+            if (stored == key) {
+                return slot;
+            }
+            if (stored == 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Finds the slot of a key, claiming an empty slot if the key is not in the table yet.
+     * The table must have room for it.
+     *
+     * @return The index of the slot.
+     */
+    private int insert(long key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            return slot;
+        }
+        int mask = slots - 1;
+        slot = (int) mix(key) & mask;
+        while (buffer.getLong(offset(slot)) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        int offset = offset(slot);
+        buffer.putLong(offset, key);
+        buffer.putInt(offset + BEST_MOVE, -1);
+        buffer.putLong(16, ++positions);
+        return slot;
+    }
+
+    /**
+     * Doubles the number of slots in place.
+     * The file is extended rather than replaced, since a mapped file cannot be replaced on every system.
+     * The positions are then moved until each one sits at the first free slot from its home in the larger table:
+     * every move brings a position closer to its home, so the passes stop, and no free slot is left
+     * between a position and its home, so linear probing finds it.
+     */
+    private void grow() throws IOException {
+        if (slots >= MAX_SLOTS) {
+            throw new IllegalStateException("The position database is full!");
+        }
+        buffer.force();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Les nouveaux emplacements sont remplis de zéros, donc libres
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + 2L * slots * SLOT_BYTES);
+        }
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        slots *= 2;
+        int mask = slots - 1;
+        byte[] entry = new byte[SLOT_BYTES];
+        byte[] empty = new byte[SLOT_BYTES];
+        boolean moved;
+        do {
+            moved = false;
+            for (int slot = 0; slot < slots; slot++) {
+                long key = buffer.getLong(offset(slot));
+                if (key == 0) {
+                    continue;
+                }
+                int to = (int) mix(key) & mask;
+                while (to != slot && buffer.getLong(offset(to)) != 0) {
+                    to = (to + 1) & mask;
+                }
+                if (to != slot) {
+                    buffer.get(offset(slot), entry);
+                    buffer.put(offset(to), entry);
+                    buffer.put(offset(slot), empty);
+                    moved = true;
+                }
+            }
+        } while (moved);
+        buffer.putInt(12, slots);
+        buffer.force();
+    }
+
+    /**
+     * Keeps 0 for the empty slots: a position whose hash is 0 is stored under another key.
+     */
+    private static long key(long hash) {
+        return hash == 0 ? MAGIC : hash;
+    }
+
+    /**
+     * Spreads the high bits of a key over the low bits that choose its slot.
+     */
+    private static long mix(long key) {
+        return key ^ (key >>> 32);
+    }
+
+    private static int offset(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    /**
+     * Writes the changes to the file.
+     */
+    @Override
+    public synchronized void close() {
+        if (writable) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * The statistics of a position, from the point of view of the player to move.
+     *
+     * @param wins     The number of games won by the player to move.
+     * @param draws    The number of drawn games.
+     * @param losses   The number of games lost by the player to move.
+     * @param discs    The sum of the final disc differentials of the games for the player to move.
+     * @param bestMove The packed square of the move with the best average differential, or -1 if unknown.
+     */
+    public record Stats(int wins, int draws, int losses, long discs, int bestMove) {
+
+        /**
+         * Gets the number of games that went through the position.
+         *
+         * @return The number of games.
+         */
+        public int games() {
+            return wins + draws + losses;
+        }
+
+        /**
+         * Gets the average final disc differential of the games for the player to move.
+         *
+         * @return The average differential.
+         */
+        public double averageDiscs() {
+            return (double) discs / games();
+        }
+    }
+}
@@ -4,7 +4,6 @@ import g61562.atl.othello.model.Color;
 import g61562.atl.othello.model.Game;
 import g61562.atl.othello.model.Position;
 
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -13,6 +12,7 @@ import java.util.Random;
  */
 public class RandomComputerAdversary implements ComputerAdversary {
     private final Random random;
+    private int[] moves = new int[0];
 
     /**
      * Constructs a RandomComputerAdversary object.
@@ -24,16 +24,20 @@ public class RandomComputerAdversary implements ComputerAdversary {
 
     @Override
     public Position chooseMove(Game game, Color color) {
+        int size = game.getBoard().getSize();
+        if (moves.length < size * size) {
+            moves = new int[size * size];
+        }
         // Obtenir tous les coups possibles pour le joueur
-        List<Position> possibleMoves = game.getPossibleMoves(color);
+        int count = game.getPossibleMoves(color, moves);
         // Vérifier si la liste des coups possibles est vide
-        if (possibleMoves.isEmpty()) {
+        if (count == 0) {
             return null;
         }
 
         // Choisir un coup aléatoire parmi les coups possibles
-        int randomIndex = random.nextInt(possibleMoves.size());
-        return possibleMoves.get(randomIndex);
+        int randomIndex = random.nextInt(count);
+        return game.getBoard().toPosition(moves[randomIndex]);
     }
 
 }
@@ -0,0 +1,43 @@
+package g61562.atl.othello.strategy;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SearchThreads class holds the helper threads shared by the parallel searches of every strategy.
+ * There is at most one helper per processor besides the calling threads, however many strategies exist:
+ * when several searches run at the same time, their helpers wait for a free thread instead of
+ * oversubscribing the processors. Idle helpers end after a while, so the pool costs nothing between games.
+ */
+final class SearchThreads {
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    private static final ExecutorService HELPERS = create();
+
+    private SearchThreads() {
+    }
+
+    private static ExecutorService create() {
+        int helpers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(helpers, helpers, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "othello-search");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Gets the pool running the helper threads of the searches.
+     * A search must wait for its helpers before returning: a helper queued behind the helpers of another search
+     * may start after the search was stopped, and must then return at once.
+     *
+     * @return The shared pool.
+     */
+    static ExecutorService helpers() {
+        return HELPERS;
+    }
+}
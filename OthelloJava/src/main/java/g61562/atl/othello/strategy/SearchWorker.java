@@ -0,0 +1,252 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Zobrist;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The SearchWorker class runs the iterative deepening alpha-beta search of one thread.
+ * It owns its copy of the board and its move buffers, and only shares the transposition table
+ * and the stop flag with the other workers of the same search.
+ */
+class SearchWorker {
+    private static final int INFINITY = Integer.MAX_VALUE - 1;
+    private static final int WIN_SCORE = 1_000_000;
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final int maxDepth;
+    private final TranspositionTable table;
+    private final int size;
+    private final Zobrist zobrist;
+    private final int[] squareWeights;
+    private final Evaluator evaluator;
+    private final int[][] moves;
+    private final int[][] flips;
+    private BitBoard board;
+    private AtomicBoolean stop;
+    private long deadline;
+    private long nodes;
+    private boolean aborted;
+    private int bestMove;
+    private int completedDepth;
+
+    /**
+     * Constructs a worker for the boards of the specified size.
+     *
+     * @param maxDepth  The maximum depth of the search, in plies.
+     * @param table     The transposition table shared by the workers, or null.
+     * @param size      The size of the board.
+     * @param evaluator The evaluator of the positions, owned by this worker.
+     */
+    SearchWorker(int maxDepth, TranspositionTable table, int size, Evaluator evaluator) {
+        this.maxDepth = maxDepth;
+        this.table = table;
+        this.size = size;
+        this.zobrist = Zobrist.forSize(size);
+        this.squareWeights = SquareEvaluator.squareWeights(size);
+        this.evaluator = evaluator;
+        int plies = 2 * maxDepth + 2; // Chaque coup peut être suivi d'un passe
+        this.moves = new int[plies][size * size];
+        this.flips = new int[plies][size * size];
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    int getBestMove() {
+        return bestMove;
+    }
+
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Searches a position by iterative deepening until the maximum depth, the deadline or the stop flag.
+     * Helper workers start at another depth and with the root moves rotated, so that they explore
+     * other parts of the tree and fill the shared table for the main worker.
+     *
+     * @param root       The position to search, owned by this worker during the search.
+     * @param color      The color of the player to move.
+     * @param deadline   The {@link System#nanoTime()} at which the search must stop.
+     * @param stop       The flag raised when the search must stop.
+     * @param firstDepth The depth of the first iteration.
+     * @param rotation   The number of positions the root moves are rotated by after ordering.
+     * @return The best move found, or -1 if the player has no valid move.
+     */
+    int search(BitBoard root, Color color, long deadline, AtomicBoolean stop, int firstDepth, int rotation) {
+        this.board = root;
+        this.deadline = deadline;
+        this.stop = stop;
+        evaluator.reset(root);
+        nodes = 0;
+        aborted = false;
+        completedDepth = 0;
+
+        int[] rootMoves = moves[0];
+        int count = board.getPossibleMoves(color, rootMoves);
+        if (count == 0) {
+            bestMove = -1;
+            return bestMove;
+        }
+        orderMoves(rootMoves, count);
+        rotate(rootMoves, count, rotation);
+        bestMove = rootMoves[0];
+        long hash = zobrist.hash(board, color);
+        for (int depth = Math.min(firstDepth, maxDepth); depth <= maxDepth && !aborted; depth++) {
+            int iterationBest = searchRoot(color, depth, rootMoves, count, hash);
+            if (!aborted) {
+                bestMove = iterationBest;
+                completedDepth = depth;
+                moveToFront(rootMoves, count, bestMove); // La meilleure variante est explorée en premier
+            }
+        }
+        return bestMove;
+    }
+
+    private int searchRoot(Color color, int depth, int[] rootMoves, int count, long hash) {
+        int alpha = -INFINITY;
+        int best = rootMoves[0];
+        for (int i = 0; i < count && !aborted; i++) {
+            int square = rootMoves[i];
+            int flipped = board.play(square, color, flips[0]);
+            evaluator.play(square, color, flips[0], flipped);
+            long childHash = zobrist.play(hash, square, color, flips[0], flipped);
+            int score = -negamax(color.getOpposite(), depth - 1, -INFINITY, -alpha, 1, false, childHash);
+            board.undo(square, color, flips[0], flipped);
+            evaluator.undo(square, color, flips[0], flipped);
+            if (!aborted && score > alpha) {
+                alpha = score;
+                best = square;
+            }
+        }
+        if (table != null && !aborted) {
+            table.store(hash, depth, alpha, TranspositionTable.EXACT, best);
+        }
+        return best;
+    }
+
+    /**
+     * Searches a position with the negamax formulation of alpha-beta.
+     * A pass does not consume depth, two consecutive passes end the game.
+     *
+     * @return The score of the position from the point of view of the player to move.
+     */
+    private int negamax(Color color, int depth, int alpha, int beta, int ply, boolean passed, long hash) {
+        if (++nodes % TIME_CHECK_INTERVAL == 0
+                && (stop.get() || System.nanoTime() > deadline || Thread.currentThread().isInterrupted())) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (depth == 0) {
+            return evaluator.evaluate(board, color);
+        }
+        int tableMove = TranspositionTable.NO_MOVE;
+        if (table != null) {
+            long entry = table.probe(hash);
+            if (entry != 0) {
+                tableMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = TranspositionTable.score(entry);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                            || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+        }
+        int[] plyMoves = moves[ply];
+        int count = board.getPossibleMoves(color, plyMoves);
+        if (count == 0) {
+            if (passed) {
+                return finalScore(color);
+            }
+            return -negamax(color.getOpposite(), depth, -beta, -alpha, ply + 1, true, hash ^ zobrist.side());
+        }
+        orderMoves(plyMoves, count);
+        if (tableMove != TranspositionTable.NO_MOVE) {
+            moveToFront(plyMoves, count, tableMove);
+        }
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = plyMoves[0];
+        for (int i = 0; i < count; i++) {
+            int square = plyMoves[i];
+            int flipped = board.play(square, color, flips[ply]);
+            evaluator.play(square, color, flips[ply], flipped);
+            long childHash = zobrist.play(hash, square, color, flips[ply], flipped);
+            int score = -negamax(color.getOpposite(), depth - 1, -beta, -alpha, ply + 1, false, childHash);
+            board.undo(square, color, flips[ply], flipped);
+            evaluator.undo(square, color, flips[ply], flipped);
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = square;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break; // Coupure : l'adversaire ne laissera pas jouer cette variante
+                    }
+                }
+            }
+        }
+        if (table != null) {
+            int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                    : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            table.store(hash, depth, best, bound, bestMove);
+        }
+        return best;
+    }
+
+    private int finalScore(Color color) {
+        int difference = board.count(color) - board.count(color.getOpposite());
+        return Integer.signum(difference) * WIN_SCORE + difference;
+    }
+
+    /**
+     * Sorts moves by decreasing square weight, so that corners are tried first and the squares next to them last.
+     */
+    private void orderMoves(int[] plyMoves, int count) {
+        for (int i = 1; i < count; i++) {
+            int move = plyMoves[i];
+            int weight = squareWeights[move];
+            int j = i - 1;
+            while (j >= 0 && squareWeights[plyMoves[j]] < weight) {
+                plyMoves[j + 1] = plyMoves[j];
+                j--;
+            }
+            plyMoves[j + 1] = move;
+        }
+    }
+
+    private static void moveToFront(int[] plyMoves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (plyMoves[i] == move) {
+                System.arraycopy(plyMoves, 0, plyMoves, 1, i);
+                plyMoves[0] = move;
+                return;
+            }
+        }
+    }
+
+    private static void rotate(int[] rootMoves, int count, int rotation) {
+        for (int r = 0; r < rotation % count; r++) {
+            int first = rootMoves[0];
+            System.arraycopy(rootMoves, 1, rootMoves, 0, count - 1);
+            rootMoves[count - 1] = first;
+        }
+    }
+}
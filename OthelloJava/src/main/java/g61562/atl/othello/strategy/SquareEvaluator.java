@@ -0,0 +1,79 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+
+/**
+ * The SquareEvaluator class evaluates a position with a fixed weight per square and the mobility of both players.
+ * It works for boards of any size and keeps no state between two evaluations.
+ */
+public class SquareEvaluator implements Evaluator {
+    private static final int MOBILITY_WEIGHT = 5;
+
+    private final int size;
+    private final int[] squareWeights;
+    private final int[] mobility;
+
+    /**
+     * Constructs an evaluator for the boards of the specified size.
+     *
+     * @param size The size of the board.
+     */
+    public SquareEvaluator(int size) {
+        this.size = size;
+        this.squareWeights = squareWeights(size);
+        this.mobility = new int[size * size];
+    }
+
+    @Override
+    public int evaluate(BitBoard board, Color color) {
+        int score = 0;
+        for (int square = 0; square < size * size; square++) {
+            Color piece = board.getColor(square);
+            if (piece == color) {
+                score += squareWeights[square];
+            } else if (piece != null) {
+                score -= squareWeights[square];
+            }
+        }
+        int ownMoves = board.getPossibleMoves(color, mobility);
+        int oppMoves = board.getPossibleMoves(color.getOpposite(), mobility);
+        return score + MOBILITY_WEIGHT * (ownMoves - oppMoves);
+    }
+
+    /**
+     * Computes the classic positional weights for a board of any size:
+     * corners are precious, the squares giving access to them are dangerous and edges are stable.
+     *
+     * @param size The size of the board.
+     * @return The weight of each packed square.
+     */
+    static int[] squareWeights(int size) {
+        int[] weights = new int[size * size];
+        int last = size - 1;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                boolean rowEdge = row == 0 || row == last;
+                boolean colEdge = col == 0 || col == last;
+                boolean rowNext = row == 1 || row == last - 1;
+                boolean colNext = col == 1 || col == last - 1;
+                int weight;
+                if (rowEdge && colEdge) {
+                    weight = 100;
+                } else if (rowNext && colNext && size > 4) {
+                    weight = -50; // Case X, en diagonale d'un coin
+                } else if ((rowEdge && colNext) || (colEdge && rowNext)) {
+                    weight = -20; // Case C, à côté d'un coin
+                } else if (rowEdge || colEdge) {
+                    weight = 10;
+                } else if (rowNext || colNext) {
+                    weight = -2;
+                } else {
+                    weight = 1;
+                }
+                weights[row * size + col] = weight;
+            }
+        }
+        return weights;
+    }
+}
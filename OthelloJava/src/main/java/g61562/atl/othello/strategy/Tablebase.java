@@ -0,0 +1,429 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Symmetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Tablebase class holds the game-theoretic value of every position reachable from the start of a small board:
+ * whether the player to move wins, draws or loses with perfect play on both sides.
+ * With it, a perfect move costs one lookup per legal move, whatever the position.
+ * <p>
+ * The values take 2 bits each and are stored in a file read through a memory mapping.
+ * A position is stored at the index of its canonical form under the 8 symmetries of the board,
+ * written in base 3 (empty, black, white) for the squares that can be empty and in base 2 for the 4 squares
+ * of the start position, which are never empty; the player to move is the last digit.
+ * A value of 0 marks a position that was not solved, for instance one that cannot be reached from the start.
+ * <p>
+ * The table is filled by an exhaustive search from the start position, which uses the table itself to remember
+ * the positions already solved. The subtrees of the first moves are shared between threads, which set their values
+ * with atomic updates. The values are written in place in the memory mapping, so the pages the memory cannot hold
+ * are written back to the file, and a build that was stopped resumes from the positions already solved.
+ * Only the 4x4 board has few enough positions for such a table.
+ */
+public final class Tablebase implements Closeable {
+    static final long MAGIC = 0x4F54485442415345L; // "OTHTBASE"
+    static final int HEADER_BYTES = 24;
+    private static final long MAX_BYTES = Integer.MAX_VALUE; // Une seule projection
+    private static final int SPLIT_PLIES = 4;
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    /**
+     * The value of a position that was not solved.
+     */
+    public static final int UNKNOWN = 0;
+    /**
+     * The value of a position lost by the player to move.
+     */
+    public static final int LOSS = 1;
+    /**
+     * The value of a drawn position.
+     */
+    public static final int DRAW = 2;
+    /**
+     * The value of a position won by the player to move.
+     */
+    public static final int WIN = 3;
+    /**
+     * The system property giving the path of the tablebase used by the computer strategies.
+     */
+    public static final String TABLEBASE_PROPERTY = "othello.tablebase";
+
+    private final MappedByteBuffer buffer;
+    private final boolean writable;
+    private final int size;
+    private final BitBoard start;
+    private final AtomicLong positions;
+
+    private Tablebase(Path path, boolean writable) throws IOException {
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            // La projection reste valide après la fermeture du canal
+            buffer = channel.map(mode, 0, channel.size());
+        }
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getLong(0) != MAGIC) {
+            throw new IllegalArgumentException("This file is not a tablebase!");
+        }
+        this.writable = writable;
+        this.size = buffer.getInt(8);
+        if (size < 4 || size > 14 || buffer.capacity() < HEADER_BYTES + bytes(entries(size))) {
+            throw new IllegalArgumentException("The tablebase is truncated!");
+        }
+        this.positions = new AtomicLong(buffer.getLong(16));
+        this.start = new Game(size, null, false).getBoard().copyBits();
+    }
+
+    /**
+     * Opens a tablebase to look positions up.
+     *
+     * @param path The path of the tablebase file.
+     * @return The tablebase.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a tablebase.
+     */
+    public static Tablebase open(Path path) throws IOException {
+        return new Tablebase(path, false);
+    }
+
+    /**
+     * Opens the tablebase given by the {@value #TABLEBASE_PROPERTY} system property, if any.
+     * A file that cannot be opened is reported on the standard error stream.
+     *
+     * @return The tablebase, or null if the property is not set or the file cannot be opened.
+     */
+    public static Tablebase configured() {
+        String path = System.getProperty(TABLEBASE_PROPERTY);
+        if (path == null) {
+            return null;
+        }
+        try {
+            return open(Path.of(path));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Cannot open the tablebase " + path + ": " + e.getMessage());
+            return null; // La partie se joue sans table plutôt que de ne pas démarrer
+        }
+    }
+
+    /**
+     * Solves every position reachable from the start of a board, creating the tablebase file if it does not exist.
+     * The positions already solved in an existing file are not searched again.
+     *
+     * @param path    The path of the tablebase file.
+     * @param size    The size of the board.
+     * @param threads The number of threads.
+     * @return The tablebase, open for lookups.
+     * @throws IOException if the file cannot be read or created.
+     * @throws IllegalArgumentException if the board has too many positions for a tablebase,
+     *                                  or the file is not a tablebase of the specified size.
+     */
+    public static Tablebase build(Path path, int size, int threads) throws IOException {
+        if (size < 4 || size > 14 || HEADER_BYTES + bytes(entries(size)) > MAX_BYTES) {
+            throw new IllegalArgumentException("Boards of size " + size + " have too many positions for a tablebase");
+        }
+        if (!Files.exists(path)) {
+            createFile(path, size);
+        }
+        Tablebase tablebase = new Tablebase(path, true);
+        if (tablebase.size != size) {
+            throw new IllegalArgumentException("The tablebase is for boards of size " + tablebase.size);
+        }
+        tablebase.solveFromStart(threads);
+        return tablebase;
+    }
+
+    private static void createFile(Path path, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + bytes(entries(size)));
+            header.putLong(0, MAGIC);
+            header.putInt(8, size);
+            header.putLong(16, 0);
+            header.force();
+        }
+    }
+
+    /**
+     * Gets the number of entries of a table, that is, of positions that can be indexed, for a board size.
+     * The count stops growing once it is too large for a table.
+     */
+    private static long entries(int size) {
+        long entries = 2 * 16; // Le joueur au trait et les 4 cases de départ
+        for (int square = 4; square < size * size && entries < 16 * MAX_BYTES; square++) {
+            entries *= 3;
+        }
+        return entries;
+    }
+
+    private static long bytes(long entries) {
+        return (entries + 15) / 16 * Integer.BYTES;
+    }
+
+    /**
+     * Gets the size of the boards of this tablebase.
+     *
+     * @return The size of the board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of positions solved.
+     *
+     * @return The number of canonical positions whose value is known.
+     */
+    public long getPositions() {
+        return positions.get();
+    }
+
+    /**
+     * Looks the value of a position up.
+     *
+     * @param board  The position.
+     * @param toMove The color of the player to move.
+     * @return {@link #WIN}, {@link #DRAW} or {@link #LOSS} for the player to move,
+     * or {@link #UNKNOWN} if the position was not solved or the board is not of the size of the tablebase.
+     */
+    public int value(BitBoard board, Color toMove) {
+        if (board.getSize() != size) {
+            return UNKNOWN;
+        }
+        long entry = entry(board, toMove);
+        return entry < 0 ? UNKNOWN : get(entry);
+    }
+
+    /**
+     * Finds a perfect move: a winning move if there is one, otherwise a drawing move, otherwise any move.
+     *
+     * @param board The position.
+     * @param color The color of the player to move.
+     * @return The packed square of the move, or -1 if the player cannot move or a position reached is not solved.
+     */
+    public int bestMove(BitBoard board, Color color) {
+        if (board.getSize() != size) {
+            return -1;
+        }
+        int[] moves = new int[size * size];
+        int count = board.getPossibleMoves(color, moves);
+        int bestMove = -1;
+        int bestValue = UNKNOWN;
+        for (int i = 0; i < count; i++) {
+            BitBoard next = board.copy();
+            next.play(moves[i], color, null);
+            int value;
+            if (next.hasValidMove(color.getOpposite())) {
+                value = negate(value(next, color.getOpposite()));
+            } else if (next.hasValidMove(color)) {
+                value = value(next, color);
+            } else {
+                value = finalValue(next, color);
+            }
+            if (value == UNKNOWN) {
+                return -1;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = moves[i];
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Solves the subtrees of the first moves in parallel, then the first moves themselves from their values.
+     */
+    private void solveFromStart(int threads) {
+        List<BitBoard> boards = new ArrayList<>();
+        List<Color> colors = new ArrayList<>();
+        collect(start.copy(), Color.BLACK, 0, new HashSet<>(), boards, colors);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> solved = new ArrayList<>();
+            for (int i = 0; i < boards.size(); i++) {
+                BitBoard board = boards.get(i);
+                Color color = colors.get(i);
+                solved.add(pool.submit(() -> solve(board, color, new Search(size))));
+            }
+            for (Future<Integer> future : solved) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The tablebase build was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A tablebase thread failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        solve(start.copy(), Color.BLACK, new Search(size));
+        buffer.putLong(16, positions.get());
+        buffer.force();
+    }
+
+    /**
+     * Collects the distinct positions reached after the first plies, which are the roots of the parallel searches.
+     */
+    private void collect(BitBoard board, Color color, int ply, Set<Long> visited, List<BitBoard> boards,
+                         List<Color> colors) {
+        if (!visited.add(entry(board, color))) {
+            return;
+        }
+        int[] moves = new int[size * size];
+        int count = board.getPossibleMoves(color, moves);
+        if (ply == SPLIT_PLIES || count == 0) {
+            boards.add(board.copy());
+            colors.add(color);
+            return;
+        }
+        int[] flipped = new int[size * size];
+        for (int i = 0; i < count; i++) {
+            int flips = board.play(moves[i], color, flipped);
+            collect(board, color.getOpposite(), ply + 1, visited, boards, colors);
+            board.undo(moves[i], color, flipped, flips);
+        }
+    }
+
+    /**
+     * Solves a position by an exhaustive search, the table remembering the positions already solved.
+     *
+     * @return The value of the position for the player to move.
+     */
+    private int solve(BitBoard board, Color color, Search search) {
+        long entry = entry(board, color);
+        int value = get(entry);
+        if (value != UNKNOWN) {
+            return value;
+        }
+        int ply = search.ply++;
+        int[] moves = search.moves[ply];
+        int count = board.getPossibleMoves(color, moves);
+        if (count == 0) {
+            if (board.hasValidMove(color.getOpposite())) {
+                value = negate(solve(board, color.getOpposite(), search));
+            } else {
+                value = finalValue(board, color);
+            }
+        } else {
+            value = LOSS;
+            int[] flipped = search.flipped[ply];
+            // Pas de coupure après un coup gagnant : toutes les positions atteignables doivent être résolues
+            for (int i = 0; i < count; i++) {
+                int flips = board.play(moves[i], color, flipped);
+                value = Math.max(value, negate(solve(board, color.getOpposite(), search)));
+                board.undo(moves[i], color, flipped, flips);
+            }
+        }
+        search.ply--;
+        set(entry, value);
+        return value;
+    }
+
+    private static int finalValue(BitBoard board, Color color) {
+        return Integer.signum(board.count(color) - board.count(color.getOpposite())) + DRAW;
+    }
+
+    private static int negate(int value) {
+        return value == UNKNOWN ? UNKNOWN : WIN + LOSS - value;
+    }
+
+    /**
+     * Gets the index of the canonical form of a position in the table.
+     *
+     * @return The index, or -1 if a square of the start position is empty.
+     */
+    private long entry(BitBoard board, Color toMove) {
+        Symmetry.Canonical canonical = Symmetry.canonicalize(board, toMove);
+        long entry = 0;
+        for (int square = 0; square < size * size; square++) {
+            // La case de la forme canonique est l'image d'une case de la position
+            Color color = board.getColor(canonical.fromCanonical(square));
+            if (start.getColor(square) == null) {
+                entry = entry * 3 + (color == null ? 0 : color == Color.BLACK ? 1 : 2);
+            } else if (color == null) {
+                return -1;
+            } else {
+                entry = entry * 2 + (color == Color.BLACK ? 0 : 1);
+            }
+        }
+        return entry * 2 + (toMove == Color.BLACK ? 0 : 1);
+    }
+
+    private int get(long entry) {
+        int word = buffer.getInt(offset(entry));
+        return word >>> shift(entry) & 3;
+    }
+
+    private void set(long entry, int value) {
+        int offset = offset(entry);
+        int shift = shift(entry);
+        int word;
+        int updated;
+        // Les 15 autres positions du mot peuvent être résolues en même temps par d'autres threads
+        do {
+            word = (int) INTS.getVolatile(buffer, offset);
+            if ((word >>> shift & 3) != UNKNOWN) {
+                return;
+            }
+            updated = word | value << shift;
+        } while (!INTS.compareAndSet(buffer, offset, word, updated));
+        positions.incrementAndGet();
+    }
+
+    private static int offset(long entry) {
+        return HEADER_BYTES + (int) (entry >>> 4) * Integer.BYTES;
+    }
+
+    private static int shift(long entry) {
+        return (int) (entry & 15) * 2;
+    }
+
+    /**
+     * Writes the values solved to the file.
+     */
+    @Override
+    public void close() {
+        if (writable) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * The Search class holds the buffers of the moves of one search thread, one per ply.
+     */
+    private static final class Search {
+        private final int[][] moves;
+        private final int[][] flipped;
+        private int ply;
+
+        private Search(int size) {
+            // Une passe compte comme un coup : au plus deux plis par case vide
+            int plies = 2 * size * size + 2;
+            moves = new int[plies][size * size];
+            flipped = new int[plies][size * size];
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.GameRecord;
+import g61562.atl.othello.model.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The Tournament class plays a match between two computer strategies, without any user interface.
+ * Games are played in parallel on a pool of threads, each thread with its own instances of the strategies.
+ * Games go by pairs: both games of a pair start from the same random opening,
+ * with the colors of the strategies swapped, so that neither strategy benefits from a lucky opening.
+ * The games are plain {@link Game} objects without observers, so nothing is displayed while they are played.
+ */
+public class Tournament {
+    private final Supplier<ComputerAdversary> first;
+    private final Supplier<ComputerAdversary> second;
+    private final int size;
+    private final int randomPlies;
+    private final long seed;
+    private Consumer<int[]> gameListener;
+    private Consumer<GameRecord> recordListener;
+    private Level firstLevel;
+    private Level secondLevel;
+
+    /**
+     * Constructs a tournament between two strategies.
+     *
+     * @param first       The factory of the first strategy, called once per thread.
+     * @param second      The factory of the second strategy, called once per thread.
+     * @param size        The size of the board.
+     * @param randomPlies The number of random moves played at the start of every pair of games.
+     * @param seed        The seed of the random openings, so that a match can be replayed.
+     */
+    public Tournament(Supplier<ComputerAdversary> first, Supplier<ComputerAdversary> second,
+                      int size, int randomPlies, long seed) {
+        if (randomPlies < 0) {
+            throw new IllegalArgumentException("The number of random moves cannot be negative!");
+        }
+        this.first = first;
+        this.second = second;
+        this.size = size;
+        this.randomPlies = randomPlies;
+        this.seed = seed;
+    }
+
+    /**
+     * Sets a listener receiving the moves of every finished game, for instance to build an opening book.
+     * It is called from the threads playing the games.
+     *
+     * @param gameListener The listener receiving the packed squares of the moves of a game, passes left out.
+     */
+    public void setGameListener(Consumer<int[]> gameListener) {
+        this.gameListener = gameListener;
+    }
+
+    /**
+     * Sets a listener receiving the record of every finished game, for instance to save the games of the match.
+     * It is called from the threads playing the games.
+     *
+     * @param recordListener The listener receiving the records.
+     * @param firstLevel     The level of the first strategy written in the records, or null.
+     * @param secondLevel    The level of the second strategy written in the records, or null.
+     */
+    public void setRecordListener(Consumer<GameRecord> recordListener, Level firstLevel, Level secondLevel) {
+        this.recordListener = recordListener;
+        this.firstLevel = firstLevel;
+        this.secondLevel = secondLevel;
+    }
+
+    /**
+     * Gets the level named by the name of a strategy.
+     *
+     * @param spec The name of the strategy, as given to {@link #engine(String)}.
+     * @return The level, or null if the strategy is not one of the levels of the game.
+     */
+    public static Level level(String spec) {
+        for (Level level : Level.values()) {
+            if (level.name().equalsIgnoreCase(spec)) {
+                return level;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the factory of a strategy from its name: the name of a {@link Level},
+     * {@code alphabeta:<depth>[:<milliseconds>]} for a single-threaded alpha-beta search,
+     * or {@code mcts:<playouts>[:<milliseconds>[:<threads>]]} for a Monte Carlo Tree Search, single-threaded by default.
+     *
+     * @param spec The name of the strategy.
+     * @return The factory of the strategy.
+     * @throws IllegalArgumentException if the name is unknown.
+     */
+    public static Supplier<ComputerAdversary> engine(String spec) {
+        String[] parts = spec.toLowerCase().split(":");
+        if (parts[0].equals("alphabeta")) {
+            int depth = parts.length > 1 ? Integer.parseInt(parts[1]) : 4;
+            long time = parts.length > 2 ? Long.parseLong(parts[2]) : 0;
+            return () -> new AlphaBetaComputerAdversary(depth, time);
+        }
+        if (parts[0].equals("mcts")) {
+            long playouts = parts.length > 1 ? Long.parseLong(parts[1]) : 10_000;
+            long time = parts.length > 2 ? Long.parseLong(parts[2]) : 0;
+            int threads = parts.length > 3 ? Integer.parseInt(parts[3]) : 1;
+            return () -> new MctsComputerAdversary(playouts, time, threads);
+        }
+        Level level = level(parts[0]);
+        if (level == null) {
+            throw new IllegalArgumentException("Unknown strategy: " + spec);
+        }
+        return () -> Game.createAdversary(level);
+    }
+
+    /**
+     * Plays the match.
+     *
+     * @param pairs   The number of pairs of games; the match has twice as many games.
+     * @param threads The number of games played at the same time.
+     * @return The result of the match, from the point of view of the first strategy.
+     */
+    public Result play(int pairs, int threads) {
+        AtomicInteger wins = new AtomicInteger();
+        AtomicInteger draws = new AtomicInteger();
+        AtomicInteger losses = new AtomicInteger();
+        // Chaque thread a ses propres stratégies, toutes fermées à la fin du match
+        Queue<ComputerAdversary> created = new ConcurrentLinkedQueue<>();
+        ThreadLocal<ComputerAdversary[]> engines = ThreadLocal.withInitial(() -> {
+            ComputerAdversary[] players = {first.get(), second.get()};
+            created.addAll(List.of(players));
+            return players;
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> games = new ArrayList<>();
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int pair = 0; pair < pairs; pair++) {
+                long openingSeed = random.nextLong();
+                for (int swap = 0; swap < 2; swap++) {
+                    // Le premier joueur a les noirs dans la première partie de la paire, les blancs dans la seconde
+                    Color firstColor = swap == 0 ? Color.BLACK : Color.WHITE;
+                    games.add(pool.submit(() -> {
+                        ComputerAdversary[] players = engines.get();
+                        int outcome = playGame(players[0], players[1], firstColor, new SplittableRandom(openingSeed));
+                        (outcome > 0 ? wins : outcome < 0 ? losses : draws).incrementAndGet();
+                    }));
+                }
+            }
+            for (Future<?> game : games) {
+                game.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game of the tournament failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            for (ComputerAdversary engine : created) {
+                engine.close();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new Result(wins.get(), draws.get(), losses.get(), seconds);
+    }
+
+    /**
+     * Plays a single game.
+     *
+     * @return A positive value if the first strategy won, a negative value if it lost, 0 for a draw.
+     */
+    private int playGame(ComputerAdversary firstPlayer, ComputerAdversary secondPlayer, Color firstColor,
+                         SplittableRandom opening) {
+        Game game = new Game(size, null, false);
+        int[] moves = new int[size * size];
+        int[] played = new int[size * size];
+        int plies = 0;
+        for (int ply = 0; ply < randomPlies && !game.isGameOver(); ply++) {
+            Color color = game.getCurrentPlayer();
+            int count = game.getPossibleMoves(color, moves);
+            played[plies++] = moves[opening.nextInt(count)];
+            Position move = game.getBoard().toPosition(played[plies - 1]);
+            game.addPiece(move.getRow(), move.getCol(), color);
+        }
+        while (!game.isGameOver()) {
+            Color color = game.getCurrentPlayer();
+            ComputerAdversary player = color == firstColor ? firstPlayer : secondPlayer;
+            Position move = player.chooseMove(game, color);
+            if (move == null || !game.isValidMove(move.getRow(), move.getCol(), color)) {
+                throw new IllegalStateException("The strategy " + player.getClass().getSimpleName()
+                        + " played an invalid move: " + move);
+            }
+            played[plies++] = game.getBoard().toSquare(move.getRow(), move.getCol());
+            game.addPiece(move.getRow(), move.getCol(), color);
+        }
+        if (gameListener != null) {
+            gameListener.accept(Arrays.copyOf(played, plies));
+        }
+        if (recordListener != null) {
+            boolean firstIsBlack = firstColor == Color.BLACK;
+            recordListener.accept(GameRecord.replay(size, firstIsBlack ? firstLevel : secondLevel,
+                    firstIsBlack ? secondLevel : firstLevel, Arrays.copyOf(played, plies)));
+        }
+        Color winner = game.getWinner();
+        return winner == null ? 0 : winner == firstColor ? 1 : -1;
+    }
+
+    /**
+     * The Result class holds the outcome of a match, from the point of view of the first strategy.
+     *
+     * @param wins    The number of games won.
+     * @param draws   The number of drawn games.
+     * @param losses  The number of games lost.
+     * @param seconds The duration of the match in seconds.
+     */
+    public record Result(int wins, int draws, int losses, double seconds) {
+        private static final double Z_95 = 1.96;
+
+        /**
+         * Gets the number of games played.
+         *
+         * @return The number of games.
+         */
+        public int games() {
+            return wins + draws + losses;
+        }
+
+        /**
+         * Gets the average score per game, a win counting 1 and a draw 1/2.
+         *
+         * @return The score, between 0 and 1.
+         */
+        public double score() {
+            return (wins + draws / 2.0) / games();
+        }
+
+        /**
+         * Gets the Elo difference corresponding to the score.
+         *
+         * @return The Elo difference, positive when the first strategy is stronger.
+         */
+        public double elo() {
+            return elo(score());
+        }
+
+        /**
+         * Gets the half width of the 95% confidence interval of the Elo difference.
+         *
+         * @return The error margin of the Elo difference.
+         */
+        public double eloError() {
+            double score = score();
+            double n = games();
+            double variance = (wins * Math.pow(1 - score, 2) + draws * Math.pow(0.5 - score, 2)
+                    + losses * Math.pow(score, 2)) / n;
+            double margin = Z_95 * Math.sqrt(variance / n);
+            return (elo(score + margin) - elo(score - margin)) / 2;
+        }
+
+        /**
+         * Gets the number of games played per second.
+         *
+         * @return The speed of the match.
+         */
+        public double gamesPerSecond() {
+            return games() / seconds;
+        }
+
+        private static double elo(double score) {
+            // Un score de 0 ou 1 donnerait une différence infinie
+            double bounded = Math.min(Math.max(score, 1e-6), 1 - 1e-6);
+            return -400 * Math.log10(1 / bounded - 1);
+        }
+    }
+}
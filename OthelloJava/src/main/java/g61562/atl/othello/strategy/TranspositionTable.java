@@ -0,0 +1,139 @@
+package g61562.atl.othello.strategy;
+
+import java.util.Arrays;
+
+/**
+ * The TranspositionTable class remembers the result of the positions already searched, indexed by their Zobrist hash.
+ * It is a fixed-size primitive {@code long} array, so a long search creates no garbage.
+ * Each key is stored next to its data, so that a probe reads a single cache line.
+ * Entries are grouped by pairs: a new result replaces the entry of the same position,
+ * otherwise the shallower or older entry of the pair, so that deep results survive.
+ * Each key is stored xor-ed with its data: an entry half written by another thread no longer matches its hash
+ * and is simply ignored, which lets several searches share a table without locks.
+ */
+public class TranspositionTable {
+    static final int EXACT = 0;
+    static final int LOWER_BOUND = 1;
+    static final int UPPER_BOUND = 2;
+    static final int NO_MOVE = -1;
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    private final long[] entries; // Clé puis données de chaque entrée
+    private final int mask;
+    private int generation;
+
+    /**
+     * Constructs a transposition table using at most the specified amount of memory.
+     *
+     * @param sizeMb The size of the table in megabytes, at least 1.
+     */
+    public TranspositionTable(int sizeMb) {
+        if (sizeMb < 1) {
+            throw new IllegalArgumentException("The size of the transposition table must be at least 1 MB!");
+        }
+        long count = Long.highestOneBit((long) sizeMb * 1024 * 1024 / ENTRY_BYTES);
+        int capacity = (int) Math.min(count, 1 << 29);
+        entries = new long[2 * capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Starts a new search: entries of the previous searches become the first ones to be replaced.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Empties the table.
+     */
+    public void clear() {
+        Arrays.fill(entries, 0);
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param hash The Zobrist hash of the position.
+     * @return The packed entry of the position, or 0 if it is not in the table.
+     */
+    public long probe(long hash) {
+        int index = ((int) hash & mask) << 1;
+        long entry = entries[index + 1];
+        if ((entries[index] ^ entry) == hash && entry != 0) {
+            return entry;
+        }
+        int other = index ^ 2;
+        entry = entries[other + 1];
+        if ((entries[other] ^ entry) == hash && entry != 0) {
+            return entry;
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the result of a search.
+     *
+     * @param hash  The Zobrist hash of the position.
+     * @param depth The depth of the search.
+     * @param score The score found.
+     * @param bound Whether the score is exact, a lower bound or an upper bound.
+     * @param move  The best move found, or {@link #NO_MOVE}.
+     */
+    public void store(long hash, int depth, int score, int bound, int move) {
+        int index = ((int) hash & mask) << 1;
+        int other = index ^ 2;
+        int slot;
+        if ((entries[index] ^ entries[index + 1]) == hash) {
+            slot = index;
+        } else if ((entries[other] ^ entries[other + 1]) == hash) {
+            slot = other;
+        } else {
+            slot = replacementValue(entries[index + 1]) <= replacementValue(entries[other + 1]) ? index : other;
+        }
+        long entry = pack(depth, score, bound, move);
+        entries[slot] = hash ^ entry;
+        entries[slot + 1] = entry;
+    }
+
+    /**
+     * Ranks an entry for replacement: the lower the value, the sooner it is replaced.
+     * Entries of the current search are kept in priority, then the deepest ones.
+     */
+    private int replacementValue(long entry) {
+        if (entry == 0) {
+            return -1;
+        }
+        int age = (generation - generation(entry)) & 0xFF;
+        return depth(entry) - 8 * age;
+    }
+
+    private long pack(int depth, int score, int bound, int move) {
+        return (score & 0xFFFFFFFFL)
+                | (long) (depth & 0xFF) << 32
+                | (long) bound << 40
+                | (long) ((move + 1) & 0xFF) << 42
+                | (long) generation << 50
+                | 1L << 58; // Distingue une entrée valide d'une case vide
+    }
+
+    static int score(long entry) {
+        return (int) entry;
+    }
+
+    static int depth(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    static int bound(long entry) {
+        return (int) (entry >>> 40) & 0x3;
+    }
+
+    static int move(long entry) {
+        return ((int) (entry >>> 42) & 0xFF) - 1;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 50) & 0xFF;
+    }
+}
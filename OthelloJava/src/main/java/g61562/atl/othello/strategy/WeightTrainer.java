@@ -0,0 +1,338 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.GameRecord;
+import g61562.atl.othello.model.GameRecordReader;
+import g61562.atl.othello.model.Transcript;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The WeightTrainer class fits the {@link PatternWeights} of a {@link PatternEvaluator} to finished games.
+ * Every position of a game is labelled with the final disc differential of the game,
+ * and the weights are fitted by mini-batch gradient descent on the squared error of the evaluation,
+ * with a step per weight that shrinks with the gradients already seen (AdaGrad),
+ * so that rare pattern configurations still move while frequent ones settle.
+ * <p>
+ * The games are streamed from game record files or from transcript files,
+ * one game per line in the notation of {@link Transcript}: only a few mini-batches are in memory at any time,
+ * so the data set can be much larger than the memory.
+ * Each thread replays the games of its own chunk and accumulates its own gradient;
+ * the gradients are added together and applied once all the chunks of a mini-batch are done.
+ */
+public class WeightTrainer {
+    private static final int GAMES_PER_CHUNK = 256;
+    private static final double PIECE = 100; // Les poids sont en centièmes de pion
+    private static final double EPSILON = 1e-8;
+
+    private final int size;
+    private final int phases;
+    private final double rate;
+    private final Patterns patterns;
+    private final BitBoard start;
+    private final double[] weights;
+    private final double[] squaredGradients;
+
+    /**
+     * Constructs a trainer whose weights all start at 0.
+     *
+     * @param size   The size of the board, see {@link PatternEvaluator#supports(int)}.
+     * @param phases The number of game phases, at least 1.
+     * @param rate   The learning rate, the largest change of a weight in one step, in hundredths of a piece.
+     */
+    public WeightTrainer(int size, int phases, double rate) {
+        if (phases < 1) {
+            throw new IllegalArgumentException("The evaluator needs at least one phase!");
+        }
+        this.size = size;
+        this.phases = phases;
+        this.rate = rate;
+        this.patterns = Patterns.forSize(size);
+        this.start = new Game(size, null, false).getBoard().copyBits();
+        this.weights = new double[phases * patterns.weightsPerPhase];
+        this.squaredGradients = new double[weights.length];
+    }
+
+    /**
+     * Goes once through the games of the files.
+     * Games that are not finished, or whose moves are not valid, are skipped.
+     *
+     * @param files   The game record files or transcript files, told apart by their first bytes.
+     * @param threads The number of threads replaying the games.
+     * @return The statistics of the pass, measured with the weights before each step.
+     * @throws IOException if a file cannot be read.
+     */
+    public Epoch train(List<Path> files, int threads) throws IOException {
+        Pass pass = new Pass(threads);
+        try {
+            for (Path file : files) {
+                if (GameRecordReader.isRecordFile(file)) {
+                    try (GameRecordReader reader = new GameRecordReader(file)) {
+                        GameRecord record;
+                        while ((record = reader.read()) != null) {
+                            if (record.size() == size) {
+                                pass.add(record.moves());
+                            } else {
+                                pass.rejected++;
+                            }
+                        }
+                    }
+                } else {
+                    try (BufferedReader reader = Files.newBufferedReader(file)) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (line.isBlank()) {
+                                continue;
+                            }
+                            try {
+                                pass.add(Transcript.parse(line, size));
+                            } catch (IllegalArgumentException e) {
+                                pass.rejected++;
+                            }
+                        }
+                    }
+                }
+            }
+            return pass.finish();
+        } finally {
+            pass.pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the weights fitted so far, rounded to whole hundredths of a piece.
+     *
+     * @return The weights, ready to be written or given to an evaluator.
+     */
+    public PatternWeights getWeights() {
+        int perPhase = patterns.weightsPerPhase;
+        int[][] rounded = new int[phases][perPhase];
+        for (int phase = 0; phase < phases; phase++) {
+            for (int i = 0; i < perPhase; i++) {
+                rounded[phase][i] = (int) Math.round(weights[phase * perPhase + i]);
+            }
+        }
+        return new PatternWeights(size, rounded);
+    }
+
+    /**
+     * The Pass class gathers the games of one pass over the files into chunks, and steps once all threads have one.
+     */
+    private class Pass {
+        private final ExecutorService pool;
+        private final Chunk[] chunks;
+        private int filled;
+        private long games;
+        private long positions;
+        private long rejected;
+        private double squaredError;
+
+        private Pass(int threads) {
+            pool = Executors.newFixedThreadPool(threads);
+            chunks = new Chunk[threads];
+            for (int i = 0; i < threads; i++) {
+                chunks[i] = new Chunk();
+            }
+        }
+
+        private void add(int[] game) throws IOException {
+            chunks[filled].games.add(game);
+            if (chunks[filled].games.size() == GAMES_PER_CHUNK && ++filled == chunks.length) {
+                step();
+            }
+        }
+
+        private Epoch finish() throws IOException {
+            if (filled < chunks.length && !chunks[filled].games.isEmpty()) {
+                filled++;
+            }
+            if (filled > 0) {
+                step();
+            }
+            double error = positions == 0 ? 0 : Math.sqrt(squaredError / positions) / PIECE;
+            return new Epoch(games, positions, rejected, error);
+        }
+
+        /**
+         * Replays the chunks in parallel, then applies their summed gradient.
+         */
+        private void step() throws IOException {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < filled; i++) {
+                Chunk chunk = chunks[i];
+                running.add(pool.submit(() -> chunk.replay()));
+            }
+            try {
+                for (Future<?> future : running) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("The training was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("A training thread failed", e.getCause());
+            }
+            long stepPositions = 0;
+            for (int i = 0; i < filled; i++) {
+                games += chunks[i].replayed;
+                rejected += chunks[i].rejected;
+                stepPositions += chunks[i].positions;
+                squaredError += chunks[i].squaredError;
+            }
+            positions += stepPositions;
+            if (stepPositions > 0) {
+                for (int w = 0; w < weights.length; w++) {
+                    double gradient = 0;
+                    for (int i = 0; i < filled; i++) {
+                        gradient += chunks[i].gradient[w];
+                    }
+                    if (gradient != 0) {
+                        gradient /= stepPositions;
+                        squaredGradients[w] += gradient * gradient;
+                        weights[w] -= rate * gradient / (Math.sqrt(squaredGradients[w]) + EPSILON);
+                    }
+                }
+            }
+            for (int i = 0; i < filled; i++) {
+                chunks[i].games.clear();
+            }
+            filled = 0;
+        }
+    }
+
+    /**
+     * The Chunk class holds the games given to one thread for a step, and the gradient they produce.
+     */
+    private class Chunk {
+        private final List<int[]> games = new ArrayList<>(GAMES_PER_CHUNK);
+        private final double[] gradient = new double[weights.length];
+        private final int[][] indices = new int[size * size][patterns.placements.length];
+        private final int[] mobility = new int[size * size];
+        private final int[] potential = new int[size * size];
+        private final int[] pieces = new int[size * size];
+        private final int[] moves = new int[size * size];
+        private int difference;
+        private long replayed;
+        private long positions;
+        private long rejected;
+        private double squaredError;
+
+        private void replay() {
+            Arrays.fill(gradient, 0);
+            replayed = 0;
+            positions = 0;
+            rejected = 0;
+            squaredError = 0;
+            for (int[] game : games) {
+                int plies = replay(game);
+                if (plies < 0) {
+                    rejected++;
+                    continue;
+                }
+                replayed++;
+                for (int ply = 0; ply < plies; ply++) {
+                    learn(ply);
+                }
+            }
+        }
+
+        /**
+         * Replays a game and records the features of every position reached.
+         * The passes may be written as {@link GameRecord#PASS} or left out, as checked by {@link GameRecord#passesBefore}.
+         *
+         * @return The number of positions recorded, or -1 if the game is not a finished game.
+         */
+        private int replay(int[] game) {
+            BitBoard board = start.copy();
+            Color color = Color.BLACK;
+            int plies = 0;
+            for (int move : game) {
+                try {
+                    if (GameRecord.passesBefore(board, color, move)) {
+                        color = color.getOpposite();
+                    }
+                } catch (IllegalArgumentException e) {
+                    return -1;
+                }
+                if (move == GameRecord.PASS) {
+                    continue;
+                }
+                board.play(move, color, null);
+                color = color.getOpposite();
+                patterns.indices(board, indices[plies]);
+                mobility[plies] = Patterns.mobility(board, moves);
+                potential[plies] = patterns.potentialMobility(board);
+                pieces[plies] = size * size - board.emptyCount();
+                plies++;
+            }
+            if (board.hasValidMove(Color.BLACK) || board.hasValidMove(Color.WHITE)) {
+                return -1;
+            }
+            difference = board.count(Color.BLACK) - board.count(Color.WHITE);
+            return plies;
+        }
+
+        /**
+         * Adds the gradient of the squared error of a position, labelled with the final disc differential for black.
+         *
+         * @param ply The index of the position in the game.
+         */
+        private void learn(int ply) {
+            int perPhase = patterns.weightsPerPhase;
+            int[] offsets = patterns.placementOffsets;
+            int position = PatternEvaluator.phasePosition(pieces[ply], size * size, phases);
+            int phase = position / PatternEvaluator.PHASE_SCALE;
+            double next = (double) (position % PatternEvaluator.PHASE_SCALE) / PatternEvaluator.PHASE_SCALE;
+            double prediction = 0;
+            for (int p = 0; p < 2 && phase + p < phases; p++) {
+                double coefficient = p == 0 ? 1 - next : next;
+                int base = (phase + p) * perPhase;
+                double score = weights[base + Patterns.MOBILITY] * mobility[ply]
+                        + weights[base + Patterns.POTENTIAL_MOBILITY] * potential[ply];
+                for (int i = 0; i < offsets.length; i++) {
+                    score += weights[base + offsets[i] + indices[ply][i]];
+                }
+                prediction += coefficient * score;
+            }
+            double error = prediction - PIECE * difference;
+            squaredError += error * error;
+            positions++;
+            for (int p = 0; p < 2 && phase + p < phases; p++) {
+                double coefficient = p == 0 ? 1 - next : next;
+                if (coefficient == 0) {
+                    continue;
+                }
+                double delta = error * coefficient;
+                int base = (phase + p) * perPhase;
+                gradient[base + Patterns.MOBILITY] += delta * mobility[ply];
+                gradient[base + Patterns.POTENTIAL_MOBILITY] += delta * potential[ply];
+                for (int i = 0; i < offsets.length; i++) {
+                    gradient[base + offsets[i] + indices[ply][i]] += delta;
+                }
+            }
+        }
+    }
+
+    /**
+     * The Epoch class holds the statistics of one pass over the training games.
+     *
+     * @param games     The number of games used.
+     * @param positions The number of positions used.
+     * @param rejected  The number of games skipped because they were not finished or not valid.
+     * @param error     The root mean square error of the evaluation, in pieces.
+     */
+    public record Epoch(long games, long positions, long rejected, double error) {
+    }
+}
@@ -46,4 +46,22 @@ public class CommandManager {
             undoStack.push(command);
         }
     }
+
+    /**
+     * Checks if there is a command to undo.
+     *
+     * @return True if the undo stack is not empty, otherwise false.
+     */
+    public boolean canUndo() {
+        return !undoStack.empty();
+    }
+
+    /**
+     * Checks if there is a command to redo.
+     *
+     * @return True if the redo stack is not empty, otherwise false.
+     */
+    public boolean canRedo() {
+        return !redoStack.empty();
+    }
 }
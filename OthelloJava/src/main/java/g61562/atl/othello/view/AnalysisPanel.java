@@ -0,0 +1,57 @@
+package g61562.atl.othello.view;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Transcript;
+import g61562.atl.othello.strategy.PositionDatabase;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+
+/**
+ * The AnalysisPanel class displays how the current position of the game scored in the recorded games
+ * of a position database: the number of games, the results for the player to move and the best known move.
+ * The lookup is fast enough to be done on every move, on the JavaFX thread.
+ */
+public class AnalysisPanel extends HBox {
+    private final Game game;
+    private final PositionDatabase database;
+    private final Label analysisLabel;
+
+    /**
+     * Constructs an analysis panel for the specified game.
+     *
+     * @param game     The game whose positions are looked up.
+     * @param database The position database.
+     */
+    public AnalysisPanel(Game game, PositionDatabase database) {
+        this.game = game;
+        this.database = database;
+        analysisLabel = new Label();
+        analysisLabel.setStyle("-fx-text-fill: #800080; -fx-font-size: 14px;");
+        setAlignment(Pos.CENTER);
+        getChildren().add(analysisLabel);
+        update();
+    }
+
+    /**
+     * Updates the statistics displayed for the current position.
+     */
+    public void update() {
+        BitBoard board = game.getBoard().copyBits();
+        Color toMove = game.getCurrentPlayer();
+        PositionDatabase.Stats stats = database.lookup(board, toMove);
+        if (stats == null) {
+            analysisLabel.setText("Position not in the database");
+            return;
+        }
+        String text = String.format("%d games: %.0f%% won, %.0f%% drawn for %s, average %+.1f pieces",
+                stats.games(), 100.0 * stats.wins() / stats.games(), 100.0 * stats.draws() / stats.games(),
+                toMove, stats.averageDiscs());
+        if (stats.bestMove() >= 0) {
+            text += ", best move " + Transcript.format(new int[]{stats.bestMove()}, board.getSize());
+        }
+        analysisLabel.setText(text);
+    }
+}
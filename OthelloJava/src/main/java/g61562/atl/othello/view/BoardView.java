@@ -14,6 +14,7 @@ import javafx.scene.shape.Rectangle;
 /**
  * The BoardView class represents the graphical representation of the Othello board.
  * It contains methods to update the view of the board based on the game state.
+ * The nodes of the cells are created once; after a move, only the pieces of the squares that changed are redrawn.
  */
 public class BoardView extends GridPane {
     private final Board board;
@@ -42,11 +43,22 @@ public class BoardView extends GridPane {
     }
 
     private void initializeBoardView() {
+        int size = board.getSize();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                Rectangle rect = rectangleCreation(row, col);
+                int currentRow = row;
+                int currentCol = col;
+                rectangleHover(rect, currentRow, currentCol);
+                rect.setOnMouseClicked(e -> handleCircleClick(currentRow, currentCol));
+                createCircles(row, col);
+            }
+        }
         updateBoardView();
     }
 
     private void handleCircleClick(int row, int col) {
-        if (!game.isGameOver()) {
+        if (!game.isGameOver() && !game.isComputerThinking()) {
             errorLabel.setText("");
             if (!game.isValidMove(row, col, game.getCurrentPlayer())) {
                 errorLabel.setText("Invalid Move. Please try again");
@@ -67,22 +79,29 @@ public class BoardView extends GridPane {
     }
 
     /**
-     * Updates the view of the board.
+     * Updates the view of every square of the board.
      */
     void updateBoardView() {
         int size = board.getSize();
         for (int row = 0; row < size; row++) {
             for (int col = 0; col < size; col++) {
-                Rectangle rect = rectangleCreation(row, col);
-                int currentRow = row;
-                int currentCol = col;
-                rectangleHover(rect, currentRow, currentCol);
-                rect.setOnMouseClicked(e -> handleCircleClick(currentRow, currentCol));
-                createCircles(row, col);
+                updateCircle(row, col);
             }
         }
     }
 
+    /**
+     * Updates the view of the squares changed by the last moves of the game.
+     *
+     * @param squares The packed squares ({@code row * size + col}) to redraw.
+     */
+    void updateSquares(int[] squares) {
+        int size = board.getSize();
+        for (int square : squares) {
+            updateCircle(square / size, square % size);
+        }
+    }
+
     private Rectangle rectangleCreation(int row, int col) {
         Rectangle rect = new Rectangle(RECTANGLE_SIZE, RECTANGLE_SIZE);
         rect.setFill(javafx.scene.paint.Color.GREEN);
@@ -107,19 +126,20 @@ public class BoardView extends GridPane {
     }
 
     private void createCircles(int row, int col) {
+        Circle circle = new Circle(20);
+        circles[row][col] = circle;
+        setHalignment(circle, javafx.geometry.HPos.CENTER);
+        this.add(circle, col, row);
+    }
+
+    private void updateCircle(int row, int col) {
         Color color = board.getColor(row, col);
-        if (color != null) {
-            Circle circle = new Circle(20);
-            circles[row][col] = circle;
-            if (color == Color.BLACK) {
-                circle.setFill(javafx.scene.paint.Color.BLACK);
-            } else if (color == Color.WHITE) {
-                circle.setFill(javafx.scene.paint.Color.WHITE);
-            }
-            setRowIndex(circle, row);
-            setColumnIndex(circle, col);
-            setHalignment(circle, javafx.geometry.HPos.CENTER);
-            this.add(circle, col, row);
+        Circle circle = circles[row][col];
+        circle.setVisible(color != null);
+        if (color == Color.BLACK) {
+            circle.setFill(javafx.scene.paint.Color.BLACK);
+        } else if (color == Color.WHITE) {
+            circle.setFill(javafx.scene.paint.Color.WHITE);
         }
     }
 }
@@ -1,7 +1,8 @@
 package g61562.atl.othello.view;
 
 import g61562.atl.othello.model.Game;
-import g61562.atl.othello.utils.Observer;
+import g61562.atl.othello.model.GameEvent;
+import g61562.atl.othello.model.GameListener;
 import javafx.scene.Scene;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
@@ -9,9 +10,9 @@ import javafx.scene.control.Label;
 
 /**
  * The ScoreCumulatifView class represents the view for displaying cumulative scores in an Othello game.
- * It implements the Observer interface to receive updates from the Game model.
+ * It implements the GameListener interface to receive updates from the Game model.
  */
-public class ScoreCumulatifView  extends VBox implements Observer {
+public class ScoreCumulatifView  extends VBox implements GameListener {
     private final Game game;
     private final Stage stage;
     private final Label scoreLabelWhite;
@@ -35,7 +36,7 @@ public class ScoreCumulatifView  extends VBox implements Observer {
         score.setStyle("-fx-background-color: #f6d2c5;;");
         stage.setScene(scene);
         // observateur du jeu
-        game.register(this);
+        game.addListener(this);
     }
 
     /**
@@ -49,12 +50,16 @@ public class ScoreCumulatifView  extends VBox implements Observer {
      * Closes the score view.
      */
     public void close() {
+        game.removeListener(this);
         stage.close();
     }
 
     @Override
-    public void update() {
-        updateScoreLabel();
+    public void gameChanged(GameEvent event) {
+        // Les scores cumulés ne changent qu'avec les pions
+        if (event.changesBoard()) {
+            updateScoreLabel();
+        }
     }
     private void updateScoreLabel() {
         scoreLabelWhite.setText("Score cumulatif du joueur WHITE : " + game.getWhiteCountCummulatif());
@@ -42,7 +42,7 @@ public class UserInput {
     }
 
     /**
-     * Displays a dialog to select the opponent type (human player, easy computer, or hard computer).
+     * Displays a dialog to select the opponent type (human player, easy, hard, expert or master computer).
      *
      * @param primaryStage The primary stage of the JavaFX application.
      */
@@ -54,11 +54,15 @@ public class UserInput {
         Button humanButton = new Button("Human Player");
         Button easyButton = new Button("Easy Computer");
         Button hardButton = new Button("Hard Computer");
-        customizeButton(humanButton, easyButton, hardButton);
+        Button expertButton = new Button("Expert Computer");
+        Button masterButton = new Button("Master Computer");
+        customizeButton(humanButton, easyButton, hardButton, expertButton, masterButton);
 
         handleButtonAction(primaryStage, humanButton, easyButton, hardButton);
+        handleSearchButtonAction(primaryStage, expertButton, masterButton);
 
-        VBox levelOptions = creationVBoxLevelOption(levelLabel, humanButton, easyButton, hardButton);
+        VBox levelOptions = creationVBoxLevelOption(levelLabel, humanButton, easyButton, hardButton,
+                expertButton, masterButton);
         Scene scene = new Scene(levelOptions, WINDOW_WIDTH, WINDOW_HEIGHT);
         primaryStage.setTitle("Configuration Game");
         primaryStage.setScene(scene);
@@ -84,8 +88,23 @@ public class UserInput {
         });
     }
 
-    private static VBox creationVBoxLevelOption(Label levelLabel, Button humanButton, Button easyButton, Button hardButton) {
-        VBox levelOptions = new VBox(levelLabel, humanButton, easyButton, hardButton);
+    private void handleSearchButtonAction(Stage primaryStage, Button expertButton, Button masterButton) {
+        expertButton.setOnAction(event -> {
+            againstComputer = true;
+            level = Level.EXPERT;
+            askForGameSize(primaryStage);
+        });
+
+        masterButton.setOnAction(event -> {
+            againstComputer = true;
+            level = Level.MASTER;
+            askForGameSize(primaryStage);
+        });
+    }
+
+    private static VBox creationVBoxLevelOption(Label levelLabel, Button... buttons) {
+        VBox levelOptions = new VBox(levelLabel);
+        levelOptions.getChildren().addAll(buttons);
         levelOptions.setSpacing(10);
         levelOptions.setAlignment(Pos.CENTER);
         levelOptions.setStyle("-fx-background-color: #f6d2c5;");
@@ -27,7 +27,6 @@ public class ViewConsole {
     public void run() {
         welcolMessage();
         gameModeChoice();
-        game.updateScore();
         displayGameStatus();
         displayGame(game);
         if (game != null) {
@@ -86,7 +85,7 @@ public class ViewConsole {
         int difficultyChoice = chooseDifficultyLevel();
         System.out.println();
         int size = askForBoardSize();
-        game = new Game(size, difficultyChoice == 1 ? Level.EASY : Level.HARD, true);
+        game = new Game(size, Level.values()[difficultyChoice - 1], true);
     }
 
     /**
@@ -101,12 +100,21 @@ public class ViewConsole {
         System.out.println(game.getBlackCount());
         if (game.isAgainstComputer()) {
             System.out.print(ANSI_PURPLE + "Difficulty: " + ANSI_RESET);
-            System.out.println(game.getLevel() == Level.EASY ? "Easy" : "Hard \n");
+            System.out.println(levelName(game.getLevel()));
         } else {
             System.out.println();
         }
     }
 
+    private String levelName(Level level) {
+        return switch (level) {
+            case EASY -> "Easy";
+            case HARD -> "Hard \n";
+            case EXPERT -> "Expert \n";
+            case MASTER -> "Master \n";
+        };
+    }
+
     /**
      * Asks the user for the board size.
      *
@@ -138,7 +146,7 @@ public class ViewConsole {
      */
     private int chooseDifficultyLevel() {
         return readIntInputInRange(ANSI_BLUE + "Choose difficulty level:\n " + ANSI_RESET +
-                "1. Easy\n 2. Hard\n" + ANSI_BLUE + "\nEnter your choice: ", 1, 2);
+                "1. Easy\n 2. Hard\n 3. Expert\n 4. Master\n" + ANSI_BLUE + "\nEnter your choice: ", 1, 4);
     }
 
     /**
@@ -162,7 +170,6 @@ public class ViewConsole {
                 displayErrorMessage(ANSI_RED + e.getMessage() + ANSI_RESET);
             }
             displayGameStatus();
-            game.updateScore();
             displayGame(game);
         }
     }
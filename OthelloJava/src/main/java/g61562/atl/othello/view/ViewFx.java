@@ -2,7 +2,9 @@ package g61562.atl.othello.view;
 
 
 import g61562.atl.othello.model.Game;
-import g61562.atl.othello.utils.Observer;
+import g61562.atl.othello.model.GameEvent;
+import g61562.atl.othello.model.GameListener;
+import g61562.atl.othello.strategy.PositionDatabase;
 
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -20,8 +22,9 @@ import java.util.List;
 /**
  * The ViewFx class represents the main view of the Othello game.
  * It displays the game board, game information, and game control buttons.
+ * It listens to the changes of the game, notified once per frame, and redraws only what they changed.
  */
-public class ViewFx extends VBox implements Observer {
+public class ViewFx extends VBox implements GameListener {
     private static final int WINDOW_WIDTH = 800;
     private static final int WINDOW_HEIGHT = 600;
     private Stage primaryStage;
@@ -30,6 +33,7 @@ public class ViewFx extends VBox implements Observer {
     private final Game game;
     private Label errorLabel;
     private List<ScoreCumulatifView> scoreViews = new ArrayList<>();
+    private AnalysisPanel analysisPanel;
 
 
     /**
@@ -41,7 +45,7 @@ public class ViewFx extends VBox implements Observer {
         this.game = game;
         System.out.println(game);
         this.gameInfo = new GameInfo(game);
-        game.register(this);
+        game.addListener(this);
         initializeView();
     }
 
@@ -52,6 +56,11 @@ public class ViewFx extends VBox implements Observer {
 
     void displayGame(Stage stage) {
         this.primaryStage = stage;
+        // L'ordinateur réfléchit en arrière-plan et joue sur le thread JavaFX
+        game.playComputerInBackground(Platform::runLater);
+        // Un coup et la réponse de l'ordinateur appliqués dans la même image ne donnent qu'une notification
+        game.setEventExecutor(Platform::runLater);
+        primaryStage.setOnHidden(e -> game.close());
         Buttons buttons = new Buttons(this);
         HBox errorBox = new HBox();
         boardView = new BoardView(game.getBoard(), game);
@@ -60,6 +69,12 @@ public class ViewFx extends VBox implements Observer {
         errorBox.setAlignment(Pos.CENTER);
         this.setStyle("-fx-background-color: #f6d2c5;;");
         getChildren().addAll(gameInfo, errorBox, boardView, buttons);
+        // Le panneau d'analyse n'apparaît que si une base de positions de la bonne taille est configurée
+        PositionDatabase database = PositionDatabase.configured();
+        if (database != null && database.getSize() == game.getBoard().getSize()) {
+            analysisPanel = new AnalysisPanel(game, database);
+            getChildren().add(analysisPanel);
+        }
         Scene scene = new Scene(this, WINDOW_WIDTH, WINDOW_HEIGHT);
         primaryStage.setScene(scene);
         scene.setFill(Color.ROYALBLUE);
@@ -67,6 +82,7 @@ public class ViewFx extends VBox implements Observer {
     }
 
     void handleGiveUp() {
+        game.close();
         Platform.exit();
     }
 
@@ -79,6 +95,7 @@ public class ViewFx extends VBox implements Observer {
     }
 
     void handleResetGame() {
+        game.close();
         primaryStage.close();
         for (ScoreCumulatifView view : scoreViews) {
             view.close();
@@ -94,11 +111,18 @@ public class ViewFx extends VBox implements Observer {
     }
 
     @Override
-    public void update() {
-        gameInfo.updateCurrentPlayer(game.getCurrentPlayer());
-        boardView.updateBoardView();
-        gameInfo.updateScore(game.getWhiteCount(), game.getBlackCount());
-        if (game.isGameOver()) {
+    public void gameChanged(GameEvent event) {
+        gameInfo.updateCurrentPlayer(event.toMove());
+        if (event.changesBoard()) {
+            boardView.updateSquares(event.changedSquares());
+            if (analysisPanel != null) {
+                analysisPanel.update();
+            }
+        }
+        if (event.blackDelta() != 0 || event.whiteDelta() != 0) {
+            gameInfo.updateScore(game.getWhiteCount(), game.getBlackCount());
+        }
+        if (event.gameOver()) {
             gameInfo.handleGameOver(game.getWinner());
         }else {
             gameInfo.resetTexGameOver();
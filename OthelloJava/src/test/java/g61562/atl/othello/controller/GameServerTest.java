@@ -0,0 +1,105 @@
+package g61562.atl.othello.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+
+    @Test
+    public void testCommandsAgainstTheComputer() throws IOException {
+        try (GameServer server = new GameServer(Duration.ofMinutes(10), 1)) {
+            String state = server.execute("NEW 8 easy");
+            assertEquals("STATE 1 BLACK 2 2 ...........................WB......BW...........................", state);
+            assertTrue(server.execute("MOVE 1 a1").startsWith("ERROR"));
+            // La réponse de l'ordinateur est jouée avant de répondre
+            String[] words = server.execute("MOVE 1 f5").split(" ");
+            assertEquals("BLACK", words[2]);
+            assertEquals(6, Integer.parseInt(words[3]) + Integer.parseInt(words[4]));
+            assertEquals(state, server.execute("UNDO 1"));
+            assertTrue(server.execute("STATE 2").startsWith("ERROR"));
+            assertTrue(server.execute("NEW 3").startsWith("ERROR"));
+            assertTrue(server.execute("NEW 8 grandmaster").startsWith("ERROR"));
+            assertTrue(server.execute("JUMP 1").startsWith("ERROR"));
+            assertEquals("OK", server.execute("CLOSE 1"));
+            assertTrue(server.execute("STATE 1").startsWith("ERROR"));
+        }
+    }
+
+    @Test
+    public void testIdleGamesAreEvicted() throws Exception {
+        try (GameServer server = new GameServer(Duration.ofMinutes(10), 1)) {
+            for (int i = 0; i < 10_000; i++) {
+                server.execute("NEW");
+            }
+            assertEquals(10_000, server.getSessionCount());
+            Thread.sleep(5);
+            long touched = System.nanoTime();
+            server.execute("MOVE 5 f5");
+            assertEquals(0, server.evictIdle(touched + Duration.ofMinutes(5).toNanos()));
+            long later = touched + Duration.ofMinutes(10).toNanos() - Duration.ofMillis(1).toNanos();
+            assertEquals(9_999, server.evictIdle(later));
+            assertTrue(server.execute("STATE 5").startsWith("STATE 5 WHITE"));
+        }
+    }
+
+    @Test
+    public void testConcurrentClients() throws Exception {
+        try (GameServer server = new GameServer(Duration.ofMinutes(10), 2)) {
+            int port = server.start(0);
+            ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+            List<Future<String>> results = new ArrayList<>();
+            for (int client = 0; client < 50; client++) {
+                long seed = client;
+                results.add(clients.submit(() -> playRandomGame(port, new Random(seed))));
+            }
+            for (Future<String> result : results) {
+                String[] words = result.get().split(" ");
+                assertEquals("OVER", words[2]);
+            }
+            clients.shutdown();
+        }
+    }
+
+    /**
+     * Plays a game of the computer of level easy with random moves until the end.
+     *
+     * @return The last state of the game.
+     */
+    private static String playRandomGame(int port, Random random) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                     StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            out.println("NEW 6 easy");
+            String state = in.readLine();
+            String id = state.split(" ")[1];
+            while (!state.split(" ")[2].equals("OVER")) {
+                String square = (char) ('a' + random.nextInt(6)) + "" + (1 + random.nextInt(6));
+                out.println("MOVE " + id + " " + square);
+                String reply = in.readLine();
+                if (reply.startsWith("STATE")) {
+                    state = reply;
+                }
+            }
+            out.println("QUIT");
+            assertEquals("BYE", in.readLine());
+            return state;
+        }
+    }
+}
@@ -109,4 +109,28 @@ class BoardTest {
         assertEquals(DEFAULT_SIZE, board.getSize());
     }
 
+    @Test
+    public void testSetColorOnLargestBoard() {
+        Board board = new Board(14);
+        board.setColor(13, 13, Color.BLACK);
+        board.setColor(4, 8, Color.WHITE); // Case à cheval sur deux mots du bitboard
+        assertEquals(Color.BLACK, board.getColor(13, 13));
+        assertEquals(Color.WHITE, board.getColor(4, 8));
+        board.setColor(4, 8, null);
+        assertNull(board.getColor(4, 8));
+    }
+
+    @Test
+    public void testCapturesDoNotWrapAroundRows() {
+        for (int size = 4; size <= 14; size++) {
+            Board board = new Board(size);
+            BitBoard bits = board.getBits();
+            // Un pion noir en fin de ligne et un blanc en début de ligne suivante ne s'encerclent pas
+            board.setColor(0, size - 1, Color.WHITE);
+            board.setColor(1, 0, Color.BLACK);
+            assertFalse(bits.capturesInDirection(board.toSquare(0, size - 2), Color.BLACK, Direction.RIGHT));
+            assertEquals(3, bits.count(Color.BLACK));
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package g61562.atl.othello.model;
+
+import g61562.atl.othello.strategy.Level;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRecordTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testReplayFindsThePassesAndTheResult() {
+        Random random = new Random(19);
+        boolean passFound = false;
+        for (int game = 0; game < 50; game++) {
+            int[] moves = randomGame(4, random);
+            GameRecord record = GameRecord.replay(4, Level.EASY, null, moves);
+            assertArrayEquals(moves, record.movesWithoutPasses());
+            assertEquals(record, GameRecord.replay(4, Level.EASY, null, record.moves()));
+            assertTrue(record.blackCount() + record.whiteCount() <= 16);
+            passFound |= Arrays.stream(record.moves()).anyMatch(move -> move == GameRecord.PASS);
+        }
+        assertTrue(passFound);
+        assertThrows(IllegalArgumentException.class, () -> GameRecord.replay(8, null, null, new int[]{0}));
+        // Les blancs ont un coup : les noirs ne rejouent pas après d3, ni en sautant leur tour ni en passant
+        assertThrows(IllegalArgumentException.class,
+                () -> GameRecord.replay(8, null, null, Transcript.parse("d3f5", 8)));
+        assertThrows(IllegalArgumentException.class,
+                () -> GameRecord.replay(8, null, null, new int[]{19, GameRecord.PASS, 37}));
+    }
+
+    @Test
+    public void testRecordsAreAppendedAndReadBack() throws IOException {
+        Path file = directory.resolve("games.rec");
+        Random random = new Random(91);
+        List<GameRecord> written = new ArrayList<>();
+        for (int session = 0; session < 2; session++) {
+            try (GameRecordWriter writer = new GameRecordWriter(file)) {
+                for (int game = 0; game < 1000; game++) {
+                    int size = game % 2 == 0 ? 8 : 14;
+                    GameRecord record = GameRecord.replay(size, Level.MASTER, Level.values()[game % 4],
+                            randomGame(size, random));
+                    writer.write(record);
+                    written.add(record);
+                }
+            }
+        }
+        assertTrue(GameRecordReader.isRecordFile(file));
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            for (GameRecord expected : written) {
+                assertEquals(expected, reader.read());
+            }
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void testBrokenFilesAreRejected() throws IOException {
+        Path text = directory.resolve("games.txt");
+        Files.writeString(text, "f5d6c3d3c4f4");
+        assertFalse(GameRecordReader.isRecordFile(text));
+        assertThrows(IOException.class, () -> new GameRecordReader(text));
+        assertThrows(IOException.class, () -> new GameRecordWriter(text));
+
+        Path file = directory.resolve("truncated.rec");
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(GameRecord.replay(8, null, null, randomGame(8, new Random(1))));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            assertThrows(IOException.class, reader::read);
+        }
+
+        // Le niveau des noirs suit la taille du plateau, juste après le nombre magique
+        Path corrupt = directory.resolve("corrupt.rec");
+        try (GameRecordWriter writer = new GameRecordWriter(corrupt)) {
+            writer.write(GameRecord.replay(8, Level.EASY, null, randomGame(8, new Random(2))));
+        }
+        try (FileChannel channel = FileChannel.open(corrupt, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), Long.BYTES + 1);
+        }
+        try (GameRecordReader reader = new GameRecordReader(corrupt)) {
+            assertThrows(IOException.class, reader::read);
+        }
+    }
+
+    private static int[] randomGame(int size, Random random) {
+        BitBoard board = new Game(size, null, false).getBoard().copyBits();
+        int[] moves = new int[size * size];
+        int[] played = new int[size * size];
+        int count = 0;
+        Color color = Color.BLACK;
+        while (board.hasValidMove(color) || board.hasValidMove(color.getOpposite())) {
+            int legal = board.getPossibleMoves(color, moves);
+            if (legal > 0) {
+                played[count] = moves[random.nextInt(legal)];
+                board.play(played[count++], color, null);
+            }
+            color = color.getOpposite();
+        }
+        return Arrays.copyOf(played, count);
+    }
+}
@@ -1,7 +1,15 @@
 package g61562.atl.othello.model;
 
+import g61562.atl.othello.strategy.Level;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GameTest {
@@ -61,7 +69,6 @@ class GameTest {
         game.addPiece(3, 2, Color.BLACK);
         game.addPiece(4, 3, Color.WHITE);
         game.addPiece(5, 4, Color.BLACK);
-        game.updateScore();
         assertEquals(Color.BLACK, game.getWinner());
     }
 
@@ -93,6 +100,135 @@ class GameTest {
         assertEquals(Color.BLACK, game.getBoard().getColor(3, 2)); // Vérifier que la pièce a été ajoutée à nouveau après le refaire
     }
 
+    @Test
+    public void testUndoRedoRestoresFlippedPieces() {
+        Game game = new Game();
+        game.addPiece(4, 5, Color.BLACK);
+        game.addPiece(5, 5, Color.WHITE);
+        game.addPiece(5, 4, Color.BLACK);
+        int black = game.getBlackCountCummulatif();
+        int white = game.getWhiteCountCummulatif();
+        game.undo();
+        game.undo();
+        // Le pion (4,4) retourné par les blancs redevient noir, puis blanc au premier redo
+        assertEquals(Color.BLACK, game.getBoard().getColor(4, 4));
+        assertNull(game.getBoard().getColor(5, 5));
+        assertEquals(4, game.getBlackCount());
+        assertEquals(1, game.getWhiteCount());
+        game.redo();
+        assertEquals(Color.WHITE, game.getBoard().getColor(4, 4));
+        game.redo();
+        assertEquals(Color.BLACK, game.getBoard().getColor(5, 4));
+        assertEquals(black, game.getBlackCountCummulatif());
+        assertEquals(white, game.getWhiteCountCummulatif());
+        assertEquals(Color.WHITE, game.getCurrentPlayer());
+        assertEquals(game.getBoard().getBits().count(Color.BLACK), game.getBlackCount());
+        assertEquals(game.getBoard().getBits().count(Color.WHITE), game.getWhiteCount());
+        assertEquals(game.getBoard().getBits().emptyCount(), game.getBoard().emptyCount());
+    }
+
+    @Test
+    public void testValidMovesFollowUndoRedo() {
+        Game game = new Game();
+        assertTrue(game.isValidMove(3, 2, Color.BLACK));
+        game.addPiece(3, 2, Color.BLACK);
+        assertFalse(game.isValidMove(3, 2, Color.BLACK));
+        assertTrue(game.isValidMove(2, 2, Color.WHITE));
+        game.undo();
+        // Les coups mémorisés doivent être recalculés après l'annulation
+        assertTrue(game.isValidMove(3, 2, Color.BLACK));
+        assertFalse(game.isValidMove(2, 2, Color.WHITE));
+        game.redo();
+        assertTrue(game.isValidMove(2, 2, Color.WHITE));
+    }
+
+    @Test
+    public void testChangedSquaresOfAMove() {
+        Game game = new Game();
+        int[] squares = new int[64];
+        game.addPiece(3, 2, Color.BLACK);
+        int count = game.getChangedSquares(squares);
+        // Le pion posé en (3,2) et le pion retourné en (3,3)
+        assertEquals(2, count);
+        assertArrayEquals(new int[]{26, 27}, Arrays.copyOf(squares, count));
+        game.undo();
+        count = game.getChangedSquares(squares);
+        assertEquals(2, count);
+    }
+
+    @Test
+    public void testMoveAndComputerReplyGiveOneEvent() {
+        Game game = new Game(8, Level.EASY, true);
+        List<GameEvent> events = new ArrayList<>();
+        game.addListener(events::add);
+        game.addPiece(3, 2, Color.BLACK);
+        assertEquals(1, events.size());
+        GameEvent event = events.get(0);
+        assertEquals(2, event.moves().length);
+        assertEquals(26, event.moves()[0]);
+        assertEquals(Color.BLACK, event.toMove());
+        assertEquals(game.getBlackCount() - 2, event.blackDelta());
+        assertEquals(game.getWhiteCount() - 2, event.whiteDelta());
+        game.undo();
+        assertEquals(2, events.get(1).undone());
+        assertEquals(-event.blackDelta(), events.get(1).blackDelta());
+    }
+
+    @Test
+    public void testEventsAreCoalescedUntilTheExecutorRuns() {
+        Game game = new Game();
+        List<GameEvent> events = new ArrayList<>();
+        List<Runnable> frames = new ArrayList<>();
+        game.addListener(events::add);
+        game.setEventExecutor(frames::add);
+        game.addPiece(3, 2, Color.BLACK);
+        game.addPiece(2, 2, Color.WHITE);
+        game.undo();
+        assertTrue(events.isEmpty());
+        assertEquals(1, frames.size());
+        frames.get(0).run();
+        assertEquals(1, events.size());
+        GameEvent event = events.get(0);
+        assertArrayEquals(new int[]{26, 18}, event.moves());
+        assertEquals(1, event.undone());
+        assertEquals(2, event.blackDelta());
+        assertEquals(-1, event.whiteDelta());
+        assertEquals(Color.WHITE, event.toMove());
+    }
+
+    @Test
+    public void testComputerPlaysInBackground() throws InterruptedException {
+        Game game = new Game(8, Level.EASY, true);
+        BlockingQueue<Runnable> applied = new LinkedBlockingQueue<>();
+        game.playComputerInBackground(applied::add);
+        game.addPiece(3, 2, Color.BLACK);
+        // Le coup de l'ordinateur n'est joué que lorsque le thread de l'interface l'applique
+        assertTrue(game.isComputerThinking());
+        assertEquals(Color.WHITE, game.getCurrentPlayer());
+        applied.poll(10, TimeUnit.SECONDS).run();
+        assertFalse(game.isComputerThinking());
+        assertEquals(Color.BLACK, game.getCurrentPlayer());
+        assertEquals(6, game.getWhiteCount() + game.getBlackCount());
+        game.close();
+    }
+
+    @Test
+    public void testUndoCancelsTheComputerMove() throws InterruptedException {
+        Game game = new Game(8, Level.EASY, true);
+        BlockingQueue<Runnable> applied = new LinkedBlockingQueue<>();
+        game.playComputerInBackground(applied::add);
+        game.addPiece(3, 2, Color.BLACK);
+        game.undo();
+        assertFalse(game.isComputerThinking());
+        Runnable late = applied.poll(1, TimeUnit.SECONDS);
+        if (late != null) {
+            late.run(); // Un résultat arrivé après l'annulation ne doit rien jouer
+        }
+        assertEquals(4, game.getWhiteCount() + game.getBlackCount());
+        assertEquals(Color.BLACK, game.getCurrentPlayer());
+        game.close();
+    }
+
     @Test
     public void testIsValidMove() {
         Game game = new Game();
@@ -117,4 +253,28 @@ class GameTest {
         assertTrue(game.getBoard().getColor(4, 4) == Color.WHITE);
     }
 
+    @Test
+    public void testGetPossibleMovesInBuffer() {
+        Game game = new Game();
+        int[] moves = new int[64];
+        int count = game.getPossibleMoves(Color.BLACK, moves);
+        assertEquals(4, count);
+        // Les coups sont rangés par case croissante : (2,3), (3,2), (4,5), (5,4)
+        assertArrayEquals(new int[]{19, 26, 37, 44}, Arrays.copyOf(moves, count));
+        assertEquals(count, game.getPossibleMoves(Color.BLACK).size());
+    }
+
+    @Test
+    public void testExpertOpponentSearchesOnACopy() {
+        Game game = new Game(8, Level.EXPERT, false);
+        game.addPiece(3, 2, Color.BLACK);
+        Position move = game.chooseOpponentMove(Color.WHITE);
+        assertNotNull(move);
+        assertTrue(game.isValidMove(move.getRow(), move.getCol(), Color.WHITE));
+        // La recherche ne doit pas modifier la partie en cours
+        assertEquals(4, game.getBoard().getBits().count(Color.BLACK));
+        assertEquals(1, game.getBoard().getBits().count(Color.WHITE));
+        assertEquals(Color.WHITE, game.getCurrentPlayer());
+    }
+
 }
\ No newline at end of file
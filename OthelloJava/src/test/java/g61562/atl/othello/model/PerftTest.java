@@ -0,0 +1,43 @@
+package g61562.atl.othello.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+    private static final long[] STANDARD_COUNTS = {1, 4, 12, 56, 244, 1396, 8200, 55092, 390216};
+
+    @Test
+    public void testStandardBoardCounts() {
+        BitBoard board = new Board(8).copyBits();
+        for (int depth = 0; depth < STANDARD_COUNTS.length; depth++) {
+            assertEquals(STANDARD_COUNTS[depth], Perft.perft(board, Color.BLACK, depth));
+        }
+    }
+
+    @Test
+    public void testGenericBitBoardGivesTheSameCounts() {
+        // Le plateau générique, utilisé pour les autres tailles, doit retrouver les valeurs connues en 8x8
+        BitBoard board = new BitBoardN(8);
+        BitBoard standard = new Board(8).copyBits();
+        for (int square = 0; square < 64; square++) {
+            board.setColor(square, standard.getColor(square));
+        }
+        for (int depth = 0; depth < 8; depth++) {
+            assertEquals(STANDARD_COUNTS[depth], Perft.perft(board, Color.BLACK, depth));
+        }
+    }
+
+    @Test
+    public void testDivideAddsUpToPerft() {
+        BitBoard board = new Board(10).copyBits();
+        List<Perft.Divide> divide = Perft.divide(board, Color.BLACK, 5, 2);
+        assertEquals(4, divide.size());
+        long total = divide.stream().mapToLong(Perft.Divide::nodes).sum();
+        assertEquals(Perft.perft(board, Color.BLACK, 5), total);
+        // Une partie 4x4 se termine toujours avant 20 coups : chaque fin de partie compte une fois
+        assertTrue(Perft.perft(new Board(4).copyBits(), Color.BLACK, 20) > 0);
+    }
+}
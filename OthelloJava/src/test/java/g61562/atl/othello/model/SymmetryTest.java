@@ -0,0 +1,91 @@
+package g61562.atl.othello.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymmetryTest {
+
+    @Test
+    public void testSymmetriesAndInverses() {
+        for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+            for (int square = 0; square < 36; square++) {
+                int image = Symmetry.transform(square, symmetry, 6);
+                assertEquals(square, Symmetry.transform(image, Symmetry.inverse(symmetry), 6));
+            }
+        }
+        // Un quart de tour dans le sens horaire envoie le coin en haut à gauche en haut à droite
+        assertEquals(5, Symmetry.transform(0, 1, 6));
+        assertEquals(35, Symmetry.transform(0, 2, 6));
+    }
+
+    @Test
+    public void testBitTransformsMatchTheSquareTables() {
+        for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+            for (int square = 0; square < 64; square++) {
+                assertEquals(1L << Symmetry.transform(square, symmetry, 8), Symmetry.transform(1L << square, symmetry));
+            }
+        }
+    }
+
+    @Test
+    public void testHashesAreTheHashesOfTheImages() {
+        Random random = new Random(7);
+        for (int size : new int[]{4, 6, 8, 10}) {
+            Zobrist keys = Zobrist.forSize(size);
+            long[] hashes = new long[Symmetry.COUNT];
+            for (int position = 0; position < 20; position++) {
+                BitBoard board = randomPosition(size, random);
+                Color toMove = random.nextBoolean() ? Color.BLACK : Color.WHITE;
+                Symmetry.hashes(board, toMove, hashes);
+                for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+                    assertEquals(keys.hash(Symmetry.transform(board, symmetry), toMove), hashes[symmetry]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSymmetricPositionsShareTheirCanonicalForm() {
+        Random random = new Random(11);
+        for (int size : new int[]{6, 8}) {
+            BitBoard board = randomPosition(size, random);
+            Symmetry.Canonical canonical = Symmetry.canonicalize(board, Color.BLACK);
+            BitBoard canonicalBoard = canonical.board(board);
+            for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+                BitBoard image = Symmetry.transform(board, symmetry);
+                Symmetry.Canonical other = Symmetry.canonicalize(image, Color.BLACK);
+                assertEquals(canonical.hash(), other.hash());
+                BitBoard otherBoard = other.board(image);
+                for (int square = 0; square < size * size; square++) {
+                    assertEquals(canonicalBoard.getColor(square), otherBoard.getColor(square));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMovesAreMappedBackAndForth() {
+        Board board = new Board(8);
+        board.getBits().play(19, Color.BLACK, null);
+        Symmetry.Canonical canonical = Symmetry.canonicalize(board, Color.WHITE);
+        BitBoard canonicalBoard = canonical.board(board.getBits());
+        for (int square = 0; square < 64; square++) {
+            int image = canonical.toCanonical(square);
+            assertEquals(square, canonical.fromCanonical(image));
+            assertEquals(board.getBits().isValidMove(square, Color.WHITE),
+                    canonicalBoard.isValidMove(image, Color.WHITE));
+        }
+    }
+
+    private static BitBoard randomPosition(int size, Random random) {
+        BitBoard board = BitBoard.create(size);
+        for (int square = 0; square < size * size; square++) {
+            int piece = random.nextInt(3);
+            board.setColor(square, piece == 0 ? null : piece == 1 ? Color.BLACK : Color.WHITE);
+        }
+        return board;
+    }
+}
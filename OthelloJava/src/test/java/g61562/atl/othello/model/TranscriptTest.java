@@ -0,0 +1,16 @@
+package g61562.atl.othello.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranscriptTest {
+
+    @Test
+    public void testTranscriptRoundTrip() {
+        int[] moves = {37, 43, 18, 99};
+        assertArrayEquals(moves, Transcript.parse(Transcript.format(moves, 10), 10));
+        assertArrayEquals(new int[]{37, 43}, Transcript.parse("F5 d6", 8));
+        assertThrows(IllegalArgumentException.class, () -> Transcript.parse("f9", 8));
+    }
+}
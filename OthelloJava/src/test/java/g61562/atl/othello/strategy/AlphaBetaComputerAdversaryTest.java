@@ -0,0 +1,64 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaBetaComputerAdversaryTest {
+
+    @Test
+    public void testTranspositionTableReducesNodes() {
+        Game game = new Game();
+        AlphaBetaComputerAdversary withoutTable = new AlphaBetaComputerAdversary(8, 0, 0);
+        AlphaBetaComputerAdversary withTable = new AlphaBetaComputerAdversary(8, 0, 1);
+        Position expected = withoutTable.chooseMove(game, Color.BLACK);
+        Position move = withTable.chooseMove(game, Color.BLACK);
+        // Le même coup est trouvé en visitant moins de positions
+        assertEquals(expected.getRow(), move.getRow());
+        assertEquals(expected.getCol(), move.getCol());
+        assertTrue(withTable.getNodes() < withoutTable.getNodes());
+    }
+
+    @Test
+    public void testTranspositionTableStoresAndProbes() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(42L, 5, -123, TranspositionTable.LOWER_BOUND, 19);
+        long entry = table.probe(42L);
+        assertNotEquals(0, entry);
+        assertEquals(5, TranspositionTable.depth(entry));
+        assertEquals(-123, TranspositionTable.score(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(19, TranspositionTable.move(entry));
+        assertEquals(0, table.probe(43L));
+    }
+
+    @Test
+    public void testTimeBudgetStopsTheSearch() {
+        Game game = new Game(14, null, false);
+        AlphaBetaComputerAdversary adversary = new AlphaBetaComputerAdversary(60, 200);
+        long start = System.currentTimeMillis();
+        Position move = adversary.chooseMove(game, Color.BLACK);
+        assertNotNull(move);
+        assertTrue(System.currentTimeMillis() - start < 2000);
+    }
+
+    @Test
+    public void testParallelSearchFindsAValidMove() {
+        Game game = new Game(10, null, false);
+        AlphaBetaComputerAdversary adversary = new AlphaBetaComputerAdversary(6, 0, 4, 4);
+        Position move = adversary.chooseMove(game, Color.BLACK);
+        assertNotNull(move);
+        assertTrue(game.isValidMove(move.getRow(), move.getCol(), Color.BLACK));
+        assertTrue(adversary.getNodes() > 0);
+
+        // Deux recherches parallèles se partagent les mêmes threads auxiliaires
+        AlphaBetaComputerAdversary other = new AlphaBetaComputerAdversary(6, 0, 4, 4);
+        assertNotNull(other.chooseMove(game, Color.BLACK));
+        adversary.close();
+        other.close();
+        assertThrows(IllegalStateException.class, () -> adversary.chooseMove(game, Color.BLACK));
+    }
+}
@@ -0,0 +1,115 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.BitBoard8;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndgameSolverTest {
+
+    @Test
+    public void testSolverMatchesMinimax() {
+        Random random = new Random(6);
+        EndgameSolver solver = new EndgameSolver();
+        for (int size : new int[]{8, 6}) {
+            for (int game = 0; game < 5; game++) {
+                BitBoard board = startingBoard(size);
+                Color color = playRandomly(board, Color.BLACK, 9, random);
+                assertEquals(minimax(board, color, false), solver.solve(board, color));
+            }
+        }
+    }
+
+    @Test
+    public void testLastEmptySquaresMatchMinimax() {
+        Random random = new Random(4);
+        EndgameSolver solver = new EndgameSolver();
+        for (int empties = 0; empties <= 5; empties++) {
+            for (int game = 0; game < 40; game++) {
+                BitBoard board = startingBoard(8);
+                Color color = playRandomly(board, Color.BLACK, empties, random);
+                assertEquals(minimax(board, color, false), solver.solve(board, color));
+            }
+        }
+    }
+
+    @Test
+    public void testStablePiecesAreNeverFlipped() {
+        Random random = new Random(20);
+        int[] moves = new int[64];
+        for (int game = 0; game < 30; game++) {
+            BitBoard8 board = (BitBoard8) startingBoard(8);
+            Color color = playRandomly(board, Color.BLACK, 12, random);
+            long black = board.getBits(Color.BLACK);
+            long stable = BitBoard8.stable(black, board.getBits(Color.WHITE));
+            playRandomly(board, color, 0, random);
+            assertEquals(stable, board.getBits(Color.BLACK) & stable);
+        }
+    }
+
+    @Test
+    public void testSolverFindsTheResultOfTheSmallestBoard() {
+        // Sur un plateau 4x4, le second joueur gagne 11 à 3 avec un jeu parfait
+        assertEquals(-8, new EndgameSolver().solve(startingBoard(4), Color.BLACK));
+    }
+
+    @Test
+    public void testAdversaryUsesTheSolverNearTheEnd() {
+        Game game = new Game(4, null, false);
+        AlphaBetaComputerAdversary adversary = new AlphaBetaComputerAdversary(1, 0, 0);
+        adversary.setEndgameEmpties(12);
+        Position move = adversary.chooseMove(game, Color.BLACK);
+        assertNotNull(move);
+        assertTrue(game.isValidMove(move.getRow(), move.getCol(), Color.BLACK));
+    }
+
+    private static BitBoard startingBoard(int size) {
+        BitBoard board = BitBoard.create(size);
+        int middle = size / 2;
+        board.setColor((middle - 1) * size + middle - 1, Color.WHITE);
+        board.setColor((middle - 1) * size + middle, Color.BLACK);
+        board.setColor(middle * size + middle - 1, Color.BLACK);
+        board.setColor(middle * size + middle, Color.WHITE);
+        return board;
+    }
+
+    private static Color playRandomly(BitBoard board, Color color, int empties, Random random) {
+        int[] moves = new int[board.getSize() * board.getSize()];
+        while (board.emptyCount() > empties) {
+            int count = board.getPossibleMoves(color, moves);
+            if (count == 0 && !board.hasValidMove(color.getOpposite())) {
+                break;
+            }
+            if (count > 0) {
+                board.play(moves[random.nextInt(count)], color, null);
+            }
+            color = color.getOpposite();
+        }
+        return color;
+    }
+
+    private static int minimax(BitBoard board, Color color, boolean passed) {
+        int[] moves = new int[board.getSize() * board.getSize()];
+        int count = board.getPossibleMoves(color, moves);
+        if (count == 0) {
+            if (passed) {
+                return board.count(color) - board.count(color.getOpposite());
+            }
+            return -minimax(board, color.getOpposite(), true);
+        }
+        int best = Integer.MIN_VALUE;
+        int[] flipped = new int[moves.length];
+        for (int i = 0; i < count; i++) {
+            int captured = board.play(moves[i], color, flipped);
+            best = Math.max(best, -minimax(board, color.getOpposite(), false));
+            board.undo(moves[i], color, flipped, captured);
+        }
+        return best;
+    }
+}
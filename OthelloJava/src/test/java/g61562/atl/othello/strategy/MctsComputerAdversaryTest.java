@@ -0,0 +1,51 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MctsComputerAdversaryTest {
+
+    @Test
+    public void testParallelSearchSpendsExactlyItsPlayouts() {
+        Game game = new Game(10, null, false);
+        MctsComputerAdversary adversary = new MctsComputerAdversary(3000, 0, 3, 1 << 16);
+        Position move = adversary.chooseMove(game, Color.BLACK);
+        assertTrue(game.isValidMove(move.getRow(), move.getCol(), Color.BLACK));
+        assertEquals(3000, adversary.getPlayouts());
+    }
+
+    @Test
+    public void testSearchGoesOnWhenTheTreeIsFull() {
+        Game game = new Game();
+        MctsComputerAdversary adversary = new MctsComputerAdversary(2000, 0, 1, 50);
+        Position move = adversary.chooseMove(game, Color.BLACK);
+        assertTrue(game.isValidMove(move.getRow(), move.getCol(), Color.BLACK));
+        assertEquals(2000, adversary.getPlayouts());
+    }
+
+    @Test
+    public void testBeatsRandomMoves() {
+        // Deux threads font grandir le même arbre
+        Tournament match = new Tournament(Tournament.engine("mcts:300:0:2"), Tournament.engine("easy"), 6, 2, 18);
+        Tournament.Result result = match.play(10, 1);
+        assertTrue(result.score() > 0.75, "Score: " + result.score());
+    }
+
+    @Test
+    public void testInterruptedSearchStillPlaysAValidMove() {
+        Game game = new Game();
+        MctsComputerAdversary adversary = new MctsComputerAdversary(0, 60_000);
+        Thread.currentThread().interrupt();
+        try {
+            Position move = adversary.chooseMove(game, Color.BLACK);
+            assertTrue(game.isValidMove(move.getRow(), move.getCol(), Color.BLACK));
+            assertTrue(adversary.getPlayouts() < 1000);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
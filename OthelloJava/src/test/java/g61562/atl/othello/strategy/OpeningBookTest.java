@@ -0,0 +1,53 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.Symmetry;
+import g61562.atl.othello.model.Transcript;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+
+    @Test
+    public void testBookAnswersEveryOrientation(@TempDir Path directory) throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(8, 6, 1);
+        Tournament selfPlay = new Tournament(Tournament.engine("alphabeta:1"), Tournament.engine("easy"), 8, 2, 7);
+        selfPlay.setGameListener(builder::addGame);
+        selfPlay.play(20, 2);
+        assertThrows(IllegalArgumentException.class, () -> builder.addGame(Transcript.parse("d3f5", 8)));
+        assertTrue(builder.write(directory.resolve("book.bin")) > 0);
+        OpeningBook book = OpeningBook.open(directory.resolve("book.bin"));
+        assertSame(book, OpeningBook.open(directory.resolve("book.bin")));
+
+        BitBoard start = new Game().getBoard().copyBits();
+        int move = book.bestMove(start, Color.BLACK);
+        assertTrue(start.isValidMove(move, Color.BLACK));
+        start.play(move, Color.BLACK, null);
+        int reply = book.bestMove(start, Color.WHITE);
+        assertNotEquals(-1, reply);
+        // La même position tournée d'un quart de tour donne la réponse tournée
+        BitBoard rotated = BitBoard.create(8);
+        for (int square = 0; square < 64; square++) {
+            rotated.setColor(Symmetry.transform(square, 1, 8), start.getColor(square));
+        }
+        assertEquals(Symmetry.transform(reply, 1, 8), book.bestMove(rotated, Color.WHITE));
+
+        // Un livre réécrit est rouvert, et l'ancien garde la projection de l'ancien fichier
+        assertEquals(0, new OpeningBookBuilder(8, 6, 1).write(directory.resolve("book.bin")));
+        Path file = directory.resolve("book.bin");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        OpeningBook rewritten = OpeningBook.open(file);
+        assertNotSame(book, rewritten);
+        assertEquals(-1, rewritten.bestMove(rotated, Color.WHITE));
+        assertEquals(Symmetry.transform(reply, 1, 8), book.bestMove(rotated, Color.WHITE));
+    }
+}
@@ -0,0 +1,99 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Symmetry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternEvaluatorTest {
+
+    @Test
+    public void testIncrementalUpdatesMatchAFreshEvaluation() {
+        Random random = new Random(16);
+        for (int size : new int[]{8, 6, 10}) {
+            BitBoard board = startingBoard(size);
+            PatternEvaluator evaluator = new PatternEvaluator(size);
+            evaluator.reset(board);
+            int[] moves = new int[size * size];
+            int[] flipped = new int[size * size];
+            Color color = Color.BLACK;
+            while (board.hasValidMove(color) || board.hasValidMove(color.getOpposite())) {
+                int count = board.getPossibleMoves(color, moves);
+                if (count > 0) {
+                    int square = moves[random.nextInt(count)];
+                    // Un coup joué puis défait ne doit rien changer
+                    int captured = board.play(square, color, flipped);
+                    evaluator.play(square, color, flipped, captured);
+                    board.undo(square, color, flipped, captured);
+                    evaluator.undo(square, color, flipped, captured);
+                    square = moves[random.nextInt(count)];
+                    captured = board.play(square, color, flipped);
+                    evaluator.play(square, color, flipped, captured);
+                }
+                color = color.getOpposite();
+                PatternEvaluator fresh = new PatternEvaluator(size);
+                fresh.reset(board);
+                assertEquals(fresh.evaluate(board, color), evaluator.evaluate(board, color));
+            }
+        }
+    }
+
+    @Test
+    public void testEvaluationIsTheSameForBothPlayersAndAllSymmetries() {
+        Random random = new Random(61);
+        BitBoard board = startingBoard(8);
+        int[] moves = new int[64];
+        Color color = Color.BLACK;
+        for (int ply = 0; ply < 20; ply++) {
+            int count = board.getPossibleMoves(color, moves);
+            board.play(moves[random.nextInt(count)], color, null);
+            color = color.getOpposite();
+        }
+        PatternEvaluator evaluator = new PatternEvaluator(8);
+        evaluator.reset(board);
+        int score = evaluator.evaluate(board, color);
+        assertEquals(-score, evaluator.evaluate(board, color.getOpposite()));
+        for (int symmetry = 1; symmetry < Symmetry.COUNT; symmetry++) {
+            BitBoard image = BitBoard.create(8);
+            for (int square = 0; square < 64; square++) {
+                image.setColor(Symmetry.transform(square, symmetry, 8), board.getColor(square));
+            }
+            evaluator.reset(image);
+            assertEquals(score, evaluator.evaluate(image, color));
+        }
+    }
+
+    @Test
+    public void testCornerIsWorthMoreThanTheSquaresNextToIt() {
+        BitBoard corner = startingBoard(8);
+        corner.setColor(0, Color.BLACK);
+        BitBoard xSquare = startingBoard(8);
+        xSquare.setColor(9, Color.BLACK);
+        PatternEvaluator evaluator = new PatternEvaluator(8);
+        evaluator.reset(corner);
+        int cornerScore = evaluator.evaluate(corner, Color.BLACK);
+        evaluator.reset(xSquare);
+        assertTrue(cornerScore > evaluator.evaluate(xSquare, Color.BLACK));
+    }
+
+    @Test
+    public void testDefaultEvaluatorDependsOnTheSize() {
+        assertInstanceOf(PatternEvaluator.class, Evaluator.forSize(8));
+        assertInstanceOf(SquareEvaluator.class, Evaluator.forSize(4));
+        assertInstanceOf(SquareEvaluator.class, Evaluator.forSize(14));
+    }
+
+    private static BitBoard startingBoard(int size) {
+        BitBoard board = BitBoard.create(size);
+        int middle = size / 2;
+        board.setColor((middle - 1) * size + middle - 1, Color.WHITE);
+        board.setColor((middle - 1) * size + middle, Color.BLACK);
+        board.setColor(middle * size + middle - 1, Color.BLACK);
+        board.setColor(middle * size + middle, Color.WHITE);
+        return board;
+    }
+}
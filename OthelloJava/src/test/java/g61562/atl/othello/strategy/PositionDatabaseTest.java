@@ -0,0 +1,180 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.GameRecord;
+import g61562.atl.othello.model.Symmetry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionDatabaseTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testLookupsMatchTheGamesAfterGrowing() throws IOException {
+        Path file = directory.resolve("positions.db");
+        Random random = new Random(20);
+        Map<Long, int[]> expected = new HashMap<>();
+        List<GameRecord> records = new ArrayList<>();
+        try (PositionDatabase database = PositionDatabase.create(file, 6, 64)) {
+            for (int game = 0; game < 300; game++) {
+                GameRecord record = GameRecord.replay(6, null, null, randomGame(6, random));
+                database.addGame(record);
+                records.add(record);
+                count(record, expected);
+            }
+            assertEquals(expected.size(), database.getPositions());
+            assertThrows(IllegalArgumentException.class, () -> database.addGame(
+                    GameRecord.replay(6, null, null, Arrays.copyOf(records.get(0).moves(), 10))));
+        }
+
+        PositionDatabase database = PositionDatabase.open(file);
+        assertEquals(expected.size(), database.getPositions());
+        assertThrows(IllegalStateException.class, () -> database.addGame(records.get(0)));
+        for (GameRecord record : records.subList(0, 20)) {
+            BitBoard board = new Game(6, null, false).getBoard().copyBits();
+            Color color = Color.BLACK;
+            for (int move : record.moves()) {
+                if (move != GameRecord.PASS) {
+                    assertStats(database, board, color, expected);
+                    PositionDatabase.Stats stats = database.lookup(board, color);
+                    BitBoard rotatedBoard = rotate(board);
+                    PositionDatabase.Stats rotated = database.lookup(rotatedBoard, color);
+                    assertEquals(stats.discs(), rotated.discs());
+                    // Une position symétrique peut avoir plusieurs meilleurs coups équivalents
+                    assertEquals(database.lookupMove(board, color, stats.bestMove()),
+                            database.lookupMove(rotatedBoard, color, rotated.bestMove()));
+                    board.play(move, color, null);
+                }
+                color = color.getOpposite();
+            }
+        }
+        PositionDatabase.Stats start = database.lookup(new Game(6, null, false).getBoard().copyBits(), Color.BLACK);
+        assertEquals(300, start.games());
+    }
+
+    @Test
+    public void testReaderFollowsTheGrowthOfTheFile() throws IOException {
+        Path file = directory.resolve("positions.db");
+        Random random = new Random(3);
+        BitBoard start = new Game(6, null, false).getBoard().copyBits();
+        try (PositionDatabase writer = PositionDatabase.create(file, 6, 64)) {
+            writer.addGame(GameRecord.replay(6, null, null, randomGame(6, random)));
+            PositionDatabase reader = PositionDatabase.open(file);
+            assertEquals(1, reader.lookup(start, Color.BLACK).games());
+            List<GameRecord> records = new ArrayList<>();
+            for (int game = 0; game < 50; game++) {
+                GameRecord record = GameRecord.replay(6, null, null, randomGame(6, random));
+                writer.addGame(record);
+                records.add(record);
+            }
+            // Le lecteur voit les parties ajoutées après son ouverture, malgré l'agrandissement de la table
+            assertEquals(writer.getPositions(), reader.getPositions());
+            assertEquals(51, reader.lookup(start, Color.BLACK).games());
+            BitBoard board = start.copy();
+            Color color = Color.BLACK;
+            for (int move : records.get(49).moves()) {
+                if (move != GameRecord.PASS) {
+                    assertNotNull(reader.lookup(board, color));
+                    board.play(move, color, null);
+                }
+                color = color.getOpposite();
+            }
+        }
+    }
+
+    @Test
+    public void testBookFromTheDatabase() throws IOException {
+        Path file = directory.resolve("positions.db");
+        Random random = new Random(2);
+        try (PositionDatabase database = PositionDatabase.create(file, 6)) {
+            for (int game = 0; game < 200; game++) {
+                database.addGame(GameRecord.replay(6, null, null, randomGame(6, random)));
+            }
+        }
+        BitBoard start = new Game(6, null, false).getBoard().copyBits();
+        PositionDatabase.Stats stats = PositionDatabase.open(file).lookup(start, Color.BLACK);
+        assertTrue(start.isValidMove(stats.bestMove(), Color.BLACK));
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(6, 4, 5);
+        assertTrue(builder.addDatabase(PositionDatabase.open(file)) > 0);
+        Path bookFile = directory.resolve("book.bin");
+        assertTrue(builder.write(bookFile) > 0);
+        assertTrue(start.isValidMove(OpeningBook.open(bookFile).bestMove(start, Color.BLACK), Color.BLACK));
+    }
+
+    private static void assertStats(PositionDatabase database, BitBoard board, Color color,
+                                    Map<Long, int[]> expected) {
+        PositionDatabase.Stats stats = database.lookup(board, color);
+        int[] counts = expected.get(canonicalHash(board, color));
+        assertArrayEquals(counts, new int[]{stats.wins(), stats.draws(), stats.losses()});
+        assertTrue(board.isValidMove(stats.bestMove(), color));
+    }
+
+    /**
+     * Counts the results of the positions of a game, as the database should.
+     */
+    private static void count(GameRecord record, Map<Long, int[]> expected) {
+        BitBoard board = new Game(6, null, false).getBoard().copyBits();
+        Color color = Color.BLACK;
+        int blackDifference = record.blackCount() - record.whiteCount();
+        for (int ply = 0; ply <= record.moves().length; ply++) {
+            int move = ply < record.moves().length ? record.moves()[ply] : 0;
+            if (move != GameRecord.PASS) {
+                int difference = color == Color.BLACK ? blackDifference : -blackDifference;
+                int[] counts = expected.computeIfAbsent(canonicalHash(board, color), hash -> new int[3]);
+                counts[difference > 0 ? 0 : difference == 0 ? 1 : 2]++;
+                if (ply < record.moves().length) {
+                    board.play(move, color, null);
+                }
+            }
+            color = color.getOpposite();
+        }
+    }
+
+    private static long canonicalHash(BitBoard board, Color color) {
+        long[] hashes = new long[Symmetry.COUNT];
+        Symmetry.hashes(board, color, hashes);
+        return hashes[Symmetry.canonical(hashes)];
+    }
+
+    private static BitBoard rotate(BitBoard board) {
+        int size = board.getSize();
+        BitBoard rotated = BitBoard.create(size);
+        for (int square = 0; square < size * size; square++) {
+            rotated.setColor(Symmetry.transform(square, 1, size), board.getColor(square));
+        }
+        return rotated;
+    }
+
+    private static int[] randomGame(int size, Random random) {
+        BitBoard board = new Game(size, null, false).getBoard().copyBits();
+        int[] moves = new int[size * size];
+        int[] played = new int[size * size];
+        int count = 0;
+        Color color = Color.BLACK;
+        while (board.hasValidMove(color) || board.hasValidMove(color.getOpposite())) {
+            int legal = board.getPossibleMoves(color, moves);
+            if (legal > 0) {
+                played[count] = moves[random.nextInt(legal)];
+                board.play(played[count++], color, null);
+            }
+            color = color.getOpposite();
+        }
+        return Arrays.copyOf(played, count);
+    }
+}
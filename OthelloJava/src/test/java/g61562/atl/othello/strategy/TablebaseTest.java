@@ -0,0 +1,81 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TablebaseTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testValuesMatchTheEndgameSolver() throws IOException {
+        EndgameSolver solver = new EndgameSolver();
+        Random random = new Random(25);
+        try (Tablebase tablebase = Tablebase.build(directory.resolve("tablebase4.bin"), 4, 2)) {
+            // Le 4x4 est gagné par les blancs
+            BitBoard start = new Game(4, null, false).getBoard().copyBits();
+            assertEquals(Tablebase.LOSS, tablebase.value(start, Color.BLACK));
+            int[] moves = new int[16];
+            for (int game = 0; game < 50; game++) {
+                BitBoard board = start.copy();
+                Color color = Color.BLACK;
+                while (board.hasValidMove(color)) {
+                    int expected = Integer.signum(solver.solve(board, color)) + Tablebase.DRAW;
+                    assertEquals(expected, tablebase.value(board, color));
+                    int count = board.getPossibleMoves(color, moves);
+                    board.play(moves[random.nextInt(count)], color, null);
+                    if (board.hasValidMove(color.getOpposite())) {
+                        color = color.getOpposite();
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPerfectPlayKeepsTheWin() throws IOException {
+        Path file = directory.resolve("tablebase4.bin");
+        Tablebase.build(file, 4, 1).close();
+        Random random = new Random(4);
+        try (Tablebase tablebase = Tablebase.open(file)) {
+            for (int game = 0; game < 50; game++) {
+                BitBoard board = new Game(4, null, false).getBoard().copyBits();
+                Color color = Color.BLACK;
+                int[] moves = new int[16];
+                while (board.hasValidMove(color)) {
+                    int count = board.getPossibleMoves(color, moves);
+                    int move = color == Color.WHITE ? tablebase.bestMove(board, color)
+                            : moves[random.nextInt(count)];
+                    board.play(move, color, null);
+                    if (board.hasValidMove(color.getOpposite())) {
+                        color = color.getOpposite();
+                    }
+                }
+                assertTrue(board.count(Color.WHITE) > board.count(Color.BLACK));
+            }
+        }
+    }
+
+    @Test
+    public void testResumingSolvesNothingMore() throws IOException {
+        Path file = directory.resolve("tablebase4.bin");
+        long positions;
+        try (Tablebase tablebase = Tablebase.build(file, 4, 2)) {
+            positions = tablebase.getPositions();
+        }
+        try (Tablebase tablebase = Tablebase.build(file, 4, 1)) {
+            assertEquals(positions, tablebase.getPositions());
+        }
+        assertThrows(IllegalArgumentException.class, () -> Tablebase.build(directory.resolve("tablebase6.bin"), 6, 1));
+    }
+}
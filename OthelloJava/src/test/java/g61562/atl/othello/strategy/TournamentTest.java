@@ -0,0 +1,26 @@
+package g61562.atl.othello.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    @Test
+    public void testMatchPlaysEveryGame() {
+        Tournament tournament = new Tournament(Tournament.engine("alphabeta:2"), Tournament.engine("easy"), 6, 2, 42);
+        Tournament.Result result = tournament.play(10, 2);
+        assertEquals(20, result.games());
+        assertTrue(result.wins() > result.losses());
+        assertTrue(result.elo() > 0);
+    }
+
+    @Test
+    public void testEloOfAnEvenMatch() {
+        Tournament.Result result = new Tournament.Result(40, 20, 40, 1);
+        assertEquals(0.5, result.score(), 1e-9);
+        assertEquals(0, result.elo(), 1e-9);
+        assertTrue(result.eloError() > 0);
+        assertThrows(IllegalArgumentException.class, () -> Tournament.engine("unknown"));
+    }
+}
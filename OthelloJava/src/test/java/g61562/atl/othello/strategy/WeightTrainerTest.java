@@ -0,0 +1,131 @@
+package g61562.atl.othello.strategy;
+
+import g61562.atl.othello.model.BitBoard;
+import g61562.atl.othello.model.Color;
+import g61562.atl.othello.model.Game;
+import g61562.atl.othello.model.GameRecordWriter;
+import g61562.atl.othello.model.Transcript;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightTrainerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testTrainingReducesTheErrorAndSkipsBrokenGames() throws IOException {
+        Path games = directory.resolve("games.txt");
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        Tournament selfPlay = new Tournament(() -> new AlphaBetaComputerAdversary(1, 0, 0),
+                () -> new AlphaBetaComputerAdversary(1, 0, 0), 6, 6, 17);
+        selfPlay.setGameListener(moves -> lines.add(Transcript.format(moves, 6)));
+        selfPlay.play(100, 2);
+        lines.add("a1a1");
+        lines.add(lines.get(0).substring(0, 12)); // Partie inachevée
+        lines.add(gameWithASkippedTurn(6));
+        Files.write(games, lines);
+
+        WeightTrainer trainer = new WeightTrainer(6, 2, 50);
+        WeightTrainer.Epoch first = trainer.train(List.of(games), 2);
+        assertEquals(200, first.games());
+        assertEquals(3, first.rejected());
+        WeightTrainer.Epoch last = first;
+        for (int epoch = 0; epoch < 5; epoch++) {
+            last = trainer.train(List.of(games), 2);
+        }
+        assertEquals(first.positions(), last.positions());
+        assertTrue(last.error() < first.error());
+    }
+
+    @Test
+    public void testRecordFilesTrainLikeTranscripts() throws IOException {
+        Path transcripts = directory.resolve("games.txt");
+        Path records = directory.resolve("games.rec");
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        Tournament selfPlay = new Tournament(() -> new AlphaBetaComputerAdversary(1, 0, 0),
+                Tournament.engine("easy"), 6, 4, 71);
+        selfPlay.setGameListener(moves -> lines.add(Transcript.format(moves, 6)));
+        try (GameRecordWriter writer = new GameRecordWriter(records)) {
+            selfPlay.setRecordListener(record -> {
+                try {
+                    writer.write(record);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, null, Level.EASY);
+            selfPlay.play(20, 1);
+        }
+        Files.write(transcripts, lines);
+
+        WeightTrainer.Epoch fromText = new WeightTrainer(6, 3, 50).train(List.of(transcripts), 1);
+        WeightTrainer.Epoch fromRecords = new WeightTrainer(6, 3, 50).train(List.of(records), 1);
+        assertEquals(40, fromRecords.games());
+        assertEquals(fromText, fromRecords);
+    }
+
+    @Test
+    public void testWeightFileRoundTrip() throws IOException {
+        Patterns patterns = Patterns.forSize(8);
+        int[][] values = PatternEvaluator.defaultWeights(patterns);
+        values[1][Patterns.MOBILITY] = 42;
+        Path file = directory.resolve("weights.bin");
+        new PatternWeights(8, values).write(file);
+
+        PatternWeights read = PatternWeights.read(file);
+        assertEquals(8, read.getSize());
+        assertEquals(2, read.getPhases());
+        BitBoard board = new Game(8, null, false).getBoard().copyBits();
+        PatternEvaluator expected = new PatternEvaluator(patterns, values);
+        PatternEvaluator actual = new PatternEvaluator(read);
+        expected.reset(board);
+        actual.reset(board);
+        assertEquals(expected.evaluate(board, Color.WHITE), actual.evaluate(board, Color.WHITE));
+
+        // Les poids réécrits par l'entraînement ne sont pas pris dans le cache
+        new PatternWeights(8, Arrays.copyOf(values, 1)).write(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        assertEquals(1, PatternWeights.read(file).getPhases());
+    }
+
+    /**
+     * Plays a finished game where black plays twice at the start while white had a move.
+     */
+    private static String gameWithASkippedTurn(int size) {
+        BitBoard board = new Game(size, null, false).getBoard().copyBits();
+        int[] moves = new int[size * size];
+        int[] played = new int[size * size];
+        int count = 0;
+        board.getPossibleMoves(Color.BLACK, moves);
+        played[count] = moves[0];
+        board.play(played[count++], Color.BLACK, null);
+        int legal = board.getPossibleMoves(Color.BLACK, moves);
+        // Un coup que les blancs ne peuvent pas jouer, pour qu'il ne soit pas pris pour le leur
+        for (int i = 0; i < legal && count == 1; i++) {
+            if (!board.isValidMove(moves[i], Color.WHITE)) {
+                played[count] = moves[i];
+                board.play(played[count++], Color.BLACK, null);
+            }
+        }
+        Color color = Color.WHITE;
+        while (board.hasValidMove(color) || board.hasValidMove(color.getOpposite())) {
+            if (board.getPossibleMoves(color, moves) > 0) {
+                played[count] = moves[0];
+                board.play(played[count++], color, null);
+            }
+            color = color.getOpposite();
+        }
+        return Transcript.format(Arrays.copyOf(played, count), size);
+    }
+}